@@ -18,7 +18,6 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.ResourceBundle;
@@ -53,13 +52,15 @@ public class ApiResource {
     @Path("/validate")
     @Produces(MediaType.APPLICATION_JSON)
     public Response validate(@QueryParam("path") String path) {
-        int result = -1;
+        Map<String, Object> result = new HashMap<String, Object>();
+        result.put("result", -1);
         try {
             JsonPath compiled = JsonPath.compile(path);
-            result = compiled.isDefinite() ? 0 : 1;
+            result.put("result", compiled.isDefinite() ? 0 : 1);
+            result.put("complexity", compiled.analyze().getComplexity().name());
         } catch (Exception e) {
         }
-        return Response.ok(Collections.singletonMap("result", result)).build();
+        return Response.ok(result).build();
     }
 
 
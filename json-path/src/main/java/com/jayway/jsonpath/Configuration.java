@@ -17,6 +17,7 @@ package com.jayway.jsonpath;
 import com.jayway.jsonpath.internal.DefaultsImpl;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 import com.jayway.jsonpath.spi.mapper.MappingProvider;
+import com.jayway.jsonpath.spi.metrics.EvaluationMetrics;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -55,8 +56,10 @@ public class Configuration {
     private final MappingProvider mappingProvider;
     private final Set<Option> options;
     private final Collection<EvaluationListener> evaluationListeners;
+    private final EvaluationMetrics evaluationMetrics;
+    private final EvaluationBudget evaluationBudget;
 
-    private Configuration(JsonProvider jsonProvider, MappingProvider mappingProvider, EnumSet<Option> options, Collection<EvaluationListener> evaluationListeners) {
+    private Configuration(JsonProvider jsonProvider, MappingProvider mappingProvider, EnumSet<Option> options, Collection<EvaluationListener> evaluationListeners, EvaluationMetrics evaluationMetrics, EvaluationBudget evaluationBudget) {
         notNull(jsonProvider, "jsonProvider can not be null");
         notNull(mappingProvider, "mappingProvider can not be null");
         notNull(options, "setOptions can not be null");
@@ -65,6 +68,8 @@ public class Configuration {
         this.mappingProvider = mappingProvider;
         this.options = Collections.unmodifiableSet(options);
         this.evaluationListeners = Collections.unmodifiableCollection(evaluationListeners);
+        this.evaluationMetrics = evaluationMetrics;
+        this.evaluationBudget = evaluationBudget;
     }
 
     /**
@@ -73,7 +78,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration addEvaluationListeners(EvaluationListener... evaluationListener){
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).evaluationMetrics(evaluationMetrics).evaluationBudget(evaluationBudget).build();
     }
 
     /**
@@ -82,7 +87,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration setEvaluationListeners(EvaluationListener... evaluationListener){
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).evaluationMetrics(evaluationMetrics).evaluationBudget(evaluationBudget).build();
     }
 
     /**
@@ -93,13 +98,47 @@ public class Configuration {
         return evaluationListeners;
     }
 
+    /**
+     * Creates a new Configuration recording path evaluations to the given metrics
+     * @param newEvaluationMetrics metrics to record to, or null to not record evaluations
+     * @return a new configuration
+     */
+    public Configuration evaluationMetrics(EvaluationMetrics newEvaluationMetrics) {
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).evaluationMetrics(newEvaluationMetrics).evaluationBudget(evaluationBudget).build();
+    }
+
+    /**
+     * Returns the {@link com.jayway.jsonpath.spi.metrics.EvaluationMetrics} path evaluations are recorded to
+     * @return the metrics, or null if evaluations are not recorded
+     */
+    public EvaluationMetrics evaluationMetrics() {
+        return evaluationMetrics;
+    }
+
+    /**
+     * Creates a new Configuration limiting path evaluations to the given budget
+     * @param newEvaluationBudget budget of each evaluation, or null to not limit evaluations
+     * @return a new configuration
+     */
+    public Configuration evaluationBudget(EvaluationBudget newEvaluationBudget) {
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).evaluationMetrics(evaluationMetrics).evaluationBudget(newEvaluationBudget).build();
+    }
+
+    /**
+     * Returns the {@link EvaluationBudget} path evaluations are limited to
+     * @return the budget, or null if evaluations are not limited
+     */
+    public EvaluationBudget evaluationBudget() {
+        return evaluationBudget;
+    }
+
     /**
      * Creates a new Configuration based on the given {@link com.jayway.jsonpath.spi.json.JsonProvider}
      * @param newJsonProvider json provider to use in new configuration
      * @return a new configuration
      */
     public Configuration jsonProvider(JsonProvider newJsonProvider) {
-        return Configuration.builder().jsonProvider(newJsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(newJsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).evaluationMetrics(evaluationMetrics).evaluationBudget(evaluationBudget).build();
     }
 
     /**
@@ -116,7 +155,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration mappingProvider(MappingProvider newMappingProvider) {
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(newMappingProvider).options(options).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(newMappingProvider).options(options).evaluationListener(evaluationListeners).evaluationMetrics(evaluationMetrics).evaluationBudget(evaluationBudget).build();
     }
 
     /**
@@ -136,7 +175,7 @@ public class Configuration {
         EnumSet<Option> opts = EnumSet.noneOf(Option.class);
         opts.addAll(this.options);
         opts.addAll(asList(options));
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(opts).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(opts).evaluationListener(evaluationListeners).evaluationMetrics(evaluationMetrics).evaluationBudget(evaluationBudget).build();
     }
 
     /**
@@ -145,7 +184,7 @@ public class Configuration {
      * @return
      */
     public Configuration setOptions(Option... options) {
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).evaluationMetrics(evaluationMetrics).evaluationBudget(evaluationBudget).build();
     }
 
     /**
@@ -191,6 +230,8 @@ public class Configuration {
         private MappingProvider mappingProvider;
         private EnumSet<Option> options = EnumSet.noneOf(Option.class);
         private Collection<EvaluationListener> evaluationListener = new ArrayList<EvaluationListener>();
+        private EvaluationMetrics evaluationMetrics;
+        private EvaluationBudget evaluationBudget;
 
         public ConfigurationBuilder jsonProvider(JsonProvider provider) {
             this.jsonProvider = provider;
@@ -224,6 +265,16 @@ public class Configuration {
             return this;
         }
 
+        public ConfigurationBuilder evaluationMetrics(EvaluationMetrics metrics){
+            this.evaluationMetrics = metrics;
+            return this;
+        }
+
+        public ConfigurationBuilder evaluationBudget(EvaluationBudget budget){
+            this.evaluationBudget = budget;
+            return this;
+        }
+
         public Configuration build() {
             if (jsonProvider == null || mappingProvider == null) {
                 final Defaults defaults = getEffectiveDefaults();
@@ -234,7 +285,7 @@ public class Configuration {
                     mappingProvider = defaults.mappingProvider();
                 }
             }
-            return new Configuration(jsonProvider, mappingProvider, options, evaluationListener);
+            return new Configuration(jsonProvider, mappingProvider, options, evaluationListener, evaluationMetrics, evaluationBudget);
         }
     }
 
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+/**
+ * Size and shape of a document, used to estimate the cost of a path with
+ * {@link PathAnalysis#estimateNodesVisited(DocumentStatistics)}.
+ */
+public final class DocumentStatistics {
+
+    private final long nodes;
+    private final double averageFanOut;
+    private final int maxDepth;
+
+    /**
+     * @param nodes         number of values in the document, including objects and arrays
+     * @param averageFanOut average number of children of objects and arrays
+     * @param maxDepth      number of levels of the document, 1 for a document without objects or arrays
+     */
+    public DocumentStatistics(long nodes, double averageFanOut, int maxDepth) {
+        if (nodes < 1 || averageFanOut < 0 || maxDepth < 1) {
+            throw new IllegalArgumentException("Invalid document statistics");
+        }
+        this.nodes = nodes;
+        this.averageFanOut = averageFanOut;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Collects the statistics of a document.
+     *
+     * @param document the document
+     * @param provider the provider of the document
+     * @return the statistics
+     */
+    public static DocumentStatistics of(Object document, JsonProvider provider) {
+        long[] counts = new long[3];
+        int depth = collect(document, provider, counts, 1);
+        return new DocumentStatistics(counts[0], counts[1] == 0 ? 0 : (double) counts[2] / counts[1], depth);
+    }
+
+    private static int collect(Object value, JsonProvider provider, long[] counts, int depth) {
+        counts[0]++;
+        int maxDepth = depth;
+        if (provider.isArray(value)) {
+            counts[1]++;
+            for (Object element : provider.toIterable(value)) {
+                counts[2]++;
+                maxDepth = Math.max(maxDepth, collect(element, provider, counts, depth + 1));
+            }
+        } else if (provider.isMap(value)) {
+            counts[1]++;
+            for (String key : provider.getPropertyKeys(value)) {
+                counts[2]++;
+                maxDepth = Math.max(maxDepth, collect(provider.getMapValue(value, key), provider, counts, depth + 1));
+            }
+        }
+        return maxDepth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public double getAverageFanOut() {
+        return averageFanOut;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    @Override
+    public String toString() {
+        return "nodes=" + nodes + " averageFanOut=" + averageFanOut + " maxDepth=" + maxDepth;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the work of a single path evaluation. A configuration with a budget aborts evaluations
+ * exceeding it with an {@link EvaluationBudgetExceededException}, also when
+ * {@link Option#SUPPRESS_EXCEPTIONS} is set.
+ *
+ * Nodes visited by the paths of filters count towards the budget of the enclosing evaluation. The
+ * time limit and thread interruption are checked every {@link #CHECK_INTERVAL} nodes visited.
+ *
+ * <pre>
+ * Configuration conf = Configuration.builder()
+ *     .evaluationBudget(EvaluationBudget.builder().maxNodesVisited(100000).maxTime(50, TimeUnit.MILLISECONDS).build())
+ *     .build();
+ * </pre>
+ */
+public final class EvaluationBudget {
+
+    public static final int CHECK_INTERVAL = 1024;
+
+    private final long maxNodesVisited;
+    private final int maxResults;
+    private final long maxNanos;
+    private final boolean interruptible;
+
+    private EvaluationBudget(long maxNodesVisited, int maxResults, long maxNanos, boolean interruptible) {
+        this.maxNodesVisited = maxNodesVisited;
+        this.maxResults = maxResults;
+        this.maxNanos = maxNanos;
+        this.interruptible = interruptible;
+    }
+
+    /**
+     * @return the maximum number of nodes an evaluation may visit, Long.MAX_VALUE if unlimited
+     */
+    public long maxNodesVisited() {
+        return maxNodesVisited;
+    }
+
+    /**
+     * @return the maximum number of results an evaluation may produce, Integer.MAX_VALUE if unlimited
+     */
+    public int maxResults() {
+        return maxResults;
+    }
+
+    /**
+     * @return the maximum wall time of an evaluation in nanoseconds, Long.MAX_VALUE if unlimited
+     */
+    public long maxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * @return true if evaluations are aborted when the evaluating thread is interrupted
+     */
+    public boolean isInterruptible() {
+        return interruptible;
+    }
+
+    /**
+     * Returns a new EvaluationBudgetBuilder, without any limits
+     * @return a builder
+     */
+    public static EvaluationBudgetBuilder builder() {
+        return new EvaluationBudgetBuilder();
+    }
+
+    @Override
+    public String toString() {
+        return "EvaluationBudget{maxNodesVisited=" + maxNodesVisited + ", maxResults=" + maxResults
+                + ", maxNanos=" + maxNanos + ", interruptible=" + interruptible + "}";
+    }
+
+    /**
+     * Evaluation budget builder
+     */
+    public static class EvaluationBudgetBuilder {
+
+        private long maxNodesVisited = Long.MAX_VALUE;
+        private int maxResults = Integer.MAX_VALUE;
+        private long maxNanos = Long.MAX_VALUE;
+        private boolean interruptible;
+
+        public EvaluationBudgetBuilder maxNodesVisited(long maxNodesVisited) {
+            if (maxNodesVisited < 1) {
+                throw new IllegalArgumentException("maxNodesVisited must be positive");
+            }
+            this.maxNodesVisited = maxNodesVisited;
+            return this;
+        }
+
+        public EvaluationBudgetBuilder maxResults(int maxResults) {
+            if (maxResults < 0) {
+                throw new IllegalArgumentException("maxResults can not be negative");
+            }
+            this.maxResults = maxResults;
+            return this;
+        }
+
+        public EvaluationBudgetBuilder maxTime(long time, TimeUnit unit) {
+            if (time < 1) {
+                throw new IllegalArgumentException("time must be positive");
+            }
+            this.maxNanos = unit.toNanos(time);
+            return this;
+        }
+
+        public EvaluationBudgetBuilder interruptible(boolean interruptible) {
+            this.interruptible = interruptible;
+            return this;
+        }
+
+        public EvaluationBudget build() {
+            return new EvaluationBudget(maxNodesVisited, maxResults, maxNanos, interruptible);
+        }
+    }
+}
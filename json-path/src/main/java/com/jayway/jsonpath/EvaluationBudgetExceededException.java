@@ -0,0 +1,60 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath;
+
+/**
+ * Thrown when the evaluation of a path exceeds the {@link EvaluationBudget} of its configuration.
+ */
+public class EvaluationBudgetExceededException extends JsonPathException {
+
+    public enum Limit {
+        NODES_VISITED,
+        RESULTS,
+        TIME,
+        INTERRUPTED
+    }
+
+    private final Limit limit;
+    private final long nodesVisited;
+    private final int results;
+
+    public EvaluationBudgetExceededException(String message, Limit limit, long nodesVisited, int results) {
+        super(message);
+        this.limit = limit;
+        this.nodesVisited = nodesVisited;
+        this.results = results;
+    }
+
+    /**
+     * @return the limit that was exceeded
+     */
+    public Limit getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the nodes visited before the evaluation was aborted
+     */
+    public long getNodesVisited() {
+        return nodesVisited;
+    }
+
+    /**
+     * @return the results found before the evaluation was aborted
+     */
+    public int getResults() {
+        return results;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath;
+
+/**
+ * Operations of the document contexts created by {@link JsonPath} and {@link ParseContext} beyond
+ * {@link DocumentContext}. They are kept apart so that existing implementations of
+ * {@link DocumentContext} and {@link ReadContext} remain valid.
+ *
+ * <pre>
+ * <code>
+ * ExtendedDocumentContext ctx = (ExtendedDocumentContext) JsonPath.parse(json);
+ * </code>
+ * </pre>
+ */
+public interface ExtendedDocumentContext extends DocumentContext {
+
+    /**
+     * Creates a hash index over the elements of the arrays found at <code>arrayPath</code>
+     *
+     * @param arrayPath path to the indexed arrays, like <code>$.products[*]</code>
+     * @param keyPath   relative path to the indexed value, like <code>@.id</code>
+     * @return a document context
+     * @see #createIndex(String, String, IndexType)
+     */
+    ExtendedDocumentContext createIndex(String arrayPath, String keyPath);
+
+    /**
+     * Creates an index over the elements of the arrays found at <code>arrayPath</code>. Filters
+     * on these arrays comparing <code>keyPath</code> with a literal look up the matching elements
+     * in the index instead of testing every element.
+     *
+     * The index is kept up to date when the document is modified through this context, modifying
+     * the document in any other way leaves the index stale.
+     *
+     * @param arrayPath path to the indexed arrays, like <code>$.products[*]</code>
+     * @param keyPath   relative definite path to the indexed value, like <code>@.id</code>
+     * @param type      kind of index
+     * @return a document context
+     */
+    ExtendedDocumentContext createIndex(String arrayPath, String keyPath, IndexType type);
+
+    /**
+     * Starts a batch of modifications that are applied to this document together
+     *
+     * <pre>
+     * <code>
+     * ctx.batch()
+     *      .set("$.store.book[0].price", 10)
+     *      .delete("$.store.book[1]")
+     *      .delete("$.store.book[3]")
+     *      .apply();
+     * </code>
+     * </pre>
+     *
+     * @return a new batch
+     * @see WriteBatch
+     */
+    WriteBatch batch();
+
+    /**
+     * Returns a context for this document that can be shared between threads. Reads never block
+     * and see the document as it was when they started, writes replace the document with a
+     * modified copy that shares everything not on the way to the modified values, see
+     * {@link Option#COPY_ON_WRITE}. Write methods and {@link WriteBatch#apply()} of the returned
+     * context return the context itself.
+     *
+     * The document must not be modified in any other way, including through this context,
+     * afterwards. Documents returned by {@link #json()} must not be modified either.
+     *
+     * @return a thread safe document context
+     */
+    ExtendedDocumentContext concurrent();
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath;
+
+/**
+ * Operations of the parse contexts created by {@link JsonPath} beyond {@link ParseContext}. They
+ * are kept apart so that existing implementations of {@link ParseContext} remain valid.
+ *
+ * <pre>
+ * <code>
+ * ExtendedParseContext parser = (ExtendedParseContext) JsonPath.using(configuration);
+ * </code>
+ * </pre>
+ */
+public interface ExtendedParseContext extends ParseContext {
+
+    /**
+     * Returns a parse context that only builds the parts of parsed documents the given paths read.
+     * Reading these paths from the partial documents gives the same results as reading them from
+     * the whole documents. Filters, deep scans and functions need everything below the location
+     * they are applied to, filters referring to the document through <code>$</code> need the
+     * whole document.
+     *
+     * Documents are parsed partially by the {@link com.jayway.jsonpath.spi.json.JsonSmartJsonProvider},
+     * other providers parse the whole document. Documents passed in as objects are not changed.
+     *
+     * @param paths the paths that will be read from the parsed documents
+     * @return a parse context
+     */
+    ExtendedParseContext project(JsonPath... paths);
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath;
+
+/**
+ * Kind of index created by {@link ExtendedDocumentContext#createIndex(String, String, IndexType)}.
+ */
+public enum IndexType {
+
+    /**
+     * Answers equality and <code>in</code> comparisons of the indexed value with literals.
+     */
+    HASH,
+
+    /**
+     * Answers equality and <code>in</code> comparisons, and <code>&lt;</code>, <code>&lt;=</code>,
+     * <code>&gt;</code> and <code>&gt;=</code> comparisons of the indexed value with literals.
+     */
+    SORTED
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.internal.JsonEncoding;
+import com.jayway.jsonpath.internal.JsonSmartAccess;
+import com.jayway.jsonpath.internal.MappedFileInputStream;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.Utils;
+import com.jayway.jsonpath.internal.path.CompiledPath;
+import com.jayway.jsonpath.internal.path.PathCompiler;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.List;
+
+import static com.jayway.jsonpath.internal.Utils.notEmpty;
+import static com.jayway.jsonpath.internal.Utils.notNull;
+
+/**
+ * Reads a set of paths from every element of a large array, element by element as the document
+ * is parsed.
+ *
+ * <pre>
+ * JsonArrayStream.query(configuration, "$.data[*]", JsonPath.compile("$.id"), JsonPath.compile("$.name"))
+ *     .read(new File("feed.json"), new JsonArrayStream.ElementHandler() {
+ *         public void element(long index, Object[] values) {
+ *             ...
+ *         }
+ *     });
+ * </pre>
+ *
+ * The array is given by a path of properties followed by <code>[*]</code>, like <code>$[*]</code>
+ * for a document that is an array. The paths are read with each element as the root document.
+ * With the {@link com.jayway.jsonpath.spi.json.JsonSmartJsonProvider} each element is handed to
+ * the handler as soon as it is parsed and discarded afterwards; neither the array nor anything
+ * outside of it is built, so memory use does not grow with the size of the array. Other
+ * providers parse the whole document first.
+ */
+public final class JsonArrayStream {
+
+    /**
+     * Receives the values read from the elements
+     */
+    public interface ElementHandler {
+
+        /**
+         * Called for every element, in the order of the array
+         *
+         * @param index  index of the element in the array
+         * @param values the values of the paths in the order they were given, null for paths not found in the element
+         */
+        void element(long index, Object[] values);
+    }
+
+    private final Path arrayPath;
+    private final List<String> arrayProperties;
+    private final PathSet paths;
+
+    private JsonArrayStream(Path arrayPath, List<String> arrayProperties, PathSet paths) {
+        this.arrayPath = arrayPath;
+        this.arrayProperties = arrayProperties;
+        this.paths = paths;
+    }
+
+    /**
+     * Creates a query reading the given paths from every element of an array
+     *
+     * @param configuration configuration used to parse and read the document
+     * @param arrayPath     path to the elements of the array, like <code>$.data[*]</code>
+     * @param paths         the paths to read from every element
+     * @return the query
+     * @throws InvalidPathException if the array path is not made up of single properties followed by <code>[*]</code>
+     */
+    public static JsonArrayStream query(Configuration configuration, String arrayPath, JsonPath... paths) {
+        notEmpty(arrayPath, "array path can not be null or empty");
+        Path compiled = PathCompiler.compile(arrayPath);
+        List<String> properties = compiled instanceof CompiledPath ? ((CompiledPath) compiled).iteratedArrayPath() : null;
+        if (properties == null || !compiled.isRootPath()) {
+            throw new InvalidPathException("Array path must be made up of properties followed by [*]: " + arrayPath);
+        }
+        return new JsonArrayStream(compiled, properties, new PathSet(configuration, paths));
+    }
+
+    /**
+     * Reads all elements of the array in a file
+     *
+     * @param file    the file to read
+     * @param handler receives the values of every element
+     * @throws IOException           if the file can not be read
+     * @throws PathNotFoundException if the document has no array at the array path
+     * @throws InvalidJsonException  if the document is not valid json
+     */
+    public void read(File file, ElementHandler handler) throws IOException {
+        notNull(file, "file can not be null");
+        InputStream in = null;
+        try {
+            in = MappedFileInputStream.open(file);
+            read(in, handler);
+        } finally {
+            Utils.closeQuietly(in);
+        }
+    }
+
+    /**
+     * Reads all elements of the array in a stream. The stream is not closed.
+     *
+     * @param in      the stream to read
+     * @param handler receives the values of every element
+     * @throws IOException           if the stream can not be read
+     * @throws PathNotFoundException if the document has no array at the array path
+     * @throws InvalidJsonException  if the document is not valid json
+     */
+    public void read(InputStream in, final ElementHandler handler) throws IOException {
+        notNull(in, "input stream can not be null");
+        notNull(handler, "handler can not be null");
+        Configuration configuration = paths.configuration();
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        PushbackInputStream stream = JsonEncoding.peekable(in);
+        String charset = JsonEncoding.detect(stream);
+        if (jsonProvider instanceof JsonSmartJsonProvider) {
+            boolean found = JsonSmartAccess.parseElements((JsonSmartJsonProvider) jsonProvider, stream, charset, arrayProperties, paths.projection(),
+                    new JsonSmartAccess.ElementHandler() {
+                        @Override
+                        public void element(long index, Object element) {
+                            handler.element(index, paths.read(element));
+                        }
+                    });
+            if (!found) {
+                throw new PathNotFoundException("No array at " + arrayPath);
+            }
+            return;
+        }
+        // follow the properties like the streaming parser does, [*] on an object would iterate its values
+        Object array = jsonProvider.parse(stream, charset);
+        for (String property : arrayProperties) {
+            array = jsonProvider.isMap(array) ? jsonProvider.getMapValue(array, property) : JsonProvider.UNDEFINED;
+        }
+        if (!jsonProvider.isArray(array)) {
+            throw new PathNotFoundException("No array at " + arrayPath);
+        }
+        long index = 0;
+        for (Object element : jsonProvider.toIterable(array)) {
+            handler.element(index++, paths.read(element));
+        }
+    }
+}
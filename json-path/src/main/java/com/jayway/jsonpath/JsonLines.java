@@ -0,0 +1,270 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.internal.MappedFileInputStream;
+import com.jayway.jsonpath.internal.Utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.jayway.jsonpath.internal.Utils.notNull;
+
+/**
+ * Reads a set of paths from every record of newline delimited json (JSON Lines, NDJSON).
+ *
+ * <pre>
+ * JsonLines.query(configuration, JsonPath.compile("$.level"), JsonPath.compile("$.message"))
+ *     .read(new File("app.log"), new JsonLines.RecordHandler() {
+ *         public void record(long line, Object[] values) {
+ *             ...
+ *         }
+ *     });
+ * </pre>
+ *
+ * The input is read in large blocks that are split at line ends. Records are parsed and the
+ * paths read on a pool of worker threads while the next blocks are read, only the parts of a
+ * record the paths read are built, see {@link ExtendedParseContext#project(JsonPath...)}. Records are
+ * handed to the {@link RecordHandler} on the calling thread in the order of the input. Input
+ * must be UTF-8, blank lines are skipped.
+ */
+public final class JsonLines {
+
+    private static final int BLOCK_SIZE = 256 * 1024;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Receives the values read from the records
+     */
+    public interface RecordHandler {
+
+        /**
+         * Called for every record, in the order of the input
+         *
+         * @param line   line number of the record, starting at 1
+         * @param values the values of the paths in the order they were given, null for paths not found in the record
+         */
+        void record(long line, Object[] values);
+    }
+
+    private final PathSet paths;
+    private final int threads;
+
+    private JsonLines(PathSet paths, int threads) {
+        this.paths = paths;
+        this.threads = threads;
+    }
+
+    /**
+     * Creates a query reading the given paths from every record, using one worker thread per processor
+     *
+     * @param configuration configuration used to parse and read the records
+     * @param paths         the paths to read
+     * @return the query
+     */
+    public static JsonLines query(Configuration configuration, JsonPath... paths) {
+        return new JsonLines(new PathSet(configuration, paths), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns a query using the given number of worker threads
+     *
+     * @param threads number of worker threads
+     * @return the query
+     */
+    public JsonLines threads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        return new JsonLines(paths, threads);
+    }
+
+    /**
+     * Reads all records of a file
+     *
+     * @param file    the file to read
+     * @param handler receives the values of every record
+     * @throws IOException          if the file can not be read
+     * @throws InvalidJsonException if a record is not valid json, after all earlier records have been handled
+     */
+    public void read(File file, RecordHandler handler) throws IOException {
+        notNull(file, "file can not be null");
+        InputStream in = null;
+        try {
+            in = MappedFileInputStream.open(file);
+            read(in, handler);
+        } finally {
+            Utils.closeQuietly(in);
+        }
+    }
+
+    /**
+     * Reads all records of a stream. The stream is not closed.
+     *
+     * @param in      the stream to read
+     * @param handler receives the values of every record
+     * @throws IOException          if the stream can not be read
+     * @throws InvalidJsonException if a record is not valid json, after all earlier records have been handled
+     */
+    public void read(InputStream in, RecordHandler handler) throws IOException {
+        notNull(in, "input stream can not be null");
+        notNull(handler, "handler can not be null");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Queue<Future<Block>> pending = new LinkedList<Future<Block>>();
+            long line = 0;
+            byte[] buffer = new byte[BLOCK_SIZE];
+            int filled = 0;
+            boolean eof = false;
+            while (!eof) {
+                int n = in.read(buffer, filled, buffer.length - filled);
+                if (n == -1) {
+                    eof = true;
+                } else {
+                    filled += n;
+                    if (filled < buffer.length) {
+                        continue;
+                    }
+                }
+                int end = eof ? filled : afterLastLineEnd(buffer, filled);
+                if (end == 0) {
+                    if (!eof) {
+                        // a line longer than the buffer
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    }
+                    continue;
+                }
+                // the block is handed to a worker, the incomplete last line starts the next buffer
+                int remaining = filled - end;
+                byte[] next = new byte[remaining < BLOCK_SIZE / 2 ? BLOCK_SIZE : remaining * 2];
+                System.arraycopy(buffer, end, next, 0, remaining);
+                pending.add(executor.submit(new Block(buffer, end)));
+                buffer = next;
+                filled = remaining;
+                while (pending.size() > threads * 2) {
+                    line = handle(pending.poll(), line, handler);
+                }
+            }
+            while (!pending.isEmpty()) {
+                line = handle(pending.poll(), line, handler);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int afterLastLineEnd(byte[] buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Hands the records of a block to the handler.
+     *
+     * @return the number of lines read including the block
+     */
+    private static long handle(Future<Block> future, long line, RecordHandler handler) {
+        Block block;
+        try {
+            block = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JsonPathException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new JsonPathException(cause);
+        }
+        for (int i = 0; i < block.records.size(); i++) {
+            handler.record(line + block.recordLines.get(i) + 1, block.records.get(i));
+        }
+        if (block.failure != null) {
+            throw new InvalidJsonException("Invalid json on line " + (line + block.failureLine + 1), block.failure);
+        }
+        return line + block.lines;
+    }
+
+    /**
+     * A block of complete lines, evaluated by a worker.
+     */
+    private final class Block implements Callable<Block> {
+        private final byte[] buffer;
+        private final int end;
+        private final List<Object[]> records = new ArrayList<Object[]>();
+        private final List<Integer> recordLines = new ArrayList<Integer>();
+        private int lines;
+        private InvalidJsonException failure;
+        private int failureLine;
+
+        private Block(byte[] buffer, int end) {
+            this.buffer = buffer;
+            this.end = end;
+        }
+
+        @Override
+        public Block call() {
+            int start = 0;
+            while (start < end) {
+                int lineEnd = start;
+                while (lineEnd < end && buffer[lineEnd] != '\n') {
+                    lineEnd++;
+                }
+                int recordEnd = lineEnd > start && buffer[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+                if (!isBlank(start, recordEnd)) {
+                    try {
+                        records.add(paths.read(paths.parse(new String(buffer, start, recordEnd - start, UTF_8))));
+                        recordLines.add(lines);
+                    } catch (InvalidJsonException e) {
+                        failure = e;
+                        failureLine = lines;
+                        return this;
+                    }
+                }
+                lines++;
+                start = lineEnd + 1;
+            }
+            return this;
+        }
+
+        private boolean isBlank(int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (buffer[i] != ' ' && buffer[i] != '\t') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,536 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.internal.CopyOnWrite;
+import com.jayway.jsonpath.internal.JsonPointer;
+import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.jayway.jsonpath.internal.Utils.notNull;
+
+/**
+ * A JSON Patch (RFC 6902) compiled for applying it to any number of documents.
+ *
+ * <pre>
+ * JsonPatch patch = JsonPatch.parse("[{\"op\": \"replace\", \"path\": \"/store/book/0/price\", \"value\": 10}]");
+ * Object patched = patch.apply(document, configuration);
+ * </pre>
+ *
+ * The pointers of the patch are compiled once and each operation walks straight to its target
+ * using the {@link JsonProvider} of the configuration. Patches are applied to the given document
+ * in place, or to a copy if the configuration contains {@link Option#COPY_ON_WRITE}. Only then is
+ * a failing patch guaranteed to leave the document untouched, as required by the RFC.
+ *
+ * Patches between two documents are created with {@link #diff(Object, Object, Configuration)},
+ * merge patches (RFC 7396) are applied with {@link #mergePatch(Object, Object, Configuration)}.
+ */
+public final class JsonPatch {
+
+    private enum Op {
+        ADD, REMOVE, REPLACE, MOVE, COPY, TEST
+    }
+
+    private final List<Operation> operations;
+
+    private JsonPatch(List<Operation> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * Compiles a patch, read with the default configuration
+     *
+     * @param patch the patch document
+     * @return the compiled patch
+     */
+    public static JsonPatch parse(String patch) {
+        Configuration configuration = Configuration.defaultConfiguration();
+        return parse(configuration.jsonProvider().parse(patch), configuration);
+    }
+
+    /**
+     * Compiles a patch
+     *
+     * @param patch         the patch document, an array of operations
+     * @param configuration configuration used to read the patch document
+     * @return the compiled patch
+     * @throws InvalidModificationException if the patch document is not valid
+     * @throws InvalidPathException         if a pointer of the patch is not valid
+     */
+    public static JsonPatch parse(Object patch, Configuration configuration) {
+        notNull(patch, "patch can not be null");
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        if (!jsonProvider.isArray(patch)) {
+            throw new InvalidModificationException("A JSON patch must be an array of operations");
+        }
+        List<Operation> operations = new ArrayList<Operation>();
+        for (Object operation : jsonProvider.toIterable(patch)) {
+            if (!jsonProvider.isMap(operation)) {
+                throw new InvalidModificationException("A JSON patch operation must be an object: " + operation);
+            }
+            String name = member(operation, "op", jsonProvider);
+            Op op;
+            try {
+                op = Op.valueOf(name.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new InvalidModificationException("Unknown JSON patch operation: " + name);
+            }
+            JsonPointer path = JsonPointer.compile(member(operation, "path", jsonProvider));
+            JsonPointer from = null;
+            Object value = null;
+            if (op == Op.MOVE || op == Op.COPY) {
+                from = JsonPointer.compile(member(operation, "from", jsonProvider));
+            } else if (op != Op.REMOVE) {
+                value = jsonProvider.getMapValue(operation, "value");
+                if (value == JsonProvider.UNDEFINED) {
+                    throw new InvalidModificationException("Missing value in JSON patch operation: " + name + " " + path);
+                }
+            }
+            operations.add(new Operation(op, path, from, value));
+        }
+        return new JsonPatch(operations);
+    }
+
+    private static String member(Object operation, String name, JsonProvider jsonProvider) {
+        Object value = jsonProvider.unwrap(jsonProvider.getMapValue(operation, name));
+        if (!(value instanceof String)) {
+            throw new InvalidModificationException("Missing " + name + " in JSON patch operation: " + jsonProvider.toJson(operation));
+        }
+        return (String) value;
+    }
+
+    /**
+     * Creates a patch that turns the source document into the target document. Arrays are
+     * compared element by element after skipping their common beginning and end.
+     *
+     * @param source        the original document
+     * @param target        the modified document
+     * @param configuration configuration used to read the documents
+     * @return the patch
+     */
+    public static JsonPatch diff(Object source, Object target, Configuration configuration) {
+        List<Operation> operations = new ArrayList<Operation>();
+        diff(source, target, JsonPointer.ROOT, operations, configuration.jsonProvider());
+        return new JsonPatch(operations);
+    }
+
+    private static void diff(Object source, Object target, JsonPointer pointer, List<Operation> operations, JsonProvider jsonProvider) {
+        if (jsonProvider.isMap(source) && jsonProvider.isMap(target)) {
+            for (String key : jsonProvider.getPropertyKeys(source)) {
+                Object targetValue = jsonProvider.getMapValue(target, key);
+                if (targetValue == JsonProvider.UNDEFINED) {
+                    operations.add(new Operation(Op.REMOVE, pointer.append(key), null, null));
+                } else {
+                    diff(jsonProvider.getMapValue(source, key), targetValue, pointer.append(key), operations, jsonProvider);
+                }
+            }
+            for (String key : jsonProvider.getPropertyKeys(target)) {
+                if (jsonProvider.getMapValue(source, key) == JsonProvider.UNDEFINED) {
+                    operations.add(new Operation(Op.ADD, pointer.append(key), null, jsonProvider.getMapValue(target, key)));
+                }
+            }
+        } else if (jsonProvider.isArray(source) && jsonProvider.isArray(target)) {
+            List<Object> sourceElements = elements(source, jsonProvider);
+            List<Object> targetElements = elements(target, jsonProvider);
+            int start = 0;
+            int sourceEnd = sourceElements.size();
+            int targetEnd = targetElements.size();
+            while (start < sourceEnd && start < targetEnd && jsonEquals(sourceElements.get(start), targetElements.get(start), jsonProvider)) {
+                start++;
+            }
+            while (sourceEnd > start && targetEnd > start && jsonEquals(sourceElements.get(sourceEnd - 1), targetElements.get(targetEnd - 1), jsonProvider)) {
+                sourceEnd--;
+                targetEnd--;
+            }
+            int common = Math.min(sourceEnd, targetEnd) - start;
+            for (int i = start; i < start + common; i++) {
+                diff(sourceElements.get(i), targetElements.get(i), pointer.append(i), operations, jsonProvider);
+            }
+            for (int i = sourceEnd - 1; i >= start + common; i--) {
+                operations.add(new Operation(Op.REMOVE, pointer.append(i), null, null));
+            }
+            for (int i = start + common; i < targetEnd; i++) {
+                operations.add(new Operation(Op.ADD, pointer.append(i), null, targetElements.get(i)));
+            }
+        } else if (!jsonEquals(source, target, jsonProvider)) {
+            operations.add(new Operation(Op.REPLACE, pointer, null, target));
+        }
+    }
+
+    private static List<Object> elements(Object array, JsonProvider jsonProvider) {
+        List<Object> elements = new ArrayList<Object>(jsonProvider.length(array));
+        for (Object element : jsonProvider.toIterable(array)) {
+            elements.add(element);
+        }
+        return elements;
+    }
+
+    /**
+     * Applies a merge patch (RFC 7396). The target is modified in place, or copied where it is
+     * modified if the configuration contains {@link Option#COPY_ON_WRITE}.
+     *
+     * @param target        the document to patch
+     * @param patch         the merge patch
+     * @param configuration configuration used to read the documents
+     * @return the patched document
+     */
+    public static Object mergePatch(Object target, Object patch, Configuration configuration) {
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        return merge(target, patch, configuration.containsOption(Option.COPY_ON_WRITE), jsonProvider);
+    }
+
+    private static Object merge(Object target, Object patch, boolean copy, JsonProvider jsonProvider) {
+        if (!jsonProvider.isMap(patch)) {
+            return deepCopy(patch, jsonProvider, null);
+        }
+        Object result;
+        if (target == null || !jsonProvider.isMap(target)) {
+            result = jsonProvider.createMap();
+        } else {
+            result = copy ? CopyOnWrite.shallowCopy(target, jsonProvider) : target;
+        }
+        for (String key : jsonProvider.getPropertyKeys(patch)) {
+            Object value = jsonProvider.getMapValue(patch, key);
+            if (jsonProvider.unwrap(value) == null) {
+                jsonProvider.removeProperty(result, key);
+            } else {
+                Object current = jsonProvider.getMapValue(result, key);
+                jsonProvider.setProperty(result, key, merge(current == JsonProvider.UNDEFINED ? null : current, value, copy, jsonProvider));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies this patch to a document
+     *
+     * @param document      the document to patch
+     * @param configuration configuration used to read and modify the document
+     * @return the patched document, a different object if the whole document is replaced or copied
+     * @throws PathNotFoundException        if a location the patch reads or removes does not exist
+     * @throws InvalidModificationException if a test operation fails or an operation can not be applied
+     */
+    public Object apply(Object document, Configuration configuration) {
+        Application application = new Application(document, configuration);
+        for (Operation operation : operations) {
+            application.apply(operation);
+        }
+        return application.root;
+    }
+
+    /**
+     * @return the number of operations in this patch
+     */
+    public int size() {
+        return operations.size();
+    }
+
+    /**
+     * Returns the patch document
+     *
+     * @param configuration configuration used to create the document
+     * @return the patch document as a JSON string
+     */
+    public String toJson(Configuration configuration) {
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        Object patch = jsonProvider.createArray();
+        int idx = 0;
+        for (Operation operation : operations) {
+            Object json = jsonProvider.createMap();
+            jsonProvider.setProperty(json, "op", operation.op.name().toLowerCase());
+            if (operation.from != null) {
+                jsonProvider.setProperty(json, "from", operation.from.toString());
+            }
+            jsonProvider.setProperty(json, "path", operation.path.toString());
+            if (operation.op != Op.REMOVE && operation.from == null) {
+                jsonProvider.setProperty(json, "value", operation.value);
+            }
+            jsonProvider.setArrayIndex(patch, idx++, json);
+        }
+        return jsonProvider.toJson(patch);
+    }
+
+    @Override
+    public String toString() {
+        return toJson(Configuration.defaultConfiguration());
+    }
+
+    /**
+     * Compares JSON values, numbers are equal if they have the same value.
+     */
+    private static boolean jsonEquals(Object a, Object b, JsonProvider jsonProvider) {
+        if (jsonProvider.isMap(a)) {
+            if (!jsonProvider.isMap(b)) {
+                return false;
+            }
+            if (jsonProvider.getPropertyKeys(a).size() != jsonProvider.getPropertyKeys(b).size()) {
+                return false;
+            }
+            for (String key : jsonProvider.getPropertyKeys(a)) {
+                Object other = jsonProvider.getMapValue(b, key);
+                if (other == JsonProvider.UNDEFINED || !jsonEquals(jsonProvider.getMapValue(a, key), other, jsonProvider)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (jsonProvider.isArray(a)) {
+            if (!jsonProvider.isArray(b) || jsonProvider.length(a) != jsonProvider.length(b)) {
+                return false;
+            }
+            int i = 0;
+            for (Object element : jsonProvider.toIterable(a)) {
+                if (!jsonEquals(element, jsonProvider.getArrayIndex(b, i++), jsonProvider)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (jsonProvider.isMap(b) || jsonProvider.isArray(b)) {
+            return false;
+        }
+        Object left = jsonProvider.unwrap(a);
+        Object right = jsonProvider.unwrap(b);
+        if (left instanceof Number && right instanceof Number) {
+            try {
+                return new BigDecimal(left.toString()).compareTo(new BigDecimal(right.toString())) == 0;
+            } catch (NumberFormatException e) {
+                return left.equals(right);
+            }
+        }
+        return left == null ? right == null : left.equals(right);
+    }
+
+    /**
+     * Copies a value taken from a patch or the document, registering the copied containers as owned if given.
+     */
+    private static Object deepCopy(Object value, JsonProvider jsonProvider, Map<Object, Object> owned) {
+        Object copy;
+        if (jsonProvider.isArray(value)) {
+            copy = jsonProvider.createArray();
+            int idx = 0;
+            for (Object element : jsonProvider.toIterable(value)) {
+                jsonProvider.setArrayIndex(copy, idx++, deepCopy(element, jsonProvider, owned));
+            }
+        } else if (jsonProvider.isMap(value)) {
+            copy = jsonProvider.createMap();
+            for (String key : jsonProvider.getPropertyKeys(value)) {
+                jsonProvider.setProperty(copy, key, deepCopy(jsonProvider.getMapValue(value, key), jsonProvider, owned));
+            }
+        } else {
+            return value;
+        }
+        if (owned != null) {
+            owned.put(copy, copy);
+        }
+        return copy;
+    }
+
+    private static final class Operation {
+        private final Op op;
+        private final JsonPointer path;
+        private final JsonPointer from;
+        private final Object value;
+
+        private Operation(Op op, JsonPointer path, JsonPointer from, Object value) {
+            this.op = op;
+            this.path = path;
+            this.from = from;
+            this.value = value;
+        }
+    }
+
+    /**
+     * State of one application of a patch. When copying on write, containers of the original
+     * document are copied before they are modified; containers created by this application are
+     * owned and modified directly.
+     */
+    private static final class Application {
+        private final Configuration configuration;
+        private final JsonProvider jsonProvider;
+        private final Map<Object, Object> owned;
+        private Object root;
+
+        private Application(Object root, Configuration configuration) {
+            this.root = root;
+            this.configuration = configuration;
+            this.jsonProvider = configuration.jsonProvider();
+            this.owned = configuration.containsOption(Option.COPY_ON_WRITE) ? new IdentityHashMap<Object, Object>() : null;
+        }
+
+        void apply(Operation operation) {
+            switch (operation.op) {
+                case ADD:
+                    add(operation.path, deepCopy(operation.value, jsonProvider, owned));
+                    break;
+                case REMOVE:
+                    remove(operation.path);
+                    break;
+                case REPLACE:
+                    replace(operation.path, deepCopy(operation.value, jsonProvider, owned));
+                    break;
+                case MOVE:
+                    if (!operation.from.equals(operation.path)) {
+                        if (operation.from.isProperPrefixOf(operation.path)) {
+                            throw new InvalidModificationException("Can not move " + operation.from + " into itself");
+                        }
+                        Object value = read(operation.from);
+                        remove(operation.from);
+                        add(operation.path, value);
+                    }
+                    break;
+                case COPY:
+                    add(operation.path, deepCopy(read(operation.from), jsonProvider, owned));
+                    break;
+                default:
+                    if (!jsonEquals(read(operation.path), operation.value, jsonProvider)) {
+                        throw new InvalidModificationException("Test failed for " + operation.path);
+                    }
+            }
+        }
+
+        private void add(JsonPointer path, Object value) {
+            if (path.isRoot()) {
+                root = value;
+                return;
+            }
+            Object parent = writableParent(path);
+            if (jsonProvider.isArray(parent)) {
+                int length = jsonProvider.length(parent);
+                int index = JsonPointer.arrayIndex(path.last(), length, true);
+                if (index < 0) {
+                    throw new PathNotFoundException("No array element to add before at " + path);
+                }
+                insert(parent, index, length, value);
+            } else if (jsonProvider.isMap(parent)) {
+                jsonProvider.setProperty(parent, path.last(), value);
+            } else {
+                throw new PathNotFoundException("No object or array to add to at " + path);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void insert(Object array, int index, int length, Object value) {
+            if (array instanceof List) {
+                ((List<Object>) array).add(index, value);
+                return;
+            }
+            if (index == length) {
+                jsonProvider.setArrayIndex(array, length, value);
+                return;
+            }
+            jsonProvider.setArrayIndex(array, length, jsonProvider.getArrayIndex(array, length - 1));
+            for (int i = length - 1; i > index; i--) {
+                jsonProvider.setArrayIndex(array, i, jsonProvider.getArrayIndex(array, i - 1));
+            }
+            jsonProvider.setArrayIndex(array, index, value);
+        }
+
+        private void remove(JsonPointer path) {
+            if (path.isRoot()) {
+                throw new InvalidModificationException("Can not remove the whole document");
+            }
+            Object parent = writableParent(path);
+            if (jsonProvider.isArray(parent)) {
+                int index = JsonPointer.arrayIndex(path.last(), jsonProvider.length(parent), false);
+                if (index < 0) {
+                    throw new PathNotFoundException("No array element to remove at " + path);
+                }
+                jsonProvider.removeProperty(parent, index);
+            } else if (jsonProvider.isMap(parent) && jsonProvider.getMapValue(parent, path.last()) != JsonProvider.UNDEFINED) {
+                jsonProvider.removeProperty(parent, path.last());
+            } else {
+                throw new PathNotFoundException("No value to remove at " + path);
+            }
+        }
+
+        private void replace(JsonPointer path, Object value) {
+            if (path.isRoot()) {
+                root = value;
+                return;
+            }
+            Object parent = writableParent(path);
+            if (jsonProvider.isArray(parent)) {
+                int index = JsonPointer.arrayIndex(path.last(), jsonProvider.length(parent), false);
+                if (index < 0) {
+                    throw new PathNotFoundException("No array element to replace at " + path);
+                }
+                jsonProvider.setArrayIndex(parent, index, value);
+            } else if (jsonProvider.isMap(parent) && jsonProvider.getMapValue(parent, path.last()) != JsonProvider.UNDEFINED) {
+                jsonProvider.setProperty(parent, path.last(), value);
+            } else {
+                throw new PathNotFoundException("No value to replace at " + path);
+            }
+        }
+
+        private Object read(JsonPointer path) {
+            Object current = root;
+            for (int i = 0; i < path.size(); i++) {
+                current = child(current, path.token(i));
+                if (current == JsonProvider.UNDEFINED) {
+                    throw new PathNotFoundException("No value at " + path);
+                }
+            }
+            return current;
+        }
+
+        /**
+         * Returns the container holding the last token of the path, copying the containers on
+         * the way when copying on write.
+         */
+        private Object writableParent(JsonPointer path) {
+            Object current = writable(root, null, null);
+            for (int i = 0; i < path.size() - 1; i++) {
+                Object child = child(current, path.token(i));
+                if (child == JsonProvider.UNDEFINED) {
+                    throw new PathNotFoundException("No value at " + path);
+                }
+                current = writable(child, current, path.token(i));
+            }
+            return current;
+        }
+
+        private Object child(Object container, String token) {
+            if (jsonProvider.isMap(container)) {
+                return jsonProvider.getMapValue(container, token);
+            } else if (jsonProvider.isArray(container)) {
+                int index = JsonPointer.arrayIndex(token, jsonProvider.length(container), false);
+                return index < 0 ? JsonProvider.UNDEFINED : jsonProvider.getArrayIndex(container, index);
+            }
+            return JsonProvider.UNDEFINED;
+        }
+
+        private Object writable(Object value, Object parent, String token) {
+            if (owned == null || owned.containsKey(value) || !(jsonProvider.isMap(value) || jsonProvider.isArray(value))) {
+                return value;
+            }
+            Object copy = CopyOnWrite.shallowCopy(value, jsonProvider);
+            if (parent == null) {
+                root = copy;
+            } else {
+                PathRef ref = jsonProvider.isArray(parent)
+                        ? PathRef.create(parent, JsonPointer.arrayIndex(token, jsonProvider.length(parent), false), null)
+                        : PathRef.create(parent, token, null);
+                copy = CopyOnWrite.link(ref, copy, configuration);
+            }
+            owned.put(copy, copy);
+            return copy;
+        }
+    }
+}
@@ -15,18 +15,23 @@
 package com.jayway.jsonpath;
 
 
+import com.jayway.jsonpath.internal.DocumentCache;
 import com.jayway.jsonpath.internal.EvaluationContext;
 import com.jayway.jsonpath.internal.JsonContext;
+import com.jayway.jsonpath.internal.JsonEncoding;
+import com.jayway.jsonpath.internal.JsonPathAccess;
+import com.jayway.jsonpath.internal.MappedFileInputStream;
 import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.PathRef;
 import com.jayway.jsonpath.internal.Utils;
+import com.jayway.jsonpath.internal.path.PathAnalyzer;
 import com.jayway.jsonpath.internal.path.PathCompiler;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.net.URL;
 
 import static com.jayway.jsonpath.Option.ALWAYS_RETURN_LIST;
@@ -94,6 +99,20 @@ import static com.jayway.jsonpath.internal.Utils.*;
  */
 public class JsonPath {
 
+    static {
+        JsonPathAccess.set(new JsonPathAccess() {
+            @Override
+            protected Path getCompiledPath(JsonPath path) {
+                return path.path;
+            }
+
+            @Override
+            protected <T> T readCached(JsonPath path, Object jsonObject, Configuration configuration, DocumentCache documentCache) {
+                return path.read(jsonObject, configuration, documentCache);
+            }
+        });
+    }
+
     private final Path path;
 
     private JsonPath(String jsonPath, Predicate[] filters) {
@@ -110,6 +129,19 @@ public class JsonPath {
         return this.path.toString();
     }
 
+    /**
+     * Analyzes this path without evaluating it, e.g. to reject paths that are too expensive to evaluate.
+     *
+     * @return the analysis of this path
+     */
+    public PathAnalysis analyze() {
+        return PathAnalyzer.analyze(path);
+    }
+
+    Path getCompiledPath() {
+        return path;
+    }
+
     /**
      * @see JsonPath#isDefinite()
      */
@@ -167,8 +199,22 @@ public class JsonPath {
      * @param <T>           expected return type
      * @return object(s) matched by the given path
      */
-    @SuppressWarnings("unchecked")
     public <T> T read(Object jsonObject, Configuration configuration) {
+        return read(jsonObject, configuration, null);
+    }
+
+    /**
+     * Applies this JsonPath to the provided json document, reusing structures derived from the
+     * document by earlier reads.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @param documentCache cache owned by the document, may be null
+     * @param <T>           expected return type
+     * @return object(s) matched by the given path
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T read(Object jsonObject, Configuration configuration, DocumentCache documentCache) {
         boolean optAsPathList = configuration.containsOption(AS_PATH_LIST);
         boolean optAlwaysReturnList = configuration.containsOption(Option.ALWAYS_RETURN_LIST);
         boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
@@ -178,13 +224,13 @@ public class JsonPath {
                 if(optAsPathList || optAlwaysReturnList){
                     throw new JsonPathException("Options " + AS_PATH_LIST + " and " + ALWAYS_RETURN_LIST + " are not allowed when using path functions!");
                 }
-                return path.evaluate(jsonObject, jsonObject, configuration).getValue(true);
+                return path.evaluate(jsonObject, jsonObject, configuration, documentCache).getValue(true);
 
             } else if(optAsPathList){
-                return  (T)path.evaluate(jsonObject, jsonObject, configuration).getPath();
+                return  (T)path.evaluate(jsonObject, jsonObject, configuration, documentCache).getPath();
 
             } else {
-                Object res = path.evaluate(jsonObject, jsonObject, configuration).getValue(false);
+                Object res = path.evaluate(jsonObject, jsonObject, configuration, documentCache).getValue(false);
                 if(optAlwaysReturnList && path.isDefinite()){
                     Object array = configuration.jsonProvider().createArray();
                     configuration.jsonProvider().setArrayIndex(array, 0, res);
@@ -194,7 +240,7 @@ public class JsonPath {
                 }
             }
         } catch (RuntimeException e){
-            if(!optSuppressExceptions){
+            if(!optSuppressExceptions || e instanceof EvaluationBudgetExceededException){
                 throw e;
             } else {
                 if(optAsPathList){
@@ -387,9 +433,9 @@ public class JsonPath {
         isTrue(jsonFile.exists(), "json file does not exist");
         notNull(configuration, "jsonProvider can not be null");
 
-        FileInputStream fis = null;
+        InputStream fis = null;
         try {
-            fis = new FileInputStream(jsonFile);
+            fis = MappedFileInputStream.open(jsonFile);
             return read(fis, configuration);
         } finally {
             Utils.closeQuietly(fis);
@@ -410,7 +456,8 @@ public class JsonPath {
     }
 
     /**
-     * Applies this JsonPath to the provided json input stream
+     * Applies this JsonPath to the provided json input stream. The encoding (UTF-8, UTF-16 or UTF-32)
+     * is detected from the first bytes of the stream.
      *
      * @param jsonInputStream input stream to read from
      * @param configuration   configuration to use
@@ -423,7 +470,12 @@ public class JsonPath {
         notNull(jsonInputStream, "json input stream can not be null");
         notNull(configuration, "configuration can not be null");
 
-        return read(jsonInputStream, "UTF-8", configuration);
+        try {
+            PushbackInputStream in = JsonEncoding.peekable(jsonInputStream);
+            return read(configuration.jsonProvider().parse(in, JsonEncoding.detect(in)), configuration);
+        } finally {
+            Utils.closeQuietly(jsonInputStream);
+        }
     }
 
     /**
@@ -83,6 +83,31 @@ public enum Option {
      * If REQUIRE_PROPERTIES option is present PathNotFoundException is thrown.
      * If REQUIRE_PROPERTIES option is not present ["b-val"] is returned.
      */
-    REQUIRE_PROPERTIES
+    REQUIRE_PROPERTIES,
+
+    /**
+     * Evaluates filters over large arrays column by column when reading through a {@link DocumentContext}.
+     *
+     * The values a filter reads, like <code>@.status</code> in <code>$.rows[?(@.status == 'OK')]</code>,
+     * are copied into primitive and dictionary encoded columns the first time they are filtered on.
+     * The columns are kept by the DocumentContext and reused by later reads until the document is
+     * modified through it. The document must not be modified by other means while this option is used.
+     */
+    COLUMNAR_FILTERS,
+
+    /**
+     * Makes the write operations of a {@link DocumentContext} leave its document untouched.
+     *
+     * Every write returns a new DocumentContext for a modified copy of the document. Only the objects
+     * and arrays on the way from the root to the modified locations are copied, all other values are
+     * shared between the versions. A version that is no longer written to can be read from any number
+     * of threads while newer versions are created.
+     *
+     * <pre>
+     * DocumentContext v1 = JsonPath.using(conf).parse(json);
+     * DocumentContext v2 = v1.set("$.store.book[0].price", 10);
+     * </pre>
+     */
+    COPY_ON_WRITE
 
 }
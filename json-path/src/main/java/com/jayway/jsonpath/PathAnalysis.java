@@ -0,0 +1,93 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath;
+
+import java.util.Set;
+
+/**
+ * Static analysis of a compiled path, obtained with {@link JsonPath#analyze()}. It tells how the
+ * cost of evaluating the path grows with the document before it is evaluated.
+ */
+public interface PathAnalysis {
+
+    enum Complexity {
+        /**
+         * The path reads a fixed number of nodes
+         */
+        CONSTANT,
+        /**
+         * The path visits each node of the document a bounded number of times
+         */
+        LINEAR,
+        /**
+         * The path scans the document from nodes found by a scan, nodes can be visited once for each of their ancestors
+         */
+        SUPERLINEAR
+    }
+
+    /**
+     * @return how the cost of evaluating the path grows with the document
+     */
+    Complexity getComplexity();
+
+    /**
+     * Returns the number of deep scans (<code>..</code>) in the path, including the paths of its filters and function parameters
+     *
+     * @return number of deep scans
+     */
+    int getDeepScans();
+
+    /**
+     * Returns the largest number of deep scans evaluated one inside the other, e.g. 2 for <code>$..book[?(@..isbn)]</code>
+     *
+     * @return scan nesting
+     */
+    int getScanNesting();
+
+    /**
+     * Returns the largest number of filters evaluated one inside the other, e.g. 2 for <code>$.a[?(@.b[?(@.c)])]</code>
+     *
+     * @return filter nesting depth
+     */
+    int getFilterDepth();
+
+    /**
+     * Returns the number of paths in filters that read the document through <code>$</code>
+     *
+     * @return number of root references
+     */
+    int getRootReferences();
+
+    /**
+     * @return names of the functions the path calls
+     */
+    Set<String> getFunctions();
+
+    /**
+     * Returns true if the path has filters given as {@link Predicate} objects, which are not analyzed
+     *
+     * @return true if some filters could not be analyzed
+     */
+    boolean hasOpaquePredicates();
+
+    /**
+     * Estimates the number of nodes an evaluation visits, assuming every container of the document
+     * has the average fan out and every filter matches.
+     *
+     * @param statistics statistics of the documents the path is evaluated on
+     * @return worst case estimate of the nodes visited
+     */
+    long estimateNodesVisited(DocumentStatistics statistics);
+}
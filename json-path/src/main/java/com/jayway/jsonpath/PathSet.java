@@ -0,0 +1,97 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.internal.JsonSmartAccess;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.path.DefinitePathReader;
+import com.jayway.jsonpath.internal.path.Projection;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.jayway.jsonpath.internal.Utils.notNull;
+
+/**
+ * A fixed set of paths read from many documents. Documents are parsed with the projection of
+ * the paths, definite paths are read directly when the configuration does not change how
+ * results are returned and does not observe or limit evaluations.
+ */
+final class PathSet {
+
+    private final Configuration configuration;
+    private final JsonPath[] paths;
+    private final DefinitePathReader[] readers;
+    private final Projection projection;
+
+    PathSet(Configuration configuration, JsonPath[] paths) {
+        notNull(configuration, "configuration can not be null");
+        notNull(paths, "paths can not be null");
+        this.configuration = configuration;
+        this.paths = paths.clone();
+        this.readers = new DefinitePathReader[paths.length];
+        boolean direct = configuration.getOptions().isEmpty() && configuration.getEvaluationListeners().isEmpty()
+                && configuration.evaluationMetrics() == null && configuration.evaluationBudget() == null;
+        List<Path> compiled = new ArrayList<Path>(paths.length);
+        for (int i = 0; i < paths.length; i++) {
+            notNull(paths[i], "path can not be null");
+            compiled.add(paths[i].getCompiledPath());
+            readers[i] = direct ? DefinitePathReader.create(paths[i].getCompiledPath()) : null;
+        }
+        this.projection = Projection.create(compiled);
+    }
+
+    Configuration configuration() {
+        return configuration;
+    }
+
+    Projection projection() {
+        return projection;
+    }
+
+    Object parse(String json) {
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        if (jsonProvider instanceof JsonSmartJsonProvider) {
+            return JsonSmartAccess.parse((JsonSmartJsonProvider) jsonProvider, json, projection);
+        }
+        return jsonProvider.parse(json);
+    }
+
+    /**
+     * Reads the paths from a document
+     *
+     * @param document the document
+     * @return the values of the paths, null for paths not found
+     */
+    Object[] read(Object document) {
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        Object[] values = new Object[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            if (readers[i] != null) {
+                Object value = readers[i].read(document, jsonProvider, false);
+                values[i] = value == JsonProvider.UNDEFINED ? null : value;
+                continue;
+            }
+            try {
+                values[i] = paths[i].read(document, configuration);
+            } catch (PathNotFoundException e) {
+                values[i] = null;
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath;
+
+/**
+ * A set of modifications applied to a document together, see {@link ExtendedDocumentContext#batch()}.
+ *
+ * All paths of a batch are resolved against the document as it is when the batch is applied,
+ * before any modification is made. Modifications are then made in the order they were added,
+ * except deletions of array elements: they are made last, from the highest index down, so that
+ * removing an element does not move the other elements targeted by the batch. If a path can not
+ * be resolved nothing is modified.
+ */
+public interface WriteBatch {
+
+    /**
+     * Set the value a the given path
+     *
+     * @param path      path to set
+     * @param newValue  new value
+     * @param filters   filters
+     * @return this batch
+     */
+    WriteBatch set(String path, Object newValue, Predicate... filters);
+
+    /**
+     * Set the value a the given path
+     *
+     * @param path      path to set
+     * @param newValue  new value
+     * @return this batch
+     */
+    WriteBatch set(JsonPath path, Object newValue);
+
+    /**
+     * Replaces the value on the given path with the result of the {@link MapFunction}.
+     *
+     * @param path           path to be converted set
+     * @param mapFunction    Converter object to be invoked
+     * @param filters        filters
+     * @return this batch
+     */
+    WriteBatch map(String path, MapFunction mapFunction, Predicate... filters);
+
+    /**
+     * Replaces the value on the given path with the result of the {@link MapFunction}.
+     *
+     * @param path           path to be converted set
+     * @param mapFunction    Converter object to be invoked
+     * @return this batch
+     */
+    WriteBatch map(JsonPath path, MapFunction mapFunction);
+
+    /**
+     * Deletes the given path
+     *
+     * @param path    path to delete
+     * @param filters filters
+     * @return this batch
+     */
+    WriteBatch delete(String path, Predicate... filters);
+
+    /**
+     * Deletes the given path
+     *
+     * @param path path to delete
+     * @return this batch
+     */
+    WriteBatch delete(JsonPath path);
+
+    /**
+     * Add value to array at the given path
+     *
+     * @param path    path to array
+     * @param value   value to add
+     * @param filters filters
+     * @return this batch
+     */
+    WriteBatch add(String path, Object value, Predicate... filters);
+
+    /**
+     * Add value to array at the given path
+     *
+     * @param path  path to array
+     * @param value value to add
+     * @return this batch
+     */
+    WriteBatch add(JsonPath path, Object value);
+
+    /**
+     * Add or update the key with a the given value at the given path
+     *
+     * @param path    path to object
+     * @param key     key to add
+     * @param value   value of key
+     * @param filters filters
+     * @return this batch
+     */
+    WriteBatch put(String path, String key, Object value, Predicate... filters);
+
+    /**
+     * Add or update the key with a the given value at the given path
+     *
+     * @param path  path to object
+     * @param key   key to add
+     * @param value value of key
+     * @return this batch
+     */
+    WriteBatch put(JsonPath path, String key, Object value);
+
+    /**
+     * Renames the last key element of a given path.
+     *
+     * @param path       the path to the old key. Should be resolved to a map
+     *                   or an array including map items.
+     * @param oldKeyName the old key name
+     * @param newKeyName the new key name
+     * @param filters    filters
+     * @return this batch
+     */
+    WriteBatch renameKey(String path, String oldKeyName, String newKeyName, Predicate... filters);
+
+    /**
+     * Renames the last key element of a given path.
+     *
+     * @param path       the path to the old key. Should be resolved to a map
+     *                   or an array including map items.
+     * @param oldKeyName the old key name
+     * @param newKeyName the new key name
+     * @return this batch
+     */
+    WriteBatch renameKey(JsonPath path, String oldKeyName, String newKeyName);
+
+    /**
+     * Applies the modifications of this batch to the document.
+     *
+     * @return the document context, or a new context for the modified copy of the document
+     * if the context was configured with {@link Option#COPY_ON_WRITE}
+     */
+    DocumentContext apply();
+}
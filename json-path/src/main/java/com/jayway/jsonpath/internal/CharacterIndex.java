@@ -205,6 +205,25 @@ public class CharacterIndex {
         incrementPosition(1);
     }
 
+    /**
+     * Skips blanks and tells if the characters from the current position are the given ones, without throwing if not.
+     *
+     * @param s the characters
+     * @return true if the significant characters start with s
+     */
+    public boolean significantSubSequenceIs(CharSequence s) {
+        skipBlanks();
+        if (!inBounds(position + s.length() - 1)) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (charSequence.charAt(position + i) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public void readSignificantSubSequence(CharSequence s) {
         skipBlanks();
         if (! inBounds(position + s.length() - 1)) {
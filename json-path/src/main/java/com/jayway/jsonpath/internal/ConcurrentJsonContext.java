@@ -0,0 +1,209 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.ExtendedDocumentContext;
+import com.jayway.jsonpath.IndexType;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.MapFunction;
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.ReadContext;
+import com.jayway.jsonpath.TypeRef;
+import com.jayway.jsonpath.WriteBatch;
+
+import static com.jayway.jsonpath.JsonPath.compile;
+
+/**
+ * A {@link DocumentContext} that can be shared between threads. It holds an immutable version of
+ * the document that is replaced on every write. Reads use the version current when they start and
+ * never block, writes are serialized and copy only the containers on the way to modified values.
+ */
+final class ConcurrentJsonContext implements ExtendedDocumentContext {
+
+    private final Object writeLock = new Object();
+    private volatile JsonContext version;
+
+    ConcurrentJsonContext(JsonContext version) {
+        this.version = version;
+    }
+
+    @Override
+    public Configuration configuration() {
+        return version.configuration();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T json() {
+        return (T) version.json();
+    }
+
+    @Override
+    public String jsonString() {
+        return version.jsonString();
+    }
+
+    @Override
+    public <T> T read(String path, Predicate... filters) {
+        return version.read(path, filters);
+    }
+
+    @Override
+    public <T> T read(String path, Class<T> type, Predicate... filters) {
+        return version.read(path, type, filters);
+    }
+
+    @Override
+    public <T> T read(JsonPath path) {
+        return version.read(path);
+    }
+
+    @Override
+    public <T> T read(JsonPath path, Class<T> type) {
+        return version.read(path, type);
+    }
+
+    @Override
+    public <T> T read(JsonPath path, TypeRef<T> typeRef) {
+        return version.read(path, typeRef);
+    }
+
+    @Override
+    public <T> T read(String path, TypeRef<T> typeRef) {
+        return version.read(path, typeRef);
+    }
+
+    @Override
+    public ReadContext limit(int maxResults) {
+        return version.limit(maxResults);
+    }
+
+    @Override
+    public ReadContext withListeners(EvaluationListener... listener) {
+        return version.withListeners(listener);
+    }
+
+    @Override
+    public DocumentContext set(String path, Object newValue, Predicate... filters) {
+        return set(compile(path, filters), newValue);
+    }
+
+    @Override
+    public DocumentContext set(JsonPath path, Object newValue) {
+        synchronized (writeLock) {
+            version = (JsonContext) version.set(path, newValue);
+        }
+        return this;
+    }
+
+    @Override
+    public DocumentContext map(String path, MapFunction mapFunction, Predicate... filters) {
+        return map(compile(path, filters), mapFunction);
+    }
+
+    @Override
+    public DocumentContext map(JsonPath path, MapFunction mapFunction) {
+        synchronized (writeLock) {
+            version = (JsonContext) version.map(path, mapFunction);
+        }
+        return this;
+    }
+
+    @Override
+    public DocumentContext delete(String path, Predicate... filters) {
+        return delete(compile(path, filters));
+    }
+
+    @Override
+    public DocumentContext delete(JsonPath path) {
+        synchronized (writeLock) {
+            version = (JsonContext) version.delete(path);
+        }
+        return this;
+    }
+
+    @Override
+    public DocumentContext add(String path, Object value, Predicate... filters) {
+        return add(compile(path, filters), value);
+    }
+
+    @Override
+    public DocumentContext add(JsonPath path, Object value) {
+        synchronized (writeLock) {
+            version = (JsonContext) version.add(path, value);
+        }
+        return this;
+    }
+
+    @Override
+    public DocumentContext put(String path, String key, Object value, Predicate... filters) {
+        return put(compile(path, filters), key, value);
+    }
+
+    @Override
+    public DocumentContext put(JsonPath path, String key, Object value) {
+        synchronized (writeLock) {
+            version = (JsonContext) version.put(path, key, value);
+        }
+        return this;
+    }
+
+    @Override
+    public DocumentContext renameKey(String path, String oldKeyName, String newKeyName, Predicate... filters) {
+        return renameKey(compile(path, filters), oldKeyName, newKeyName);
+    }
+
+    @Override
+    public DocumentContext renameKey(JsonPath path, String oldKeyName, String newKeyName) {
+        synchronized (writeLock) {
+            version = (JsonContext) version.renameKey(path, oldKeyName, newKeyName);
+        }
+        return this;
+    }
+
+    @Override
+    public ExtendedDocumentContext createIndex(String arrayPath, String keyPath) {
+        return createIndex(arrayPath, keyPath, IndexType.HASH);
+    }
+
+    @Override
+    public ExtendedDocumentContext createIndex(String arrayPath, String keyPath, IndexType type) {
+        synchronized (writeLock) {
+            version.createIndex(arrayPath, keyPath, type);
+        }
+        return this;
+    }
+
+    @Override
+    public WriteBatch batch() {
+        return new WriteBatchImpl(null) {
+            @Override
+            public DocumentContext apply() {
+                synchronized (writeLock) {
+                    version = (JsonContext) applyTo(version);
+                }
+                return ConcurrentJsonContext.this;
+            }
+        };
+    }
+
+    @Override
+    public ExtendedDocumentContext concurrent() {
+        return this;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.InvalidModificationException;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Modifies a copy of a document instead of the document itself. Only the objects and arrays on
+ * the way from the root to a modified location are copied, everything else is shared with the
+ * original document, which is never modified.
+ * <p>
+ * The static helpers are shared with {@link com.jayway.jsonpath.JsonPatch}, which copies the
+ * containers it modifies the same way.
+ */
+public final class CopyOnWrite {
+
+    private final Configuration configuration;
+    private final Map<Object, Object> copies = new IdentityHashMap<Object, Object>();
+    private Object root;
+
+    CopyOnWrite(Object root, Configuration configuration) {
+        this.root = root;
+        this.configuration = configuration;
+    }
+
+    /**
+     * @return the root of the modified document, the original root if nothing was modified
+     */
+    Object root() {
+        return root;
+    }
+
+    /**
+     * Copies the containers on the way to the location of the given reference.
+     *
+     * @param ref          a reference into the original document
+     * @param modifyTarget if the referenced value itself is modified, like by <code>add</code> or <code>put</code>
+     * @return a reference to the same location in the copy
+     */
+    PathRef prepare(PathRef ref, boolean modifyTarget) {
+        if (ref == PathRef.NO_OP) {
+            return ref;
+        }
+        if (ref.isRoot()) {
+            return ref.withParent(modifyTarget ? copy(ref.parent, ref) : ref.parent);
+        }
+        if (modifyTarget) {
+            Object target = ref.target(configuration);
+            JsonProvider jsonProvider = configuration.jsonProvider();
+            if (jsonProvider.isMap(target) || jsonProvider.isArray(target)) {
+                copy(target, ref);
+            }
+        }
+        return ref.withParent(copy(ref.parent, location(ref)));
+    }
+
+    /**
+     * Returns the copy of a container, copying it and linking the copy into the copy of its own
+     * parent on first use.
+     *
+     * @param container a container in the original document
+     * @param ref       reference to the location of the container
+     */
+    private Object copy(Object container, PathRef ref) {
+        Object copy = copies.get(container);
+        if (copy != null) {
+            return copy;
+        }
+        copy = shallowCopy(container, configuration.jsonProvider());
+        if (ref.isRoot()) {
+            root = copy;
+        } else {
+            copy = link(ref.withParent(copy(ref.parent, location(ref))), copy, configuration);
+        }
+        copies.put(container, copy);
+        return copy;
+    }
+
+    private static PathRef location(PathRef ref) {
+        if (ref.parentRef == null) {
+            throw new InvalidModificationException("Can not locate the parent of " + ref.getAccessor() + " to copy it");
+        }
+        return ref.parentRef;
+    }
+
+    /**
+     * Stores a copied container at the referenced location.
+     *
+     * @param ref           reference to the location in the copied parent
+     * @param copy          the copied container
+     * @param configuration configuration used to modify the parent
+     * @return the container to modify from now on
+     */
+    public static Object link(PathRef ref, Object copy, Configuration configuration) {
+        ref.set(copy, configuration);
+        // providers like Gson and Jackson's JsonNode insert a copy of the value, modify the inserted one
+        return ref.target(configuration);
+    }
+
+    /**
+     * Copies an object or array, the values it holds are shared with the original.
+     *
+     * @param container    the object or array to copy
+     * @param jsonProvider provider used to read and create containers
+     * @return the copy
+     */
+    public static Object shallowCopy(Object container, JsonProvider jsonProvider) {
+        if (jsonProvider.isArray(container)) {
+            Object copy = jsonProvider.createArray();
+            int idx = 0;
+            for (Object element : jsonProvider.toIterable(container)) {
+                jsonProvider.setArrayIndex(copy, idx++, element);
+            }
+            return copy;
+        } else if (jsonProvider.isMap(container)) {
+            Object copy = jsonProvider.createMap();
+            for (String key : jsonProvider.getPropertyKeys(container)) {
+                jsonProvider.setProperty(copy, key, jsonProvider.getMapValue(container, key));
+            }
+            return copy;
+        }
+        throw new InvalidModificationException("Only objects and arrays can be copied");
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.internal.filter.ArrayIndex;
+import com.jayway.jsonpath.internal.filter.ColumnarView;
+import com.jayway.jsonpath.internal.path.DefinitePathReader;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Structures derived from a document that are reused by all reads of a {@link JsonContext}.
+ * They are dropped when the document is modified through the context, indexes are rebuilt
+ * from their definitions on the next read that can use them.
+ *
+ * The cached structures are held in an immutable state that is replaced as a whole, so lookups
+ * never block. Threads racing to create the same structure may both build it, one of them is kept.
+ */
+public final class DocumentCache {
+
+    private final AtomicReference<State> state = new AtomicReference<State>(State.EMPTY);
+
+    /**
+     * Returns the columnar view of the given array, creating it on first use.
+     *
+     * @param array        an array in the document
+     * @param jsonProvider provider used to read the array
+     * @return the view
+     */
+    public ColumnarView columnarView(Object array, JsonProvider jsonProvider) {
+        ColumnarView created = null;
+        while (true) {
+            State current = state.get();
+            ColumnarView view = current.columnarViews.get(array);
+            if (view != null && view.jsonProvider() == jsonProvider) {
+                return view;
+            }
+            if (created == null) {
+                created = ColumnarView.create(array, jsonProvider);
+            }
+            Map<Object, ColumnarView> columnarViews = new IdentityHashMap<Object, ColumnarView>(current.columnarViews);
+            columnarViews.put(array, created);
+            if (state.compareAndSet(current, new State(current.indexDefinitions, columnarViews, current.indexes, current.indexProvider))) {
+                return created;
+            }
+        }
+    }
+
+    /**
+     * Defines an index over the elements of the arrays found at a path.
+     *
+     * @param arrayPath path to the indexed arrays
+     * @param keyPath   relative path to the indexed value in every element
+     * @param reader    reader for the indexed value
+     * @param sorted    if range comparisons should be supported
+     */
+    public void addIndex(Path arrayPath, Path keyPath, DefinitePathReader reader, boolean sorted) {
+        IndexDefinition definition = new IndexDefinition(arrayPath, keyPath.toString(), reader, sorted);
+        while (true) {
+            State current = state.get();
+            List<IndexDefinition> indexDefinitions = new ArrayList<IndexDefinition>(current.indexDefinitions);
+            indexDefinitions.add(definition);
+            if (state.compareAndSet(current, new State(indexDefinitions, current.columnarViews, null, null))) {
+                return;
+            }
+        }
+    }
+
+    public boolean hasIndexes() {
+        return !state.get().indexDefinitions.isEmpty();
+    }
+
+    /**
+     * Returns the indexes of the given array, building the indexes of the document when they
+     * have been dropped.
+     *
+     * @param array         an array in the document
+     * @param root          the document
+     * @param configuration configuration used to read the document
+     * @return the indexes of the array, empty if it is not indexed
+     */
+    public List<ArrayIndex> indexes(Object array, Object root, Configuration configuration) {
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        State current = state.get();
+        Map<Object, List<ArrayIndex>> indexes = current.indexes;
+        if (indexes == null || current.indexProvider != jsonProvider) {
+            indexes = buildIndexes(current.indexDefinitions, root, configuration.setOptions().setEvaluationListeners());
+            // not published if the definitions or the document changed meanwhile
+            state.compareAndSet(current, new State(current.indexDefinitions, current.columnarViews, indexes, jsonProvider));
+        }
+        List<ArrayIndex> arrayIndexes = indexes.get(array);
+        return arrayIndexes == null ? Collections.<ArrayIndex>emptyList() : arrayIndexes;
+    }
+
+    private static Map<Object, List<ArrayIndex>> buildIndexes(List<IndexDefinition> indexDefinitions, Object root, Configuration configuration) {
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        Map<Object, List<ArrayIndex>> built = new IdentityHashMap<Object, List<ArrayIndex>>();
+        for (IndexDefinition definition : indexDefinitions) {
+            List<Object> arrays = new ArrayList<Object>();
+            try {
+                Object found = definition.arrayPath.evaluate(root, root, configuration).getValue(false);
+                if (definition.arrayPath.isDefinite()) {
+                    arrays.add(found);
+                } else {
+                    for (Object value : jsonProvider.toIterable(found)) {
+                        arrays.add(value);
+                    }
+                }
+            } catch (PathNotFoundException e) {
+                continue;
+            }
+            for (Object array : arrays) {
+                if (!jsonProvider.isArray(array)) {
+                    continue;
+                }
+                List<ArrayIndex> arrayIndexes = built.get(array);
+                if (arrayIndexes == null) {
+                    arrayIndexes = new ArrayList<ArrayIndex>();
+                    built.put(array, arrayIndexes);
+                }
+                arrayIndexes.add(ArrayIndex.build(array, definition.keyPath, definition.reader, definition.sorted, jsonProvider));
+            }
+        }
+        return built;
+    }
+
+    /**
+     * @return an empty cache with the same index definitions, for a copy of the document
+     */
+    public DocumentCache copyDefinitions() {
+        DocumentCache copy = new DocumentCache();
+        copy.state.set(new State(state.get().indexDefinitions, State.EMPTY.columnarViews, null, null));
+        return copy;
+    }
+
+    /**
+     * Drops everything derived from the document.
+     */
+    public void invalidate() {
+        while (true) {
+            State current = state.get();
+            if (state.compareAndSet(current, new State(current.indexDefinitions, State.EMPTY.columnarViews, null, null))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops everything derived from the document and the index definitions.
+     */
+    public void clear() {
+        state.set(State.EMPTY);
+    }
+
+    private static final class State {
+        private static final State EMPTY = new State(Collections.<IndexDefinition>emptyList(), Collections.<Object, ColumnarView>emptyMap(), null, null);
+
+        private final List<IndexDefinition> indexDefinitions;
+        private final Map<Object, ColumnarView> columnarViews;
+        private final Map<Object, List<ArrayIndex>> indexes;
+        private final JsonProvider indexProvider;
+
+        private State(List<IndexDefinition> indexDefinitions, Map<Object, ColumnarView> columnarViews, Map<Object, List<ArrayIndex>> indexes, JsonProvider indexProvider) {
+            this.indexDefinitions = indexDefinitions;
+            this.columnarViews = columnarViews;
+            this.indexes = indexes;
+            this.indexProvider = indexProvider;
+        }
+    }
+
+    private static final class IndexDefinition {
+        private final Path arrayPath;
+        private final String keyPath;
+        private final DefinitePathReader reader;
+        private final boolean sorted;
+
+        private IndexDefinition(Path arrayPath, String keyPath, DefinitePathReader reader, boolean sorted) {
+            this.arrayPath = arrayPath;
+            this.keyPath = keyPath;
+            this.reader = reader;
+            this.sorted = sorted;
+        }
+    }
+}
@@ -17,22 +17,32 @@ package com.jayway.jsonpath.internal;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.ExtendedDocumentContext;
+import com.jayway.jsonpath.ExtendedParseContext;
+import com.jayway.jsonpath.IndexType;
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.MapFunction;
 import com.jayway.jsonpath.Option;
-import com.jayway.jsonpath.ParseContext;
 import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.ReadContext;
 import com.jayway.jsonpath.TypeRef;
+import com.jayway.jsonpath.WriteBatch;
+import com.jayway.jsonpath.internal.path.DefinitePathReader;
+import com.jayway.jsonpath.internal.path.PathCompiler;
+import com.jayway.jsonpath.internal.path.Projection;
 import com.jayway.jsonpath.spi.cache.Cache;
 import com.jayway.jsonpath.spi.cache.CacheProvider;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -41,11 +51,13 @@ import static com.jayway.jsonpath.internal.Utils.notEmpty;
 import static com.jayway.jsonpath.internal.Utils.notNull;
 import static java.util.Arrays.asList;
 
-public class JsonContext implements ParseContext, DocumentContext {
+public class JsonContext implements ExtendedParseContext, ExtendedDocumentContext {
 
     private static final Logger logger = LoggerFactory.getLogger(JsonContext.class);
 
     private final Configuration configuration;
+    private final DocumentCache documentCache;
+    private final Projection projection;
     private Object json;
 
     public JsonContext() {
@@ -53,14 +65,22 @@ public class JsonContext implements ParseContext, DocumentContext {
     }
 
     public JsonContext(Configuration configuration) {
+        this(configuration, null);
+    }
+
+    private JsonContext(Configuration configuration, Projection projection) {
         notNull(configuration, "configuration can not be null");
         this.configuration = configuration;
+        this.documentCache = new DocumentCache();
+        this.projection = projection;
     }
 
-    private JsonContext(Object json, Configuration configuration) {
+    JsonContext(Object json, Configuration configuration, DocumentCache documentCache) {
         notNull(json, "json can not be null");
         notNull(configuration, "configuration can not be null");
         this.configuration = configuration;
+        this.documentCache = documentCache;
+        this.projection = null;
         this.json = json;
     }
 
@@ -73,19 +93,31 @@ public class JsonContext implements ParseContext, DocumentContext {
     public DocumentContext parse(Object json) {
         notNull(json, "json object can not be null");
         this.json = json;
+        documentCache.clear();
         return this;
     }
 
     @Override
     public DocumentContext parse(String json) {
         notEmpty(json, "json string can not be null or empty");
-        this.json = configuration.jsonProvider().parse(json);
+        this.json = parseJson(json);
+        documentCache.clear();
         return this;
     }
 
     @Override
     public DocumentContext parse(InputStream json) {
-        return parse(json, "UTF-8");
+        notNull(json, "json input stream can not be null");
+        try {
+            PushbackInputStream in = JsonEncoding.peekable(json);
+            this.json = parseJson(in, JsonEncoding.detect(in));
+            documentCache.clear();
+            return this;
+        } catch (IOException e) {
+            throw new InvalidJsonException(e);
+        } finally {
+            Utils.closeQuietly(json);
+        }
     }
 
     @Override
@@ -93,7 +125,8 @@ public class JsonContext implements ParseContext, DocumentContext {
         notNull(json, "json input stream can not be null");
         notNull(json, "charset can not be null");
         try {
-            this.json = configuration.jsonProvider().parse(json, charset);
+            this.json = parseJson(json, charset);
+            documentCache.clear();
             return this;
         } finally {
             Utils.closeQuietly(json);
@@ -103,9 +136,9 @@ public class JsonContext implements ParseContext, DocumentContext {
     @Override
     public DocumentContext parse(File json) throws IOException {
         notNull(json, "json file can not be null");
-        FileInputStream fis = null;
+        InputStream fis = null;
         try {
-            fis = new FileInputStream(json);
+            fis = MappedFileInputStream.open(json);
             parse(fis);
         } finally {
             Utils.closeQuietly(fis);
@@ -113,6 +146,30 @@ public class JsonContext implements ParseContext, DocumentContext {
         return this;
     }
 
+    @Override
+    public ExtendedParseContext project(JsonPath... paths) {
+        notNull(paths, "paths can not be null");
+        List<Path> compiled = new ArrayList<Path>(paths.length);
+        for (JsonPath path : paths) {
+            compiled.add(JsonPathAccess.compiledPath(path));
+        }
+        return new JsonContext(configuration, Projection.create(compiled));
+    }
+
+    private Object parseJson(String json) {
+        if (projection != null && configuration.jsonProvider() instanceof JsonSmartJsonProvider) {
+            return JsonSmartAccess.parse((JsonSmartJsonProvider) configuration.jsonProvider(), json, projection);
+        }
+        return configuration.jsonProvider().parse(json);
+    }
+
+    private Object parseJson(InputStream json, String charset) {
+        if (projection != null && configuration.jsonProvider() instanceof JsonSmartJsonProvider) {
+            return JsonSmartAccess.parse((JsonSmartJsonProvider) configuration.jsonProvider(), json, charset, projection);
+        }
+        return configuration.jsonProvider().parse(json, charset);
+    }
+
     @Override
     public Configuration configuration() {
         return configuration;
@@ -161,7 +218,7 @@ public class JsonContext implements ParseContext, DocumentContext {
     @Override
     public <T> T read(JsonPath path) {
         notNull(path, "path can not be null");
-        return path.read(json, configuration);
+        return JsonPathAccess.read(path, json, configuration, documentCache);
     }
 
     @Override
@@ -184,7 +241,7 @@ public class JsonContext implements ParseContext, DocumentContext {
     }
 
     public ReadContext withListeners(EvaluationListener... listener){
-        return new JsonContext(json, configuration.setEvaluationListeners(listener));
+        return new JsonContext(json, configuration.setEvaluationListeners(listener), documentCache);
     }
 
 
@@ -203,6 +260,10 @@ public class JsonContext implements ParseContext, DocumentContext {
 
     @Override
     public DocumentContext set(JsonPath path, Object newValue){
+        if (copyOnWrite()) {
+            return batch().set(path, newValue).apply();
+        }
+        documentCache.invalidate();
         List<String> modified = path.set(json, newValue, configuration.addOptions(Option.AS_PATH_LIST));
         if(logger.isDebugEnabled()){
             for (String p : modified) {
@@ -214,12 +275,15 @@ public class JsonContext implements ParseContext, DocumentContext {
 
     @Override
     public DocumentContext map(String path, MapFunction mapFunction, Predicate... filters) {
-        map(compile(path, filters), mapFunction);
-        return this;
+        return map(compile(path, filters), mapFunction);
     }
 
     @Override
     public DocumentContext map(JsonPath path, MapFunction mapFunction) {
+        if (copyOnWrite()) {
+            return batch().map(path, mapFunction).apply();
+        }
+        documentCache.invalidate();
         path.map(json, mapFunction, configuration);
         return this;
     }
@@ -231,6 +295,10 @@ public class JsonContext implements ParseContext, DocumentContext {
 
     @Override
     public DocumentContext delete(JsonPath path) {
+        if (copyOnWrite()) {
+            return batch().delete(path).apply();
+        }
+        documentCache.invalidate();
         List<String> modified = path.delete(json, configuration.addOptions(Option.AS_PATH_LIST));
         if(logger.isDebugEnabled()){
             for (String p : modified) {
@@ -247,6 +315,10 @@ public class JsonContext implements ParseContext, DocumentContext {
 
     @Override
     public DocumentContext add(JsonPath path, Object value){
+        if (copyOnWrite()) {
+            return batch().add(path, value).apply();
+        }
+        documentCache.invalidate();
         List<String> modified =  path.add(json, value, configuration.addOptions(Option.AS_PATH_LIST));
         if(logger.isDebugEnabled()){
             for (String p : modified) {
@@ -268,6 +340,10 @@ public class JsonContext implements ParseContext, DocumentContext {
 
     @Override
     public DocumentContext renameKey(JsonPath path, String oldKeyName, String newKeyName) {
+        if (copyOnWrite()) {
+            return batch().renameKey(path, oldKeyName, newKeyName).apply();
+        }
+        documentCache.invalidate();
         List<String> modified =  path.renameKey(json, oldKeyName, newKeyName, configuration.addOptions(Option.AS_PATH_LIST));
         if(logger.isDebugEnabled()){
             for (String p : modified) {
@@ -280,6 +356,10 @@ public class JsonContext implements ParseContext, DocumentContext {
 
     @Override
     public DocumentContext put(JsonPath path, String key, Object value){
+        if (copyOnWrite()) {
+            return batch().put(path, key, value).apply();
+        }
+        documentCache.invalidate();
         List<String> modified = path.put(json, key, value, configuration.addOptions(Option.AS_PATH_LIST));
         if(logger.isDebugEnabled()){
             for (String p : modified) {
@@ -289,6 +369,58 @@ public class JsonContext implements ParseContext, DocumentContext {
         return this;
     }
 
+    @Override
+    public ExtendedDocumentContext createIndex(String arrayPath, String keyPath) {
+        return createIndex(arrayPath, keyPath, IndexType.HASH);
+    }
+
+    @Override
+    public ExtendedDocumentContext createIndex(String arrayPath, String keyPath, IndexType type) {
+        notEmpty(arrayPath, "array path can not be null or empty");
+        notEmpty(keyPath, "key path can not be null or empty");
+        notNull(type, "index type can not be null");
+        String array = PathCompiler.compile(arrayPath).toString();
+        if (array.endsWith("[*]")) {
+            array = array.substring(0, array.length() - 3);
+        }
+        Path key = PathCompiler.compile(keyPath);
+        DefinitePathReader reader = key.isRootPath() ? null : DefinitePathReader.create(key);
+        if (reader == null) {
+            throw new InvalidPathException("Index key must be a relative definite path: " + keyPath);
+        }
+        documentCache.addIndex(PathCompiler.compile(array), key, reader, type == IndexType.SORTED);
+        return this;
+    }
+
+    @Override
+    public WriteBatch batch() {
+        return new WriteBatchImpl(this);
+    }
+
+    @Override
+    public ExtendedDocumentContext concurrent() {
+        notNull(json, "json can not be null");
+        return new ConcurrentJsonContext(new JsonContext(json, configuration.addOptions(Option.COPY_ON_WRITE), documentCache.copyDefinitions()));
+    }
+
+    /**
+     * Drops the structures derived from the document before it is modified.
+     */
+    void documentChanged() {
+        documentCache.invalidate();
+    }
+
+    boolean copyOnWrite() {
+        return configuration.containsOption(Option.COPY_ON_WRITE);
+    }
+
+    /**
+     * @return a context for a modified copy of the document, with the same indexes
+     */
+    DocumentContext withDocument(Object json) {
+        return new JsonContext(json, configuration, documentCache.copyDefinitions());
+    }
+
     private final class LimitingEvaluationListener implements EvaluationListener {
         final int limit;
 
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+
+/**
+ * Detects the Unicode encoding of a json byte stream from its first four bytes,
+ * see RFC 4627 section 3. Byte order marks are recognized as well.
+ */
+public final class JsonEncoding {
+
+    public static final String UTF_8 = "UTF-8";
+    public static final String UTF_16 = "UTF-16";
+    public static final String UTF_16BE = "UTF-16BE";
+    public static final String UTF_16LE = "UTF-16LE";
+    public static final String UTF_32 = "UTF-32";
+    public static final String UTF_32BE = "UTF-32BE";
+    public static final String UTF_32LE = "UTF-32LE";
+
+    private static final int PEEK_SIZE = 4;
+
+    private JsonEncoding() {
+    }
+
+    /**
+     * Wraps the given stream so that its encoding can be detected without consuming it.
+     *
+     * @param in stream to wrap
+     * @return a stream to pass to {@link #detect(PushbackInputStream)}
+     */
+    public static PushbackInputStream peekable(InputStream in) {
+        return new PushbackInputStream(in, PEEK_SIZE);
+    }
+
+    /**
+     * Detects the encoding of the given stream. The stream is left positioned at the start of
+     * the json text, except for a UTF-8 byte order mark which is skipped. UTF-16 and UTF-32
+     * byte order marks are left in place and reported as {@link #UTF_16} and {@link #UTF_32}.
+     *
+     * @param in stream created by {@link #peekable(InputStream)}
+     * @return charset name of the detected encoding, UTF-8 if the stream is too short to tell
+     * @throws IOException if the stream can not be read
+     */
+    public static String detect(PushbackInputStream in) throws IOException {
+        byte[] b = new byte[PEEK_SIZE];
+        int n = 0;
+        while (n < PEEK_SIZE) {
+            int read = in.read(b, n, PEEK_SIZE - n);
+            if (read < 0) {
+                break;
+            }
+            n += read;
+        }
+        String encoding = detect(b, n);
+        int skip = (UTF_8.equals(encoding) && n >= 3 && isUtf8Bom(b)) ? 3 : 0;
+        if (n > skip) {
+            in.unread(b, skip, n - skip);
+        }
+        return encoding;
+    }
+
+    static String detect(byte[] b, int n) {
+        if (n >= 4) {
+            if (b[0] == 0 && b[1] == 0 && (b[2] & 0xFF) == 0xFE && (b[3] & 0xFF) == 0xFF) {
+                return UTF_32;
+            } else if ((b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xFE && b[2] == 0 && b[3] == 0) {
+                return UTF_32;
+            } else if (b[0] == 0 && b[1] == 0 && b[2] == 0 && b[3] != 0) {
+                return UTF_32BE;
+            } else if (b[0] != 0 && b[1] == 0 && b[2] == 0 && b[3] == 0) {
+                return UTF_32LE;
+            }
+        }
+        if (n >= 2) {
+            if (((b[0] & 0xFF) == 0xFE && (b[1] & 0xFF) == 0xFF) || ((b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xFE)) {
+                return UTF_16;
+            } else if (b[0] == 0 && b[1] != 0) {
+                return UTF_16BE;
+            } else if (b[0] != 0 && b[1] == 0) {
+                return UTF_16LE;
+            }
+        }
+        return UTF_8;
+    }
+
+    private static boolean isUtf8Bom(byte[] b) {
+        return (b[0] & 0xFF) == 0xEF && (b[1] & 0xFF) == 0xBB && (b[2] & 0xFF) == 0xBF;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Gives the classes of this package access to the compiled path of a {@link JsonPath}, and to
+ * reads reusing a {@link DocumentCache}, without making them part of the API of {@link JsonPath}.
+ * The single instance is set by {@link JsonPath} when it is initialized.
+ */
+public abstract class JsonPathAccess {
+
+    private static volatile JsonPathAccess access;
+
+    /**
+     * Called once by {@link JsonPath}.
+     *
+     * @param jsonPathAccess the access to set
+     */
+    public static void set(JsonPathAccess jsonPathAccess) {
+        if (access != null) {
+            throw new IllegalStateException("JsonPath access is already set");
+        }
+        access = jsonPathAccess;
+    }
+
+    static Path compiledPath(JsonPath path) {
+        return access.getCompiledPath(path);
+    }
+
+    static <T> T read(JsonPath path, Object jsonObject, Configuration configuration, DocumentCache documentCache) {
+        return access.<T>readCached(path, jsonObject, configuration, documentCache);
+    }
+
+    protected abstract Path getCompiledPath(JsonPath path);
+
+    protected abstract <T> T readCached(JsonPath path, Object jsonObject, Configuration configuration, DocumentCache documentCache);
+}
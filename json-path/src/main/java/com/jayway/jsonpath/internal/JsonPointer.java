@@ -0,0 +1,180 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.InvalidPathException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A JSON Pointer (RFC 6901), like <code>/store/book/0</code>, compiled into its reference tokens.
+ */
+public final class JsonPointer {
+
+    public static final JsonPointer ROOT = new JsonPointer(new String[0]);
+
+    private final String[] tokens;
+
+    private JsonPointer(String[] tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Compiles a pointer.
+     *
+     * @param pointer the pointer, the empty string for the whole document
+     * @return the compiled pointer
+     * @throws InvalidPathException if the pointer is not valid
+     */
+    public static JsonPointer compile(String pointer) {
+        Utils.notNull(pointer, "pointer can not be null");
+        if (pointer.length() == 0) {
+            return ROOT;
+        }
+        if (pointer.charAt(0) != '/') {
+            throw new InvalidPathException("JSON pointer must start with '/': " + pointer);
+        }
+        List<String> tokens = new ArrayList<String>();
+        int start = 1;
+        while (true) {
+            int end = pointer.indexOf('/', start);
+            tokens.add(unescape(pointer.substring(start, end < 0 ? pointer.length() : end), pointer));
+            if (end < 0) {
+                break;
+            }
+            start = end + 1;
+        }
+        return new JsonPointer(tokens.toArray(new String[tokens.size()]));
+    }
+
+    private static String unescape(String token, String pointer) {
+        if (token.indexOf('~') < 0) {
+            return token;
+        }
+        StringBuilder sb = new StringBuilder(token.length());
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '~') {
+                char next = i + 1 < token.length() ? token.charAt(++i) : ' ';
+                if (next == '0') {
+                    sb.append('~');
+                } else if (next == '1') {
+                    sb.append('/');
+                } else {
+                    throw new InvalidPathException("Invalid escape in JSON pointer: " + pointer);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String escape(String token) {
+        if (token.indexOf('~') < 0 && token.indexOf('/') < 0) {
+            return token;
+        }
+        return token.replace("~", "~0").replace("/", "~1");
+    }
+
+    /**
+     * Reads a reference token as an array index.
+     *
+     * @param token   the token
+     * @param length  length of the array
+     * @param allowEnd if <code>-</code>, or the length, may be used to point past the last element
+     * @return the index or -1 if the token does not point to an element of the array
+     */
+    public static int arrayIndex(String token, int length, boolean allowEnd) {
+        if ("-".equals(token)) {
+            return allowEnd ? length : -1;
+        }
+        int len = token.length();
+        if (len == 0 || len > 10 || (len > 1 && token.charAt(0) == '0')) {
+            return -1;
+        }
+        long index = 0;
+        for (int i = 0; i < len; i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index < length || (allowEnd && index == length) ? (int) index : -1;
+    }
+
+    public boolean isRoot() {
+        return tokens.length == 0;
+    }
+
+    public int size() {
+        return tokens.length;
+    }
+
+    public String token(int index) {
+        return tokens[index];
+    }
+
+    public String last() {
+        return tokens[tokens.length - 1];
+    }
+
+    public JsonPointer append(String token) {
+        String[] appended = Arrays.copyOf(tokens, tokens.length + 1);
+        appended[tokens.length] = token;
+        return new JsonPointer(appended);
+    }
+
+    public JsonPointer append(int index) {
+        return append(String.valueOf(index));
+    }
+
+    /**
+     * @return true if the other pointer points inside the value this pointer points to
+     */
+    public boolean isProperPrefixOf(JsonPointer other) {
+        if (other.tokens.length <= tokens.length) {
+            return false;
+        }
+        for (int i = 0; i < tokens.length; i++) {
+            if (!tokens[i].equals(other.tokens[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof JsonPointer && Arrays.equals(tokens, ((JsonPointer) o).tokens));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(tokens);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (String token : tokens) {
+            sb.append('/').append(escape(token));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.internal.path.Projection;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Gives the library access to the projected and streaming parsing of {@link JsonSmartJsonProvider}
+ * without making {@link Projection} part of the API of the provider. The single instance is set by
+ * {@link JsonSmartJsonProvider} when it is initialized.
+ */
+public abstract class JsonSmartAccess {
+
+    /**
+     * Receives the elements of a streamed array
+     */
+    public interface ElementHandler {
+
+        /**
+         * @param index   index of the element in the array
+         * @param element the element
+         */
+        void element(long index, Object element);
+    }
+
+    private static volatile JsonSmartAccess access;
+
+    /**
+     * Called once by {@link JsonSmartJsonProvider}.
+     *
+     * @param jsonSmartAccess the access to set
+     */
+    public static void set(JsonSmartAccess jsonSmartAccess) {
+        if (access != null) {
+            throw new IllegalStateException("JsonSmart access is already set");
+        }
+        access = jsonSmartAccess;
+    }
+
+    /**
+     * Parses a document, building only the parts in the given projection
+     *
+     * @param jsonProvider the provider to parse with
+     * @param json         the document
+     * @param projection   the parts of the document to build
+     * @return the partial document
+     */
+    public static Object parse(JsonSmartJsonProvider jsonProvider, String json, Projection projection) {
+        return access.parseProjected(jsonProvider, json, projection);
+    }
+
+    /**
+     * Parses a document, building only the parts in the given projection
+     *
+     * @param jsonProvider the provider to parse with
+     * @param jsonStream   the document
+     * @param charset      charset of the stream
+     * @param projection   the parts of the document to build
+     * @return the partial document
+     */
+    public static Object parse(JsonSmartJsonProvider jsonProvider, InputStream jsonStream, String charset, Projection projection) {
+        return access.parseProjected(jsonProvider, jsonStream, charset, projection);
+    }
+
+    /**
+     * Parses a document and hands the elements of one array in it to a handler as soon as each
+     * element is parsed. Neither the array nor anything outside of it is built, so memory use
+     * does not grow with the size of the array.
+     *
+     * @param jsonProvider      the provider to parse with
+     * @param jsonStream        the document
+     * @param charset           charset of the stream
+     * @param arrayPath         the properties leading to the array, empty for a document that is an array
+     * @param elementProjection the parts of the elements to build
+     * @param handler           receives the elements
+     * @return false if the document has no array at the given location
+     */
+    public static boolean parseElements(JsonSmartJsonProvider jsonProvider, InputStream jsonStream, String charset, List<String> arrayPath, Projection elementProjection, ElementHandler handler) {
+        return access.streamElements(jsonProvider, jsonStream, charset, arrayPath, elementProjection, handler);
+    }
+
+    protected abstract Object parseProjected(JsonSmartJsonProvider jsonProvider, String json, Projection projection);
+
+    protected abstract Object parseProjected(JsonSmartJsonProvider jsonProvider, InputStream jsonStream, String charset, Projection projection);
+
+    protected abstract boolean streamElements(JsonSmartJsonProvider jsonProvider, InputStream jsonStream, String charset, List<String> arrayPath, Projection elementProjection, ElementHandler handler);
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An InputStream over a memory mapped file. The file is mapped region by region as the
+ * stream advances, so files larger than 2 GB can be read and only the pages that are
+ * actually read are loaded. Bytes are copied straight from the mapping into the reader's
+ * buffer, there is no intermediate stream buffer.
+ * <p>
+ * The stream holds on to one region at a time and drops it as soon as it has been consumed
+ * or skipped and when the stream is closed. Java has no API to unmap a region, it is
+ * unmapped when the garbage collector reclaims it.
+ */
+public final class MappedFileInputStream extends InputStream {
+
+    /**
+     * Files smaller than this are read with a FileInputStream, setting up a mapping costs more
+     * than it saves for them.
+     */
+    public static final long MAPPING_THRESHOLD = 1024 * 1024;
+
+    static final long REGION_SIZE = 64L * 1024 * 1024;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long size;
+    private final long regionSize;
+    private long regionEnd;
+    private ByteBuffer region;
+
+    MappedFileInputStream(File file, long regionSize) throws IOException {
+        this.file = new RandomAccessFile(file, "r");
+        this.channel = this.file.getChannel();
+        this.size = channel.size();
+        this.regionSize = regionSize;
+        this.regionEnd = 0;
+    }
+
+    /**
+     * Opens the given file for reading, memory mapped if it is at least {@link #MAPPING_THRESHOLD} bytes.
+     *
+     * @param file file to open
+     * @return stream over the file content
+     * @throws IOException if the file can not be opened
+     */
+    public static InputStream open(File file) throws IOException {
+        if (file.length() >= MAPPING_THRESHOLD) {
+            return new MappedFileInputStream(file, REGION_SIZE);
+        }
+        return new FileInputStream(file);
+    }
+
+    /**
+     * @return the region currently mapped, null if none is
+     */
+    ByteBuffer region() {
+        return region;
+    }
+
+    private boolean ensureRemaining() throws IOException {
+        if (region != null && region.hasRemaining()) {
+            return true;
+        }
+        region = null;
+        if (regionEnd >= size) {
+            return false;
+        }
+        long start = regionEnd;
+        long length = Math.min(regionSize, size - start);
+        region = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        regionEnd = start + length;
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureRemaining()) {
+            return -1;
+        }
+        return region.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureRemaining()) {
+            return -1;
+        }
+        int n = Math.min(len, region.remaining());
+        region.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        long position = position();
+        long skipped = Math.min(n, size - position);
+        if (region != null && skipped < region.remaining()) {
+            region.position(region.position() + (int) skipped);
+        } else {
+            // continue mapping from the new position
+            region = null;
+            regionEnd = position + skipped;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(Integer.MAX_VALUE, size - position());
+    }
+
+    private long position() {
+        return region == null ? regionEnd : regionEnd - region.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        region = null;
+        file.close();
+    }
+}
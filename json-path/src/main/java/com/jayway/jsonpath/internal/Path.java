@@ -43,6 +43,17 @@ public interface Path {
      */
     EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, boolean forUpdate);
 
+    /**
+     * Evaluates this path for reading
+     *
+     * @param document the json document to apply the path on
+     * @param rootDocument the root json document that started this evaluation
+     * @param configuration configuration to use
+     * @param documentCache structures derived from the root document that may be reused, may be null
+     * @return EvaluationContext containing results of evaluation
+     */
+    EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, DocumentCache documentCache);
+
     /**
      *
      * @return true id this path is definite
@@ -7,10 +7,12 @@ import com.jayway.jsonpath.PathNotFoundException;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 public abstract class PathRef implements Comparable<PathRef>  {
 
-    public static final PathRef NO_OP = new PathRef(null){
+    public static final PathRef NO_OP = new PathRef(null, null){
         @Override
         public Object getAccessor() {
             return null;
@@ -34,17 +36,38 @@ public abstract class PathRef implements Comparable<PathRef>  {
         @Override
         public void renameKey(String oldKeyName, String newKeyName, Configuration configuration) {}
 
+        @Override
+        PathRef withParent(Object parent) {
+            return this;
+        }
+
+        @Override
+        Object target(Configuration configuration) {
+            return JsonProvider.UNDEFINED;
+        }
     };
 
     protected Object parent;
 
+    /**
+     * Reference to the location of {@link #parent}, null if unknown.
+     */
+    final PathRef parentRef;
 
-    private PathRef(Object parent) {
+    private PathRef(Object parent, PathRef parentRef) {
         this.parent = parent;
+        this.parentRef = parentRef;
     }
 
     abstract Object getAccessor();
 
+    /**
+     * @return the index of the referenced array element, or -1 if this does not reference an array element
+     */
+    int arrayIndex() {
+        return -1;
+    }
+
     public abstract void set(Object newVal, Configuration configuration);
 
     public abstract void convert(MapFunction mapFunction, Configuration configuration);
@@ -57,6 +80,20 @@ public abstract class PathRef implements Comparable<PathRef>  {
 
     public abstract void renameKey(String oldKey,String newKeyName, Configuration configuration);
 
+    /**
+     * @return a reference to the same location in the given copy of the parent
+     */
+    abstract PathRef withParent(Object parent);
+
+    /**
+     * @return the referenced value, or {@link JsonProvider#UNDEFINED} if this does not reference a single value
+     */
+    abstract Object target(Configuration configuration);
+
+    boolean isRoot() {
+        return false;
+    }
+
     protected void renameInMap(Object targetMap, String oldKeyName, String newKeyName, Configuration configuration){
         if(configuration.jsonProvider().isMap(targetMap)){
             if(configuration.jsonProvider().getMapValue(targetMap, oldKeyName) == JsonProvider.UNDEFINED){
@@ -73,21 +110,62 @@ public abstract class PathRef implements Comparable<PathRef>  {
         return target == JsonProvider.UNDEFINED || target == null;
     }
 
+    /**
+     * Orders references for updating them one after the other. Array elements come after all
+     * other references, from the highest index down, so that deleting one does not move the
+     * elements of the same array that follow. Other references are equal in this order, sorting
+     * keeps them in the order they were found in.
+     */
     @Override
     public int compareTo(PathRef o) {
-        return this.getAccessor().toString().compareTo(o.getAccessor().toString()) * -1;
+        int index = arrayIndex();
+        int otherIndex = o.arrayIndex();
+        if (index < 0 || otherIndex < 0) {
+            return index < 0 ? (otherIndex < 0 ? 0 : -1) : 1;
+        }
+        return index > otherIndex ? -1 : (index == otherIndex ? 0 : 1);
+    }
+
+    /**
+     * Sorts references for updating them one after the other, see {@link #compareTo(PathRef)}.
+     * References are left as they are unless they include several array elements.
+     *
+     * @param refs the references to sort
+     */
+    public static void sort(List<PathRef> refs) {
+        int arrayElements = 0;
+        for (int i = 0; i < refs.size() && arrayElements < 2; i++) {
+            if (refs.get(i).arrayIndex() >= 0) {
+                arrayElements++;
+            }
+        }
+        if (arrayElements > 1) {
+            Collections.sort(refs);
+        }
     }
 
     public static PathRef create(Object obj, String property){
-        return new ObjectPropertyPathRef(obj, property);
+        return create(obj, property, null);
     }
 
     public static PathRef create(Object obj, Collection<String> properties){
-        return new ObjectMultiPropertyPathRef(obj, properties);
+        return create(obj, properties, null);
     }
 
     public static PathRef create(Object array, int index){
-        return new ArrayIndexPathRef(array, index);
+        return create(array, index, null);
+    }
+
+    public static PathRef create(Object obj, String property, PathRef parentRef){
+        return new ObjectPropertyPathRef(obj, property, parentRef);
+    }
+
+    public static PathRef create(Object obj, Collection<String> properties, PathRef parentRef){
+        return new ObjectMultiPropertyPathRef(obj, properties, parentRef);
+    }
+
+    public static PathRef create(Object array, int index, PathRef parentRef){
+        return new ArrayIndexPathRef(array, index, parentRef);
     }
 
     public static PathRef createRoot(Object root){
@@ -97,7 +175,22 @@ public abstract class PathRef implements Comparable<PathRef>  {
     private static class RootPathRef extends PathRef {
 
         private RootPathRef(Object parent) {
-            super(parent);
+            super(parent, null);
+        }
+
+        @Override
+        PathRef withParent(Object parent) {
+            return new RootPathRef(parent);
+        }
+
+        @Override
+        Object target(Configuration configuration) {
+            return parent;
+        }
+
+        @Override
+        boolean isRoot() {
+            return true;
         }
 
         @Override
@@ -152,11 +245,21 @@ public abstract class PathRef implements Comparable<PathRef>  {
 
         private int index;
 
-        private ArrayIndexPathRef(Object parent, int index) {
-            super(parent);
+        private ArrayIndexPathRef(Object parent, int index, PathRef parentRef) {
+            super(parent, parentRef);
             this.index = index;
         }
 
+        @Override
+        PathRef withParent(Object parent) {
+            return new ArrayIndexPathRef(parent, index, parentRef);
+        }
+
+        @Override
+        Object target(Configuration configuration) {
+            return configuration.jsonProvider().getArrayIndex(parent, index);
+        }
+
         public void set(Object newVal, Configuration configuration){
             configuration.jsonProvider().setArrayIndex(parent, index, newVal);
         }
@@ -209,12 +312,8 @@ public abstract class PathRef implements Comparable<PathRef>  {
         }
 
         @Override
-        public int compareTo(PathRef o) {
-            if(o instanceof ArrayIndexPathRef){
-                ArrayIndexPathRef pf = (ArrayIndexPathRef) o;
-                return Integer.valueOf(pf.index).compareTo(this.index);
-            }
-            return super.compareTo(o);
+        int arrayIndex() {
+            return index;
         }
     }
 
@@ -222,11 +321,21 @@ public abstract class PathRef implements Comparable<PathRef>  {
 
         private String property;
 
-        private ObjectPropertyPathRef(Object parent, String property) {
-            super(parent);
+        private ObjectPropertyPathRef(Object parent, String property, PathRef parentRef) {
+            super(parent, parentRef);
             this.property = property;
         }
 
+        @Override
+        PathRef withParent(Object parent) {
+            return new ObjectPropertyPathRef(parent, property, parentRef);
+        }
+
+        @Override
+        Object target(Configuration configuration) {
+            return configuration.jsonProvider().getMapValue(parent, property);
+        }
+
         public void set(Object newVal, Configuration configuration){
             configuration.jsonProvider().setProperty(parent, property, newVal);
         }
@@ -285,11 +394,21 @@ public abstract class PathRef implements Comparable<PathRef>  {
 
         private Collection<String> properties;
 
-        private ObjectMultiPropertyPathRef(Object parent, Collection<String> properties) {
-            super(parent);
+        private ObjectMultiPropertyPathRef(Object parent, Collection<String> properties, PathRef parentRef) {
+            super(parent, parentRef);
             this.properties = properties;
         }
 
+        @Override
+        PathRef withParent(Object parent) {
+            return new ObjectMultiPropertyPathRef(parent, properties, parentRef);
+        }
+
+        @Override
+        Object target(Configuration configuration) {
+            return JsonProvider.UNDEFINED;
+        }
+
         public void set(Object newVal, Configuration configuration){
             for (String property : properties) {
                 configuration.jsonProvider().setProperty(parent, property, newVal);
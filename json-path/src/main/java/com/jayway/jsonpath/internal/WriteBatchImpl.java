@@ -0,0 +1,261 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.MapFunction;
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.jayway.jsonpath.JsonPath.compile;
+import static com.jayway.jsonpath.internal.Utils.notEmpty;
+import static com.jayway.jsonpath.internal.Utils.notNull;
+
+/**
+ * Collects modifications of a {@link JsonContext} and applies them together. Every distinct path
+ * of the batch is resolved once against the unmodified document, then all modifications are made,
+ * to a copy of the document when the context copies on write.
+ */
+class WriteBatchImpl implements WriteBatch {
+
+    private final JsonContext context;
+    private final Map<String, JsonPath> compiled = new HashMap<String, JsonPath>();
+    private final List<Operation> operations = new ArrayList<Operation>();
+
+    WriteBatchImpl(JsonContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public WriteBatch set(String path, Object newValue, Predicate... filters) {
+        return set(path(path, filters), newValue);
+    }
+
+    @Override
+    public WriteBatch set(JsonPath path, final Object newValue) {
+        return add(new Operation(path) {
+            @Override
+            void apply(PathRef ref, Configuration configuration) {
+                ref.set(newValue, configuration);
+            }
+        });
+    }
+
+    @Override
+    public WriteBatch map(String path, MapFunction mapFunction, Predicate... filters) {
+        return map(path(path, filters), mapFunction);
+    }
+
+    @Override
+    public WriteBatch map(JsonPath path, final MapFunction mapFunction) {
+        notNull(mapFunction, "mapFunction can not be null");
+        return add(new Operation(path) {
+            @Override
+            void apply(PathRef ref, Configuration configuration) {
+                ref.convert(mapFunction, configuration);
+            }
+        });
+    }
+
+    @Override
+    public WriteBatch delete(String path, Predicate... filters) {
+        return delete(path(path, filters));
+    }
+
+    @Override
+    public WriteBatch delete(JsonPath path) {
+        return add(new Operation(path) {
+            @Override
+            boolean isDelete() {
+                return true;
+            }
+
+            @Override
+            void apply(PathRef ref, Configuration configuration) {
+                ref.delete(configuration);
+            }
+        });
+    }
+
+    @Override
+    public WriteBatch add(String path, Object value, Predicate... filters) {
+        return add(path(path, filters), value);
+    }
+
+    @Override
+    public WriteBatch add(JsonPath path, final Object value) {
+        return add(new Operation(path) {
+            @Override
+            boolean modifiesTarget() {
+                return true;
+            }
+
+            @Override
+            void apply(PathRef ref, Configuration configuration) {
+                ref.add(value, configuration);
+            }
+        });
+    }
+
+    @Override
+    public WriteBatch put(String path, String key, Object value, Predicate... filters) {
+        return put(path(path, filters), key, value);
+    }
+
+    @Override
+    public WriteBatch put(JsonPath path, final String key, final Object value) {
+        notEmpty(key, "key can not be null or empty");
+        return add(new Operation(path) {
+            @Override
+            boolean modifiesTarget() {
+                return true;
+            }
+
+            @Override
+            void apply(PathRef ref, Configuration configuration) {
+                ref.put(key, value, configuration);
+            }
+        });
+    }
+
+    @Override
+    public WriteBatch renameKey(String path, String oldKeyName, String newKeyName, Predicate... filters) {
+        return renameKey(path(path, filters), oldKeyName, newKeyName);
+    }
+
+    @Override
+    public WriteBatch renameKey(JsonPath path, final String oldKeyName, final String newKeyName) {
+        notEmpty(newKeyName, "newKeyName can not be null or empty");
+        return add(new Operation(path) {
+            @Override
+            boolean modifiesTarget() {
+                return true;
+            }
+
+            @Override
+            void apply(PathRef ref, Configuration configuration) {
+                ref.renameKey(oldKeyName, newKeyName, configuration);
+            }
+        });
+    }
+
+    @Override
+    public DocumentContext apply() {
+        return applyTo(context);
+    }
+
+    /**
+     * Applies the modifications to the document of the given context.
+     *
+     * @param context the context to modify
+     * @return the modified context
+     */
+    DocumentContext applyTo(JsonContext context) {
+        Configuration configuration = context.configuration();
+        Object json = context.json();
+        Map<JsonPath, Collection<PathRef>> targets = new IdentityHashMap<JsonPath, Collection<PathRef>>();
+        for (Operation operation : operations) {
+            if (!targets.containsKey(operation.path)) {
+                targets.put(operation.path, JsonPathAccess.compiledPath(operation.path).evaluate(json, json, configuration, true).updateOperations());
+            }
+        }
+        CopyOnWrite copy = context.copyOnWrite() ? new CopyOnWrite(json, configuration) : null;
+        if (copy == null) {
+            context.documentChanged();
+        }
+
+        // all locations are prepared before modifying anything, copies are linked by index
+        List<Operation> updates = new ArrayList<Operation>();
+        List<PathRef> updateRefs = new ArrayList<PathRef>();
+        List<PathRef> arrayDeletes = new ArrayList<PathRef>();
+        for (Operation operation : operations) {
+            for (PathRef ref : targets.get(operation.path)) {
+                if (operation.isDelete() && ref.arrayIndex() >= 0) {
+                    arrayDeletes.add(ref);
+                } else {
+                    updates.add(operation);
+                    updateRefs.add(copy == null ? ref : copy.prepare(ref, operation.modifiesTarget()));
+                }
+            }
+        }
+        Collections.sort(arrayDeletes);
+        Map<Object, Integer> lastDeleted = new IdentityHashMap<Object, Integer>();
+        List<PathRef> deleteRefs = new ArrayList<PathRef>();
+        for (PathRef ref : arrayDeletes) {
+            Integer last = lastDeleted.put(ref.parent, ref.arrayIndex());
+            if (last != null && last == ref.arrayIndex()) {
+                // the same element is targeted by more than one path
+                continue;
+            }
+            deleteRefs.add(copy == null ? ref : copy.prepare(ref, false));
+        }
+
+        for (int i = 0; i < updates.size(); i++) {
+            updates.get(i).apply(updateRefs.get(i), configuration);
+        }
+        for (PathRef ref : deleteRefs) {
+            ref.delete(configuration);
+        }
+        operations.clear();
+        return copy == null ? context : context.withDocument(copy.root());
+    }
+
+    private JsonPath path(String path, Predicate... filters) {
+        notEmpty(path, "path can not be null or empty");
+        if (filters.length > 0) {
+            return compile(path, filters);
+        }
+        JsonPath jsonPath = compiled.get(path);
+        if (jsonPath == null) {
+            jsonPath = compile(path);
+            compiled.put(path, jsonPath);
+        }
+        return jsonPath;
+    }
+
+    private WriteBatch add(Operation operation) {
+        operations.add(operation);
+        return this;
+    }
+
+    private abstract static class Operation {
+        private final JsonPath path;
+
+        private Operation(JsonPath path) {
+            notNull(path, "path can not be null");
+            this.path = path;
+        }
+
+        boolean isDelete() {
+            return false;
+        }
+
+        boolean modifiesTarget() {
+            return false;
+        }
+
+        abstract void apply(PathRef ref, Configuration configuration);
+    }
+}
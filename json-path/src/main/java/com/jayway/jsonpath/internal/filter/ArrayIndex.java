@@ -0,0 +1,483 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.path.DefinitePathReader;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index over the elements of one array on the value of a relative path, like <code>@.id</code>.
+ *
+ * A hash index answers <code>==</code> and <code>in</code> comparisons of the indexed path with
+ * literals, a sorted index also answers <code>&lt;</code>, <code>&lt;=</code>, <code>&gt;</code>
+ * and <code>&gt;=</code>. Lookups give the same elements as comparing element by element: string
+ * and number values are matched with the equality used by filters, elements where the path is
+ * missing or holds an object or array never match.
+ *
+ * An index is a snapshot of the array, it must be dropped when the array or its elements change.
+ */
+public final class ArrayIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private static final Comparator<Entry<ValueNode.NumberNode>> NUMBER_ORDER = new Comparator<Entry<ValueNode.NumberNode>>() {
+        @Override
+        public int compare(Entry<ValueNode.NumberNode> e1, Entry<ValueNode.NumberNode> e2) {
+            return e1.value.compareTo(e2.value);
+        }
+    };
+
+    private static final Comparator<Entry<String>> STRING_ORDER = new Comparator<Entry<String>>() {
+        @Override
+        public int compare(Entry<String> e1, Entry<String> e2) {
+            return e1.value.compareTo(e2.value);
+        }
+    };
+
+    private final String keyPath;
+    private final int size;
+    private final Map<String, int[]> strings = new HashMap<String, int[]>();
+    private final Map<Object, int[]> numbers = new HashMap<Object, int[]>();
+    private int[] trues = NONE;
+    private int[] falses = NONE;
+    private int[] nulls = NONE;
+    private List<Entry<ValueNode.NumberNode>> sortedNumbers;
+    private List<Entry<String>> sortedStrings;
+
+    private ArrayIndex(String keyPath, int size) {
+        this.keyPath = keyPath;
+        this.size = size;
+    }
+
+    /**
+     * Indexes the elements of the given array.
+     *
+     * @param array        the array
+     * @param keyPath      the indexed path, as returned by <code>toString()</code> of the compiled path
+     * @param reader       reader for the indexed path
+     * @param sorted       if range comparisons should be supported
+     * @param jsonProvider provider used to read the array and its elements
+     * @return the index
+     */
+    public static ArrayIndex build(Object array, String keyPath, DefinitePathReader reader, boolean sorted, JsonProvider jsonProvider) {
+        int size = 0;
+        Map<String, Positions> strings = new HashMap<String, Positions>();
+        Map<Object, Positions> numbers = new HashMap<Object, Positions>();
+        Positions trues = new Positions();
+        Positions falses = new Positions();
+        Positions nulls = new Positions();
+        List<Entry<ValueNode.NumberNode>> sortedNumbers = sorted ? new ArrayList<Entry<ValueNode.NumberNode>>() : null;
+        List<Entry<String>> sortedStrings = sorted ? new ArrayList<Entry<String>>() : null;
+        for (Object row : jsonProvider.toIterable(array)) {
+            int i = size++;
+            Object value = reader.read(row, jsonProvider, false);
+            if (value == JsonProvider.UNDEFINED) {
+                continue;
+            }
+            value = jsonProvider.unwrap(value);
+            if (value == null) {
+                nulls.add(i);
+            } else if (value instanceof String) {
+                // keyed like filters read the value, they drop surrounding quotes
+                String string = ValueNode.createStringNode((String) value, false).getString();
+                positions(strings, string).add(i);
+                if (sorted) {
+                    sortedStrings.add(new Entry<String>(string, i));
+                }
+            } else if (value instanceof Boolean) {
+                ((Boolean) value ? trues : falses).add(i);
+            } else if (value instanceof Number && !isNaNOrInfinite((Number) value)) {
+                ValueNode.NumberNode number = ValueNode.createNumberNode((Number) value);
+                positions(numbers, numberKey(number)).add(i);
+                if (sorted) {
+                    sortedNumbers.add(new Entry<ValueNode.NumberNode>(number, i));
+                }
+            }
+        }
+        ArrayIndex index = new ArrayIndex(keyPath, size);
+        for (Map.Entry<String, Positions> entry : strings.entrySet()) {
+            index.strings.put(entry.getKey(), entry.getValue().toArray());
+        }
+        for (Map.Entry<Object, Positions> entry : numbers.entrySet()) {
+            index.numbers.put(entry.getKey(), entry.getValue().toArray());
+        }
+        index.trues = trues.toArray();
+        index.falses = falses.toArray();
+        index.nulls = nulls.toArray();
+        if (sorted) {
+            Collections.sort(sortedNumbers, NUMBER_ORDER);
+            Collections.sort(sortedStrings, STRING_ORDER);
+            index.sortedNumbers = sortedNumbers;
+            index.sortedStrings = sortedStrings;
+        }
+        return index;
+    }
+
+    private static boolean isNaNOrInfinite(Number value) {
+        if (value instanceof Double) {
+            return ((Double) value).isNaN() || ((Double) value).isInfinite();
+        } else if (value instanceof Float) {
+            return ((Float) value).isNaN() || ((Float) value).isInfinite();
+        }
+        return false;
+    }
+
+    private static <K> Positions positions(Map<K, Positions> map, Object key) {
+        @SuppressWarnings("unchecked")
+        K k = (K) key;
+        Positions positions = map.get(k);
+        if (positions == null) {
+            positions = new Positions();
+            map.put(k, positions);
+        }
+        return positions;
+    }
+
+    /**
+     * Hash key of a number, numbers that compare equal have equal keys.
+     */
+    private static Object numberKey(ValueNode.NumberNode number) {
+        switch (number.lookupKeyKind()) {
+            case ValueNode.NumberNode.LONG_KEY:
+                return number.longKey();
+            case ValueNode.NumberNode.DOUBLE_KEY:
+                return number.doubleKey();
+            default:
+                return number.decimalKey();
+        }
+    }
+
+    public String keyPath() {
+        return keyPath;
+    }
+
+    /**
+     * Returns the length of the array when it was indexed.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the elements that can match all the given predicates using the given indexes of one
+     * array, intersecting the lookups of all comparisons that must hold. Every element matching
+     * the predicates is returned, elements not ruled out by the indexes are returned as well and
+     * must still be tested against the predicates.
+     *
+     * @param indexes    indexes of one array
+     * @param predicates predicates that must all match
+     * @param ctx        context used to read literals of the predicates
+     * @return candidate element indexes in ascending order, or null if no index applies
+     */
+    public static int[] candidates(List<ArrayIndex> indexes, Collection<Predicate> predicates, Predicate.PredicateContext ctx) {
+        int[] best = null;
+        Range[] ranges = new Range[indexes.size()];
+        for (Predicate predicate : predicates) {
+            ExpressionNode expression = FilterCompiler.expressionOf(predicate);
+            if (expression == null) {
+                continue;
+            }
+            List<ExpressionNode> conjuncts;
+            if (expression instanceof LogicalExpressionNode && ((LogicalExpressionNode) expression).getOperator() == LogicalOperator.AND) {
+                conjuncts = ((LogicalExpressionNode) expression).operands();
+            } else {
+                conjuncts = Collections.singletonList(expression);
+            }
+            for (ExpressionNode conjunct : conjuncts) {
+                if (!(conjunct instanceof RelationalExpressionNode)) {
+                    continue;
+                }
+                for (int i = 0; i < ranges.length; i++) {
+                    ArrayIndex index = indexes.get(i);
+                    int[] positions = index.lookup((RelationalExpressionNode) conjunct, ctx);
+                    if (positions != null) {
+                        best = best == null ? positions : intersection(best, positions);
+                        break;
+                    }
+                    Range range = index.range((RelationalExpressionNode) conjunct);
+                    if (range != null) {
+                        ranges[i] = ranges[i] == null ? range : ranges[i].and(range);
+                        break;
+                    }
+                }
+            }
+        }
+        // ranges are only materialized when they narrow the candidates down
+        for (int i = 0; i < ranges.length; i++) {
+            Range range = ranges[i];
+            if (range != null && (best == null || range.size() < best.length)) {
+                int[] positions = indexes.get(i).positions(range);
+                best = best == null ? positions : intersection(best, positions);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the elements for which the given comparison is true, or null if this index can not answer it.
+     */
+    int[] lookup(RelationalExpressionNode expression, Predicate.PredicateContext ctx) {
+        ValueNode.PathNode path = indexedPath(expression);
+        if (path == null) {
+            return null;
+        }
+        boolean pathOnLeft = expression.left() == path;
+        ValueNode literal = pathOnLeft ? expression.right() : expression.left();
+        switch (expression.operator()) {
+            case EQ:
+                return pathOnLeft ? equalTo(literal) : null;
+            case IN:
+                if (!pathOnLeft) {
+                    return null;
+                } else if (literal.isJsonNode()) {
+                    ValueNode values = literal.asJsonNode().asValueListNode(ctx);
+                    return values.isUndefinedNode() ? NONE : in(values.asValueListNode());
+                }
+                return literal.isValueListNode() ? in(literal.asValueListNode()) : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the entries of a sorted index for which the given comparison is true, or null if
+     * this index can not answer it.
+     */
+    Range range(RelationalExpressionNode expression) {
+        ValueNode.PathNode path = indexedPath(expression);
+        if (path == null || sortedNumbers == null) {
+            return null;
+        }
+        boolean pathOnLeft = expression.left() == path;
+        ValueNode literal = pathOnLeft ? expression.right() : expression.left();
+        RelationalOperator operator = expression.operator();
+        switch (operator) {
+            case LT:
+            case LTE:
+            case GT:
+            case GTE:
+                operator = pathOnLeft ? operator : mirror(operator);
+                break;
+            default:
+                return null;
+        }
+        if (literal.isNumberNode() && literal.asNumberNode() != ValueNode.NumberNode.NAN) {
+            int[] bounds = bounds(sortedNumbers, new Entry<ValueNode.NumberNode>(literal.asNumberNode(), -1), NUMBER_ORDER, operator);
+            return new Range(bounds[0], bounds[1], 0, 0);
+        } else if (literal.isStringNode()) {
+            int[] bounds = bounds(sortedStrings, new Entry<String>(literal.asStringNode().getString(), -1), STRING_ORDER, operator);
+            return new Range(0, 0, bounds[0], bounds[1]);
+        }
+        return new Range(0, 0, 0, 0);
+    }
+
+    private ValueNode.PathNode indexedPath(RelationalExpressionNode expression) {
+        ValueNode left = expression.left();
+        ValueNode right = expression.right();
+        if (left.isPathNode() == right.isPathNode()) {
+            return null;
+        }
+        ValueNode.PathNode path = left.isPathNode() ? left.asPathNode() : right.asPathNode();
+        if (path.isExistsCheck() || path.getPath().isRootPath() || !keyPath.equals(path.getPath().toString())) {
+            return null;
+        }
+        return path;
+    }
+
+    private int[] equalTo(ValueNode literal) {
+        if (literal.isStringNode()) {
+            ValueNode.StringNode string = literal.asStringNode();
+            ValueNode.NumberNode number = string.asNumberNode();
+            return union(get(strings, string.getString()), number == ValueNode.NumberNode.NAN ? NONE : get(numbers, numberKey(number)));
+        } else if (literal.isNumberNode()) {
+            ValueNode.NumberNode number = literal.asNumberNode();
+            if (number == ValueNode.NumberNode.NAN) {
+                return NONE;
+            }
+            return union(get(strings, number.toString()), get(numbers, numberKey(number)));
+        } else if (literal.isBooleanNode()) {
+            return literal.asBooleanNode().getBoolean() ? trues : falses;
+        } else if (literal.isNullNode()) {
+            return nulls;
+        }
+        return null;
+    }
+
+    private int[] in(ValueNode.ValueListNode values) {
+        int[] result = NONE;
+        for (ValueNode value : values) {
+            int[] positions = equalTo(value);
+            if (positions == null) {
+                return null;
+            }
+            result = union(result, positions);
+        }
+        return result;
+    }
+
+    private static RelationalOperator mirror(RelationalOperator operator) {
+        switch (operator) {
+            case LT:
+                return RelationalOperator.GT;
+            case LTE:
+                return RelationalOperator.GTE;
+            case GT:
+                return RelationalOperator.LT;
+            default:
+                return RelationalOperator.LTE;
+        }
+    }
+
+    private static <T> int[] bounds(List<Entry<T>> sorted, Entry<T> bound, Comparator<Entry<T>> order, RelationalOperator operator) {
+        switch (operator) {
+            case LT:
+                return new int[]{0, firstNotBelow(sorted, bound, order, false)};
+            case LTE:
+                return new int[]{0, firstNotBelow(sorted, bound, order, true)};
+            case GT:
+                return new int[]{firstNotBelow(sorted, bound, order, true), sorted.size()};
+            default:
+                return new int[]{firstNotBelow(sorted, bound, order, false), sorted.size()};
+        }
+    }
+
+    private int[] positions(Range range) {
+        int[] positions = new int[range.size()];
+        int n = 0;
+        for (int i = range.numbersFrom; i < range.numbersTo; i++) {
+            positions[n++] = sortedNumbers.get(i).row;
+        }
+        for (int i = range.stringsFrom; i < range.stringsTo; i++) {
+            positions[n++] = sortedStrings.get(i).row;
+        }
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    /**
+     * Returns the index of the first entry greater than or equal to the bound, or greater than
+     * the bound if <code>inclusive</code> is true (entries equal to the bound are below it).
+     */
+    private static <T> int firstNotBelow(List<Entry<T>> sorted, Entry<T> bound, Comparator<Entry<T>> order, boolean inclusive) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int c = order.compare(sorted.get(mid), bound);
+            if (c < 0 || (inclusive && c == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] get(Map<?, int[]> map, Object key) {
+        int[] positions = map.get(key);
+        return positions == null ? NONE : positions;
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        if (a.length == 0) {
+            return b;
+        } else if (b.length == 0) {
+            return a;
+        }
+        int[] merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length || j < b.length) {
+            int next;
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                next = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                next = b[j++];
+            } else {
+                next = a[i++];
+                j++;
+            }
+            merged[n++] = next;
+        }
+        return n == merged.length ? merged : Arrays.copyOf(merged, n);
+    }
+
+    private static int[] intersection(int[] a, int[] b) {
+        int[] common = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (b[j] < a[i]) {
+                j++;
+            } else {
+                common[n++] = a[i++];
+                j++;
+            }
+        }
+        return n == common.length ? common : Arrays.copyOf(common, n);
+    }
+
+    /**
+     * Entries of a sorted index, as ranges of the sorted numbers and strings.
+     */
+    static final class Range {
+        private final int numbersFrom;
+        private final int numbersTo;
+        private final int stringsFrom;
+        private final int stringsTo;
+
+        private Range(int numbersFrom, int numbersTo, int stringsFrom, int stringsTo) {
+            this.numbersFrom = numbersFrom;
+            this.numbersTo = Math.max(numbersFrom, numbersTo);
+            this.stringsFrom = stringsFrom;
+            this.stringsTo = Math.max(stringsFrom, stringsTo);
+        }
+
+        Range and(Range other) {
+            return new Range(Math.max(numbersFrom, other.numbersFrom), Math.min(numbersTo, other.numbersTo),
+                    Math.max(stringsFrom, other.stringsFrom), Math.min(stringsTo, other.stringsTo));
+        }
+
+        int size() {
+            return (numbersTo - numbersFrom) + (stringsTo - stringsFrom);
+        }
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final int row;
+
+        private Entry(T value, int row) {
+            this.value = value;
+            this.row = row;
+        }
+    }
+
+    private static final class Positions {
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.path.DefinitePathReader;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A column oriented view over the elements of an array, used to evaluate filters over large
+ * arrays of objects.
+ *
+ * A column holds the value of one property path, like <code>@.status</code>, for every element:
+ * numbers in a primitive array and strings as codes into a dictionary of distinct values.
+ * Columns are built the first time a filter reads the path. A comparison is evaluated once per
+ * distinct string and once per value type, number comparisons are done on primitives, so
+ * filtering a column costs a few array reads per element. Results are the same as evaluating
+ * the filter element by element. Filters this view can not evaluate, and columns holding
+ * values other than strings, numbers, booleans and null, are left to row by row evaluation.
+ *
+ * A view is a snapshot of the array, it must be dropped when the array or its elements change.
+ */
+public final class ColumnarView {
+
+    /**
+     * Arrays with fewer elements are filtered row by row.
+     */
+    public static final int MIN_ROWS = 64;
+
+    private final Object[] rows;
+    private final JsonProvider jsonProvider;
+    private final ConcurrentMap<String, Column> columns = new ConcurrentHashMap<String, Column>();
+
+    private ColumnarView(Object[] rows, JsonProvider jsonProvider) {
+        this.rows = rows;
+        this.jsonProvider = jsonProvider;
+    }
+
+    /**
+     * Creates a view over the elements of the given array.
+     *
+     * @param array        an array according to the json provider
+     * @param jsonProvider provider used to read the array and its elements
+     * @return a view
+     */
+    public static ColumnarView create(Object array, JsonProvider jsonProvider) {
+        Object[] rows = new Object[jsonProvider.length(array)];
+        int i = 0;
+        for (Object row : jsonProvider.toIterable(array)) {
+            if (i == rows.length) {
+                break;
+            }
+            rows[i++] = row;
+        }
+        return new ColumnarView(rows, jsonProvider);
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    /**
+     * Returns the element at the given index, as seen by filters.
+     */
+    public Object row(int index) {
+        return rows[index];
+    }
+
+    public JsonProvider jsonProvider() {
+        return jsonProvider;
+    }
+
+    /**
+     * Evaluates the given predicates for every element.
+     *
+     * @param predicates predicates that must all match
+     * @param ctx        context used to evaluate comparisons, the item is ignored
+     * @return the indexes of the matching elements, or null if the predicates must be evaluated row by row
+     */
+    public BitSet select(Collection<Predicate> predicates, Predicate.PredicateContext ctx) {
+        if (ctx.configuration().jsonProvider() != jsonProvider || ctx.configuration().containsOption(Option.DEFAULT_PATH_LEAF_TO_NULL)) {
+            return null;
+        }
+        BitSet selected = null;
+        try {
+            for (Predicate predicate : predicates) {
+                ExpressionNode expression = FilterCompiler.expressionOf(predicate);
+                BitSet matches = expression == null ? null : select(expression, ctx);
+                if (matches == null) {
+                    return null;
+                }
+                if (selected == null) {
+                    selected = matches;
+                } else {
+                    selected.and(matches);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Row by row evaluation reports the failure, or ignores it, for the element it occurs on
+            return null;
+        }
+        return selected;
+    }
+
+    private BitSet select(ExpressionNode expression, Predicate.PredicateContext ctx) {
+        if (expression instanceof RelationalExpressionNode) {
+            return select((RelationalExpressionNode) expression, ctx);
+        } else if (!(expression instanceof LogicalExpressionNode)) {
+            return null;
+        }
+        LogicalExpressionNode logical = (LogicalExpressionNode) expression;
+        BitSet result = null;
+        for (ExpressionNode operand : logical.operands()) {
+            BitSet matches = select(operand, ctx);
+            if (matches == null) {
+                return null;
+            }
+            if (result == null) {
+                result = matches;
+            } else if (logical.getOperator() == LogicalOperator.AND) {
+                result.and(matches);
+            } else {
+                result.or(matches);
+            }
+        }
+        return result;
+    }
+
+    private BitSet select(RelationalExpressionNode expression, Predicate.PredicateContext ctx) {
+        ValueNode left = expression.left();
+        ValueNode right = expression.right();
+        RelationalOperator operator = expression.operator();
+        boolean pathOnLeft = left.isPathNode();
+        if (pathOnLeft == right.isPathNode() || operator == RelationalOperator.MATCHES) {
+            return null;
+        }
+        ValueNode.PathNode pathNode = pathOnLeft ? left.asPathNode() : right.asPathNode();
+        Evaluator evaluator = EvaluatorFactory.createEvaluator(operator);
+        if (evaluator == null || pathNode.reader() == null || pathNode.getPath().isRootPath()) {
+            return null;
+        }
+        Column column = column(pathNode);
+        if (column == null) {
+            return null;
+        }
+        Comparison comparison = new Comparison(evaluator, operator, pathOnLeft ? right : left, pathOnLeft, ctx);
+        return pathNode.isExistsCheck() ? comparison.selectExisting(column) : comparison.select(column);
+    }
+
+    private Column column(ValueNode.PathNode pathNode) {
+        String key = pathNode.getPath().toString();
+        Column column = columns.get(key);
+        if (column == null) {
+            column = Column.build(rows, pathNode.reader(), jsonProvider);
+            Column existing = columns.putIfAbsent(key, column);
+            if (existing != null) {
+                column = existing;
+            }
+        }
+        return column == Column.UNSUPPORTED ? null : column;
+    }
+
+    /**
+     * Values of one path for all rows. Numbers are stored in <code>numbers</code>, doubles as
+     * raw long bits, strings as indexes into <code>dictionary</code>.
+     */
+    static final class Column {
+
+        static final byte UNDEFINED = 0;
+        static final byte NULL = 1;
+        static final byte TRUE = 2;
+        static final byte FALSE = 3;
+        static final byte LONG = 4;
+        static final byte DOUBLE = 5;
+        static final byte STRING = 6;
+
+        static final Column UNSUPPORTED = new Column(new byte[0], null, null, null);
+
+        final byte[] types;
+        final long[] numbers;
+        final int[] codes;
+        final String[] dictionary;
+
+        private Column(byte[] types, long[] numbers, int[] codes, String[] dictionary) {
+            this.types = types;
+            this.numbers = numbers;
+            this.codes = codes;
+            this.dictionary = dictionary;
+        }
+
+        static Column build(Object[] rows, DefinitePathReader reader, JsonProvider jsonProvider) {
+            int size = rows.length;
+            byte[] types = new byte[size];
+            long[] numbers = null;
+            int[] codes = null;
+            Map<String, Integer> dictionary = null;
+            for (int i = 0; i < size; i++) {
+                Object value = reader.read(rows[i], jsonProvider, false);
+                if (value == JsonProvider.UNDEFINED) {
+                    types[i] = UNDEFINED;
+                    continue;
+                }
+                value = jsonProvider.unwrap(value);
+                if (value == null) {
+                    types[i] = NULL;
+                } else if (value instanceof String) {
+                    if (codes == null) {
+                        codes = new int[size];
+                        dictionary = new HashMap<String, Integer>();
+                    }
+                    Integer code = dictionary.get(value);
+                    if (code == null) {
+                        code = dictionary.size();
+                        dictionary.put((String) value, code);
+                    }
+                    types[i] = STRING;
+                    codes[i] = code;
+                } else if (value instanceof Boolean) {
+                    types[i] = (Boolean) value ? TRUE : FALSE;
+                } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                    if (numbers == null) {
+                        numbers = new long[size];
+                    }
+                    types[i] = LONG;
+                    numbers[i] = ((Number) value).longValue();
+                } else if (value instanceof Double && !((Double) value).isNaN() && !((Double) value).isInfinite()) {
+                    if (numbers == null) {
+                        numbers = new long[size];
+                    }
+                    types[i] = DOUBLE;
+                    numbers[i] = Double.doubleToRawLongBits((Double) value);
+                } else {
+                    return UNSUPPORTED;
+                }
+            }
+            String[] names = null;
+            if (dictionary != null) {
+                names = new String[dictionary.size()];
+                for (Map.Entry<String, Integer> entry : dictionary.entrySet()) {
+                    names[entry.getValue()] = entry.getKey();
+                }
+            }
+            return new Column(types, numbers, codes, names);
+        }
+    }
+
+    /**
+     * One comparison of a column against a literal. The evaluator is applied once per value
+     * type and once per distinct string, numbers are compared on primitives where possible.
+     */
+    private static final class Comparison {
+
+        private static final byte UNKNOWN = 0;
+        private static final byte MATCH = 1;
+        private static final byte NO_MATCH = 2;
+
+        private final Evaluator evaluator;
+        private final ValueNode literal;
+        private final boolean pathOnLeft;
+        private final Predicate.PredicateContext ctx;
+        private final ValueNode.NumberNode number;
+        private final RelationalOperator numberOperator;
+
+        private Comparison(Evaluator evaluator, RelationalOperator operator, ValueNode literal, boolean pathOnLeft, Predicate.PredicateContext ctx) {
+            this.evaluator = evaluator;
+            this.literal = literal;
+            this.pathOnLeft = pathOnLeft;
+            this.ctx = ctx;
+            RelationalOperator rowOperator = mirror(operator);
+            if (rowOperator != null && pathOnLeft) {
+                rowOperator = operator;
+            }
+            if (literal.isNumberNode() && rowOperator != null) {
+                this.number = literal.asNumberNode();
+                this.numberOperator = rowOperator;
+            } else {
+                this.number = null;
+                this.numberOperator = null;
+            }
+        }
+
+        /**
+         * Returns the operator giving the same result with its operands swapped, or null for
+         * operators that are not number comparisons.
+         */
+        private static RelationalOperator mirror(RelationalOperator operator) {
+            switch (operator) {
+                case LT:
+                    return RelationalOperator.GT;
+                case LTE:
+                    return RelationalOperator.GTE;
+                case GT:
+                    return RelationalOperator.LT;
+                case GTE:
+                    return RelationalOperator.LTE;
+                case EQ:
+                case NE:
+                case TSEQ:
+                case TSNE:
+                    return operator;
+                default:
+                    return null;
+            }
+        }
+
+        private boolean apply(ValueNode row) {
+            return pathOnLeft ? evaluator.evaluate(row, literal, ctx) : evaluator.evaluate(literal, row, ctx);
+        }
+
+        private boolean matches(int comparison) {
+            switch (numberOperator) {
+                case EQ:
+                case TSEQ:
+                    return comparison == 0;
+                case NE:
+                case TSNE:
+                    return comparison != 0;
+                case LT:
+                    return comparison < 0;
+                case LTE:
+                    return comparison <= 0;
+                case GT:
+                    return comparison > 0;
+                default:
+                    return comparison >= 0;
+            }
+        }
+
+        private boolean matchesType(byte[] results, byte type) {
+            if (results[type] == UNKNOWN) {
+                ValueNode node;
+                switch (type) {
+                    case Column.UNDEFINED:
+                        node = ValueNode.UNDEFINED;
+                        break;
+                    case Column.NULL:
+                        node = ValueNode.NULL_NODE;
+                        break;
+                    case Column.TRUE:
+                        node = ValueNode.createBooleanNode("true");
+                        break;
+                    default:
+                        node = ValueNode.createBooleanNode("false");
+                }
+                results[type] = apply(node) ? MATCH : NO_MATCH;
+            }
+            return results[type] == MATCH;
+        }
+
+        BitSet select(Column column) {
+            int size = column.types.length;
+            BitSet selected = new BitSet(size);
+            byte[] typeResults = new byte[Column.STRING + 1];
+            byte[] stringResults = column.dictionary == null ? null : new byte[column.dictionary.length];
+            for (int i = 0; i < size; i++) {
+                byte type = column.types[i];
+                boolean match;
+                if (type == Column.STRING) {
+                    int code = column.codes[i];
+                    if (stringResults[code] == UNKNOWN) {
+                        stringResults[code] = apply(ValueNode.createStringNode(column.dictionary[code], false)) ? MATCH : NO_MATCH;
+                    }
+                    match = stringResults[code] == MATCH;
+                } else if (type == Column.LONG) {
+                    long value = column.numbers[i];
+                    match = number != null ? matches(number.compareLong(value)) : apply(ValueNode.createNumberNode(value));
+                } else if (type == Column.DOUBLE) {
+                    double value = Double.longBitsToDouble(column.numbers[i]);
+                    match = number != null ? matches(number.compareDouble(value)) : apply(ValueNode.createNumberNode(value));
+                } else {
+                    match = matchesType(typeResults, type);
+                }
+                if (match) {
+                    selected.set(i);
+                }
+            }
+            return selected;
+        }
+
+        /**
+         * Selects rows for an exists check, where the row value is whether the path exists.
+         */
+        BitSet selectExisting(Column column) {
+            int size = column.types.length;
+            BitSet selected = new BitSet(size);
+            boolean missing = apply(ValueNode.FALSE);
+            boolean existing = apply(ValueNode.TRUE);
+            for (int i = 0; i < size; i++) {
+                if (column.types[i] == Column.UNDEFINED ? missing : existing) {
+                    selected.set(i);
+                }
+            }
+            return selected;
+        }
+    }
+}
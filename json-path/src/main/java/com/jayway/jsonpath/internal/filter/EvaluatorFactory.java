@@ -91,7 +91,7 @@ public class EvaluatorFactory {
         @Override
         public boolean evaluate(ValueNode left, ValueNode right, Predicate.PredicateContext ctx) {
             if(left.isNumberNode() && right.isNumberNode()){
-                return left.asNumberNode().getNumber().compareTo(right.asNumberNode().getNumber()) < 0;
+                return left.asNumberNode().compareTo(right.asNumberNode()) < 0;
             } if(left.isStringNode() && right.isStringNode()){
                 return left.asStringNode().getString().compareTo(right.asStringNode().getString()) < 0;
             }
@@ -103,7 +103,7 @@ public class EvaluatorFactory {
         @Override
         public boolean evaluate(ValueNode left, ValueNode right, Predicate.PredicateContext ctx) {
             if(left.isNumberNode() && right.isNumberNode()){
-                return left.asNumberNode().getNumber().compareTo(right.asNumberNode().getNumber()) <= 0;
+                return left.asNumberNode().compareTo(right.asNumberNode()) <= 0;
             } if(left.isStringNode() && right.isStringNode()){
                 return left.asStringNode().getString().compareTo(right.asStringNode().getString()) <= 0;
             }
@@ -115,7 +115,7 @@ public class EvaluatorFactory {
         @Override
         public boolean evaluate(ValueNode left, ValueNode right, Predicate.PredicateContext ctx) {
             if(left.isNumberNode() && right.isNumberNode()){
-                return left.asNumberNode().getNumber().compareTo(right.asNumberNode().getNumber()) > 0;
+                return left.asNumberNode().compareTo(right.asNumberNode()) > 0;
             } else if(left.isStringNode() && right.isStringNode()){
                 return left.asStringNode().getString().compareTo(right.asStringNode().getString()) > 0;
             }
@@ -127,7 +127,7 @@ public class EvaluatorFactory {
         @Override
         public boolean evaluate(ValueNode left, ValueNode right, Predicate.PredicateContext ctx) {
             if(left.isNumberNode() && right.isNumberNode()){
-                return left.asNumberNode().getNumber().compareTo(right.asNumberNode().getNumber()) >= 0;
+                return left.asNumberNode().compareTo(right.asNumberNode()) >= 0;
             } else if(left.isStringNode() && right.isStringNode()){
                 return left.asStringNode().getString().compareTo(right.asStringNode().getString()) >= 0;
             }
@@ -246,7 +246,7 @@ public class EvaluatorFactory {
             ValueNode.PatternNode patternNode = left.isPatternNode() ? left.asPatternNode() : right.asPatternNode();
             ValueNode.StringNode stringNode = left.isStringNode() ? left.asStringNode() : right.asStringNode();
 
-            return patternNode.getCompiledPattern().matcher(stringNode.getString()).matches();
+            return patternNode.matches(stringNode.getString());
         }
     }
 }
@@ -4,6 +4,7 @@ import com.jayway.jsonpath.Filter;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.internal.CharacterIndex;
+import com.jayway.jsonpath.internal.Path;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -130,8 +131,12 @@ public class FilterCompiler {
 
         while (true) {
             int savepoint = filter.position();
+            if (!filter.significantSubSequenceIs(LogicalOperator.OR.getOperatorString())) {
+                filter.setPosition(savepoint);
+                break;
+            }
+            filter.incrementPosition(LogicalOperator.OR.getOperatorString().length());
             try {
-                filter.readSignificantSubSequence(LogicalOperator.OR.getOperatorString());
                 ops.add(readLogicalAND());
             }
             catch (InvalidPathException exc) {
@@ -150,8 +155,12 @@ public class FilterCompiler {
 
         while (true) {
             int savepoint = filter.position();
+            if (!filter.significantSubSequenceIs(LogicalOperator.AND.getOperatorString())) {
+                filter.setPosition(savepoint);
+                break;
+            }
+            filter.incrementPosition(LogicalOperator.AND.getOperatorString().length());
             try {
-                filter.readSignificantSubSequence(LogicalOperator.AND.getOperatorString());
                 ops.add(readLogicalANDOperand());
             }
             catch (InvalidPathException exc) {
@@ -177,18 +186,20 @@ public class FilterCompiler {
     private RelationalExpressionNode readExpression() {
         ValueNode left = readValueNode();
         int savepoint = filter.position();
-        try {
-            RelationalOperator operator = readRelationalOperator();
-            ValueNode right = readValueNode();
-            return new RelationalExpressionNode(left, operator, right);
-        }
-        catch (InvalidPathException exc) {
-            filter.setPosition(savepoint);
+        RelationalOperator operator = readRelationalOperator();
+        if (operator != null) {
+            try {
+                ValueNode right = readValueNode();
+                return new RelationalExpressionNode(left, operator, right);
+            }
+            catch (InvalidPathException exc) {
+            }
         }
+        filter.setPosition(savepoint);
 
         ValueNode.PathNode pathNode = left.asPathNode();
         left = pathNode.asExistsCheck(pathNode.shouldExists());
-        RelationalOperator operator = RelationalOperator.EXISTS;
+        operator = RelationalOperator.EXISTS;
         ValueNode right = left.asPathNode().shouldExists() ? ValueNode.TRUE : ValueNode.FALSE;
         return new RelationalExpressionNode(left, operator, right);
     }
@@ -210,6 +221,9 @@ public class FilterCompiler {
         return LogicalOperator.fromString(logicalOperator.toString());
     }
 
+    /**
+     * @return the operator, or null if the characters read are not an operator
+     */
     private RelationalOperator readRelationalOperator() {
         int begin = filter.skipBlanks().position();
 
@@ -225,7 +239,7 @@ public class FilterCompiler {
 
         CharSequence operator = filter.subSequence(begin, filter.position());
         logger.trace("Operator from {} to {} -> [{}]", begin, filter.position()-1, operator);
-        return RelationalOperator.fromString(operator.toString());
+        return RelationalOperator.forString(operator.toString());
     }
 
     private ValueNode.NullNode readNullLiteral() {
@@ -387,6 +401,51 @@ public class FilterCompiler {
         return c == LT || c == GT || c == EQ || c == TILDE || c == NOT;
     }
 
+    /**
+     * Returns the expression of a filter compiled by this class.
+     *
+     * @param predicate a predicate
+     * @return the expression or null if the predicate was not compiled from a filter string
+     */
+    static ExpressionNode expressionOf(Predicate predicate) {
+        if (predicate instanceof CompiledFilter && ((CompiledFilter) predicate).predicate instanceof ExpressionNode) {
+            return (ExpressionNode) ((CompiledFilter) predicate).predicate;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the paths read by a filter compiled by this class.
+     *
+     * @param predicate a predicate
+     * @return the paths or null if the predicate was not compiled from a filter string
+     */
+    public static List<Path> pathsOf(Predicate predicate) {
+        ExpressionNode expression = expressionOf(predicate);
+        if (expression == null) {
+            return null;
+        }
+        List<Path> paths = new ArrayList<Path>();
+        collectPaths(expression, paths);
+        return paths;
+    }
+
+    private static void collectPaths(ExpressionNode expression, List<Path> paths) {
+        if (expression instanceof LogicalExpressionNode) {
+            for (ExpressionNode operand : ((LogicalExpressionNode) expression).operands()) {
+                collectPaths(operand, paths);
+            }
+        } else if (expression instanceof RelationalExpressionNode) {
+            RelationalExpressionNode relational = (RelationalExpressionNode) expression;
+            if (relational.left().isPathNode()) {
+                paths.add(relational.left().asPathNode().getPath());
+            }
+            if (relational.right().isPathNode()) {
+                paths.add(relational.right().asPathNode().getPath());
+            }
+        }
+    }
+
     private static final class CompiledFilter extends Filter {
 
         private final Predicate predicate;
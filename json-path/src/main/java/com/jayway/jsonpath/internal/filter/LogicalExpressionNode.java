@@ -49,6 +49,10 @@ public class LogicalExpressionNode extends ExpressionNode {
         return operator;
     }
 
+    List<ExpressionNode> operands() {
+        return chain;
+    }
+
     public LogicalExpressionNode append(ExpressionNode expressionNode) {
         chain.add(0, expressionNode);
         return this;
@@ -0,0 +1,197 @@
+package com.jayway.jsonpath.internal.filter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Matches strings against a regular expression, using plain string comparison for the common
+ * literal shapes <code>abc</code>, <code>^abc.*</code>, <code>.*abc$</code> and <code>.*abc.*</code>.
+ *
+ * Matching follows {@link java.util.regex.Matcher#matches()} semantics: the whole string must match
+ * and <code>.</code> does not match line terminators. Case insensitive matching is US-ASCII only,
+ * like {@link Pattern#CASE_INSENSITIVE} without {@link Pattern#UNICODE_CASE}.
+ */
+public abstract class PatternMatcher {
+
+    private static final int CACHE_SIZE = 512;
+
+    private static final Map<String, Pattern> patternCache = new LinkedHashMap<String, Pattern>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Returns a compiled pattern, reusing previously compiled instances for the same regex and flags.
+     *
+     * @param regex regular expression
+     * @param flags match flags
+     * @return compiled pattern
+     */
+    public static Pattern compile(String regex, int flags) {
+        String key = flags + "/" + regex;
+        synchronized (patternCache) {
+            Pattern pattern = patternCache.get(key);
+            if (pattern == null) {
+                pattern = Pattern.compile(regex, flags);
+                patternCache.put(key, pattern);
+            }
+            return pattern;
+        }
+    }
+
+    /**
+     * Creates a matcher for the given pattern
+     *
+     * @param pattern pattern to match
+     * @return a literal matcher if the pattern has a supported literal shape, otherwise a regex matcher
+     */
+    public static PatternMatcher create(Pattern pattern) {
+        int flags = pattern.flags();
+        if (flags == 0 || flags == Pattern.CASE_INSENSITIVE) {
+            PatternMatcher literal = LiteralMatcher.parse(pattern.pattern(), flags == Pattern.CASE_INSENSITIVE);
+            if (literal != null) {
+                return literal;
+            }
+        }
+        return new RegexMatcher(pattern);
+    }
+
+    public abstract boolean matches(String str);
+
+    private static final class RegexMatcher extends PatternMatcher {
+        private final Pattern pattern;
+
+        private RegexMatcher(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        public boolean matches(String str) {
+            return pattern.matcher(str).matches();
+        }
+    }
+
+    private static final class LiteralMatcher extends PatternMatcher {
+
+        private static final String WILDCARD = ".*";
+        private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+        private final String literal;
+        private final boolean anyPrefix;
+        private final boolean anySuffix;
+        private final boolean ignoreCase;
+
+        private LiteralMatcher(String literal, boolean anyPrefix, boolean anySuffix, boolean ignoreCase) {
+            this.literal = literal;
+            this.anyPrefix = anyPrefix;
+            this.anySuffix = anySuffix;
+            this.ignoreCase = ignoreCase;
+        }
+
+        private static LiteralMatcher parse(String regex, boolean ignoreCase) {
+            int begin = 0;
+            int end = regex.length();
+            if (begin < end && regex.charAt(begin) == '^') {
+                begin++;
+            }
+            if (begin < end && regex.charAt(end - 1) == '$') {
+                // an escaped \$ leaves a dangling backslash and is rejected by unescape
+                end--;
+            }
+            boolean anyPrefix = regex.startsWith(WILDCARD, begin);
+            if (anyPrefix) {
+                begin += WILDCARD.length();
+            }
+            boolean anySuffix = end - begin >= WILDCARD.length() && regex.startsWith(WILDCARD, end - WILDCARD.length());
+            if (anySuffix) {
+                end -= WILDCARD.length();
+            }
+            String literal = unescape(regex, begin, end);
+            if (literal == null) {
+                return null;
+            }
+            return new LiteralMatcher(literal, anyPrefix, anySuffix, ignoreCase);
+        }
+
+        private static String unescape(String regex, int begin, int end) {
+            StringBuilder sb = new StringBuilder(end - begin);
+            for (int i = begin; i < end; i++) {
+                char c = regex.charAt(i);
+                if (c == '\\') {
+                    if (i + 1 >= end) {
+                        return null;
+                    }
+                    c = regex.charAt(++i);
+                    if (Character.isLetterOrDigit(c)) {
+                        return null;
+                    }
+                } else if (META_CHARACTERS.indexOf(c) != -1) {
+                    return null;
+                }
+                sb.append(c);
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public boolean matches(String str) {
+            int len = str.length();
+            int litLen = literal.length();
+            if (len < litLen) {
+                return false;
+            }
+            if (!anyPrefix && !anySuffix) {
+                return len == litLen && regionMatches(str, 0);
+            } else if (!anyPrefix) {
+                return regionMatches(str, 0) && !containsLineTerminator(str, litLen, len);
+            } else if (!anySuffix) {
+                return regionMatches(str, len - litLen) && !containsLineTerminator(str, 0, len - litLen);
+            } else {
+                return !containsLineTerminator(str, 0, len) && indexOf(str) != -1;
+            }
+        }
+
+        private int indexOf(String str) {
+            if (!ignoreCase) {
+                return str.indexOf(literal);
+            }
+            for (int i = 0, last = str.length() - literal.length(); i <= last; i++) {
+                if (regionMatches(str, i)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean regionMatches(String str, int offset) {
+            if (!ignoreCase) {
+                return str.startsWith(literal, offset);
+            }
+            for (int i = 0; i < literal.length(); i++) {
+                char a = str.charAt(offset + i);
+                char b = literal.charAt(i);
+                if (a != b && (toAsciiLowerCase(a) != toAsciiLowerCase(b))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static char toAsciiLowerCase(char c) {
+            return (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+        }
+
+        private static boolean containsLineTerminator(String str, int begin, int end) {
+            for (int i = begin; i < end; i++) {
+                char c = str.charAt(i);
+                if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
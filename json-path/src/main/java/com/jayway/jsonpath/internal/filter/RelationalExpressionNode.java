@@ -16,7 +16,21 @@ public class RelationalExpressionNode extends ExpressionNode {
         this.relationalOperator = relationalOperator;
         this.right = right;
 
-        logger.trace("ExpressionNode {}", toString());
+        if (logger.isTraceEnabled()) {
+            logger.trace("ExpressionNode {}", toString());
+        }
+    }
+
+    ValueNode left() {
+        return left;
+    }
+
+    RelationalOperator operator() {
+        return relationalOperator;
+    }
+
+    ValueNode right() {
+        return right;
     }
 
     @Override
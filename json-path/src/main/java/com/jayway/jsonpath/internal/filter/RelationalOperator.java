@@ -37,13 +37,27 @@ public enum RelationalOperator {
         this.operatorString = operatorString;
     }
 
+    private static final RelationalOperator[] OPERATORS = values();
+
     public static RelationalOperator fromString(String operatorString){
-        for (RelationalOperator operator : RelationalOperator.values()) {
-            if(operator.operatorString.equals(operatorString.toUpperCase()) ){
+        RelationalOperator operator = forString(operatorString);
+        if (operator == null) {
+            throw new InvalidPathException("Filter operator " + operatorString + " is not supported!");
+        }
+        return operator;
+    }
+
+    /**
+     * @return the operator, or null if the string is not a supported operator
+     */
+    static RelationalOperator forString(String operatorString){
+        String upperCase = operatorString.toUpperCase();
+        for (RelationalOperator operator : OPERATORS) {
+            if(operator.operatorString.equals(upperCase)){
                 return operator;
             }
         }
-        throw new InvalidPathException("Filter operator " + operatorString + " is not supported!");
+        return null;
     }
 
     @Override
@@ -0,0 +1,163 @@
+package com.jayway.jsonpath.internal.filter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hashed lookup structure for {@link ValueNode.ValueListNode#contains(ValueNode)}.
+ *
+ * The index gives the same answer as scanning the list with <code>node.equals(element)</code>.
+ * String, number, boolean and null nodes are looked up in hash sets (numbers in primitive
+ * sets), all other node types fall back to scanning the elements they could be equal to.
+ */
+final class ValueListIndex {
+
+    private final Set<String> strings = new HashSet<String>();
+    private final LongHashSet longs = new LongHashSet();
+    private final LongHashSet doubles = new LongHashSet();
+    private final Set<BigDecimal> decimals = new HashSet<BigDecimal>();
+    private final List<ValueNode> others = new ArrayList<ValueNode>();
+    private boolean containsTrue;
+    private boolean containsFalse;
+    private boolean containsNull;
+
+    ValueListIndex(List<ValueNode> nodes) {
+        for (ValueNode node : nodes) {
+            if (node.isStringNode()) {
+                ValueNode.StringNode stringNode = node.asStringNode();
+                strings.add(stringNode.getString());
+                ValueNode.NumberNode numberNode = stringNode.asNumberNode();
+                if (numberNode != ValueNode.NumberNode.NAN) {
+                    addNumber(numberNode);
+                }
+            } else if (node.isNumberNode()) {
+                ValueNode.NumberNode numberNode = node.asNumberNode();
+                if (numberNode != ValueNode.NumberNode.NAN) {
+                    strings.add(numberNode.toString());
+                    addNumber(numberNode);
+                }
+            } else if (node.isBooleanNode()) {
+                if (node.asBooleanNode().getBoolean()) {
+                    containsTrue = true;
+                } else {
+                    containsFalse = true;
+                }
+            } else if (node.isNullNode()) {
+                containsNull = true;
+            } else {
+                others.add(node);
+            }
+        }
+    }
+
+    boolean contains(ValueNode node) {
+        if (node.isStringNode()) {
+            return strings.contains(node.asStringNode().getString());
+        } else if (node.isNumberNode()) {
+            ValueNode.NumberNode numberNode = node.asNumberNode();
+            return numberNode != ValueNode.NumberNode.NAN && containsNumber(numberNode);
+        } else if (node.isBooleanNode()) {
+            return node.asBooleanNode().getBoolean() ? containsTrue : containsFalse;
+        } else if (node.isNullNode()) {
+            return containsNull;
+        }
+        return others.contains(node);
+    }
+
+    private void addNumber(ValueNode.NumberNode number) {
+        switch (number.lookupKeyKind()) {
+            case ValueNode.NumberNode.LONG_KEY:
+                longs.add(number.longKey());
+                break;
+            case ValueNode.NumberNode.DOUBLE_KEY:
+                doubles.add(Double.doubleToLongBits(number.doubleKey()));
+                break;
+            default:
+                decimals.add(number.decimalKey());
+        }
+    }
+
+    private boolean containsNumber(ValueNode.NumberNode number) {
+        switch (number.lookupKeyKind()) {
+            case ValueNode.NumberNode.LONG_KEY:
+                return longs.contains(number.longKey());
+            case ValueNode.NumberNode.DOUBLE_KEY:
+                return doubles.contains(Double.doubleToLongBits(number.doubleKey()));
+            default:
+                return decimals.contains(number.decimalKey());
+        }
+    }
+
+    /**
+     * Open addressing hash set of longs, avoids boxing on lookup.
+     */
+    static final class LongHashSet {
+
+        private static final long EMPTY = 0L;
+
+        private long[] table = new long[16];
+        private boolean containsEmpty;
+        private int size;
+
+        void add(long value) {
+            if (value == EMPTY) {
+                containsEmpty = true;
+                return;
+            }
+            if ((size + 1) * 2 > table.length) {
+                rehash(table.length * 2);
+            }
+            if (insert(table, value)) {
+                size++;
+            }
+        }
+
+        boolean contains(long value) {
+            if (value == EMPTY) {
+                return containsEmpty;
+            }
+            int mask = table.length - 1;
+            int i = mix(value) & mask;
+            long current;
+            while ((current = table[i]) != EMPTY) {
+                if (current == value) {
+                    return true;
+                }
+                i = (i + 1) & mask;
+            }
+            return false;
+        }
+
+        private void rehash(int capacity) {
+            long[] newTable = new long[capacity];
+            for (long value : table) {
+                if (value != EMPTY) {
+                    insert(newTable, value);
+                }
+            }
+            table = newTable;
+        }
+
+        private static boolean insert(long[] table, long value) {
+            int mask = table.length - 1;
+            int i = mix(value) & mask;
+            long current;
+            while ((current = table[i]) != EMPTY) {
+                if (current == value) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = value;
+            return true;
+        }
+
+        private static int mix(long value) {
+            long h = value * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.jayway.jsonpath.PathNotFoundException;
 import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.Utils;
+import com.jayway.jsonpath.internal.path.DefinitePathReader;
 import com.jayway.jsonpath.internal.path.PathCompiler;
 import com.jayway.jsonpath.internal.path.PredicateContextImpl;
 import com.jayway.jsonpath.spi.json.JsonProvider;
@@ -177,7 +178,7 @@ public abstract class ValueNode {
         else if(isJson(o)) return createJsonNode(o.toString());
         else if(o instanceof String) return createStringNode(o.toString(), true);
         else if(o instanceof Character) return createStringNode(o.toString(), false);
-        else if(o instanceof Number) return createNumberNode(o.toString());
+        else if(o instanceof Number) return createNumberNode((Number)o);
         else if(o instanceof Boolean) return createBooleanNode(o.toString());
         else if(o instanceof Pattern) return createPatternNode((Pattern)o);
         else throw new JsonPathException("Could not determine value type");
@@ -195,6 +196,10 @@ public abstract class ValueNode {
         return new NumberNode(charSequence);
     }
 
+    public static NumberNode createNumberNode(Number number){
+        return NumberNode.of(number);
+    }
+
     public static BooleanNode createBooleanNode(CharSequence charSequence){
         return Boolean.parseBoolean(charSequence.toString()) ? TRUE : FALSE;
     }
@@ -239,6 +244,7 @@ public abstract class ValueNode {
     public static class PatternNode extends ValueNode {
         private final String pattern;
         private final Pattern compiledPattern;
+        private final PatternMatcher matcher;
 
         private PatternNode(CharSequence charSequence) {
             String tmp = charSequence.toString();
@@ -246,12 +252,14 @@ public abstract class ValueNode {
             int end = tmp.lastIndexOf('/');
             int flags = tmp.endsWith("/i") ? Pattern.CASE_INSENSITIVE : 0;
             this.pattern = tmp.substring(begin + 1, end);
-            this.compiledPattern  = Pattern.compile(pattern, flags);
+            this.compiledPattern  = PatternMatcher.compile(pattern, flags);
+            this.matcher = PatternMatcher.create(compiledPattern);
         }
 
         public PatternNode(Pattern pattern) {
             this.pattern = pattern.pattern();
             this.compiledPattern = pattern;
+            this.matcher = PatternMatcher.create(compiledPattern);
         }
 
 
@@ -259,6 +267,10 @@ public abstract class ValueNode {
             return compiledPattern;
         }
 
+        public boolean matches(String str) {
+            return matcher.matches(str);
+        }
+
         @Override
         public Class<?> type(Predicate.PredicateContext ctx) {
             return Void.TYPE;
@@ -301,6 +313,7 @@ public abstract class ValueNode {
     public static class JsonNode extends ValueNode {
         private final Object json;
         private final boolean parsed;
+        private volatile LiteralList literalList;
 
         private JsonNode(CharSequence charSequence) {
             json = charSequence.toString();
@@ -331,11 +344,26 @@ public abstract class ValueNode {
         }
 
         public ValueNode asValueListNode(Predicate.PredicateContext ctx){
-            if(!isArray(ctx)){
+            JsonProvider provider = ctx.configuration().jsonProvider();
+            if(parsed){
+                return toValueListNode(json, provider);
+            }
+            // Literal lists in filters are converted once per provider so that the
+            // list (and the lookup index it builds) is reused across evaluations
+            LiteralList literal = literalList;
+            if(literal == null || literal.provider != provider){
+                literal = new LiteralList(provider, toValueListNode(provider.parse(json.toString()), provider));
+                literalList = literal;
+            }
+            return literal.node;
+        }
+
+        private static ValueNode toValueListNode(Object model, JsonProvider provider){
+            if(!provider.isArray(model)){
                 return UNDEFINED;
             } else {
                 Collection nodes = new ArrayList();
-                for (Object value : ctx.configuration().jsonProvider().toIterable(parse(ctx))) {
+                for (Object value : provider.toIterable(model)) {
                     nodes.add(value);
                 }
                 return new ValueListNode(nodes);
@@ -391,6 +419,16 @@ public abstract class ValueNode {
 
             return !(json != null ? !json.equals(jsonNode.json) : jsonNode.json != null);
         }
+
+        private static final class LiteralList {
+            private final JsonProvider provider;
+            private final ValueNode node;
+
+            private LiteralList(JsonProvider provider, ValueNode node) {
+                this.provider = provider;
+                this.node = node;
+            }
+        }
     }
 
     public static class StringNode extends ValueNode {
@@ -414,13 +452,11 @@ public abstract class ValueNode {
 
         @Override
         public NumberNode asNumberNode() {
-            BigDecimal number = null;
             try {
-                number = new BigDecimal(string);
+                return new NumberNode(string);
             } catch (NumberFormatException nfe){
                 return NumberNode.NAN;
             }
-            return new NumberNode(number);
         }
 
         public String getString() {
@@ -474,24 +510,225 @@ public abstract class ValueNode {
 
         public static NumberNode NAN = new NumberNode((BigDecimal)null);
 
-        private final BigDecimal number;
+        /*
+         * Numbers are kept in the narrowest representation that can be compared exactly. Integral
+         * values that fit a long and doubles whose decimal representation round trips are compared
+         * using primitives, everything else is compared as BigDecimal.
+         */
+        private static final int LONG = 0;
+        private static final int DOUBLE = 1;
+        private static final int BIG = 2;
+
+        private static final long MAX_EXACT_DOUBLE_LONG = 1L << 53;
+
+        private final int kind;
+        private final long longValue;
+        private final double doubleValue;
+        private BigDecimal number;
 
         private NumberNode(BigDecimal number) {
+            this.kind = BIG;
+            this.longValue = 0;
+            this.doubleValue = 0;
             this.number = number;
         }
+
+        private NumberNode(long value) {
+            this.kind = LONG;
+            this.longValue = value;
+            this.doubleValue = value;
+            this.number = null;
+        }
+
+        private NumberNode(double value) {
+            this.kind = DOUBLE;
+            this.longValue = 0;
+            this.doubleValue = value;
+            this.number = null;
+        }
+
         private NumberNode(CharSequence num) {
-            number = new BigDecimal(num.toString());
+            String str = num.toString();
+            if (isLongLiteral(str)) {
+                this.kind = LONG;
+                this.longValue = Long.parseLong(str);
+                this.doubleValue = longValue;
+                this.number = null;
+            } else {
+                BigDecimal bd = new BigDecimal(str);
+                double d = bd.doubleValue();
+                if (!Double.isInfinite(d) && new BigDecimal(Double.toString(d)).compareTo(bd) == 0) {
+                    this.kind = DOUBLE;
+                    this.doubleValue = d;
+                } else {
+                    this.kind = BIG;
+                    this.doubleValue = 0;
+                }
+                this.longValue = 0;
+                this.number = bd;
+            }
+        }
+
+        private static NumberNode of(Number n) {
+            if (n instanceof Integer || n instanceof Long || n instanceof Short || n instanceof Byte) {
+                return new NumberNode(n.longValue());
+            } else if (n instanceof Double) {
+                double d = n.doubleValue();
+                if (!Double.isNaN(d) && !Double.isInfinite(d)) {
+                    return new NumberNode(d);
+                }
+            } else if (n instanceof BigDecimal) {
+                return new NumberNode((BigDecimal) n);
+            }
+            return new NumberNode(n.toString());
+        }
+
+        private static boolean isLongLiteral(String str) {
+            int len = str.length();
+            int start = (len > 0 && str.charAt(0) == '-') ? 1 : 0;
+            if (len == start || len - start > 18) {
+                return false;
+            }
+            for (int i = start; i < len; i++) {
+                char c = str.charAt(i);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            }
+            return true;
         }
 
         @Override
         public StringNode asStringNode() {
-            return new StringNode(number.toString(), false);
+            return new StringNode(toString(), false);
         }
 
         public BigDecimal getNumber() {
+            if (number == null && kind != BIG) {
+                number = kind == LONG ? BigDecimal.valueOf(longValue) : new BigDecimal(Double.toString(doubleValue));
+            }
             return number;
         }
 
+        /**
+         * Compares this number to the given number without allocating when both
+         * sides are representable as long or double.
+         *
+         * @param other number to compare to
+         * @return a negative integer, zero, or a positive integer as this number is less than, equal to, or greater than other
+         */
+        public int compareTo(NumberNode other) {
+            if (kind == LONG && other.kind == LONG) {
+                return compare(longValue, other.longValue);
+            } else if (kind == DOUBLE && other.kind == DOUBLE) {
+                return compare(doubleValue, other.doubleValue);
+            } else if (kind == LONG && other.kind == DOUBLE && isExactDouble(longValue)) {
+                return compare(doubleValue, other.doubleValue);
+            } else if (kind == DOUBLE && other.kind == LONG && isExactDouble(other.longValue)) {
+                return compare(doubleValue, other.doubleValue);
+            }
+            return getNumber().compareTo(other.getNumber());
+        }
+
+        /**
+         * Compares the given value to this number, same as <code>createNumberNode(value).compareTo(this)</code>.
+         */
+        int compareLong(long value) {
+            if (kind == LONG) {
+                return compare(value, longValue);
+            } else if (kind == DOUBLE && isExactDouble(value)) {
+                return compare((double) value, doubleValue);
+            }
+            return BigDecimal.valueOf(value).compareTo(getNumber());
+        }
+
+        /**
+         * Compares the given finite value to this number, same as <code>createNumberNode(value).compareTo(this)</code>.
+         */
+        int compareDouble(double value) {
+            if (kind == DOUBLE || (kind == LONG && isExactDouble(longValue))) {
+                return compare(value, doubleValue);
+            }
+            return new BigDecimal(Double.toString(value)).compareTo(getNumber());
+        }
+
+        /*
+         * Hash keys used by ValueListIndex. Numbers that compare equal get the same key:
+         * integral values that fit a long are keyed as long, other values whose decimal
+         * representation round trips through double are keyed as double and the rest as
+         * BigDecimal with trailing zeros removed.
+         */
+        static final int LONG_KEY = 0;
+        static final int DOUBLE_KEY = 1;
+        static final int DECIMAL_KEY = 2;
+
+        int lookupKeyKind() {
+            if (kind == LONG) {
+                return LONG_KEY;
+            } else if (kind == DOUBLE) {
+                if (isSmallIntegral(doubleValue)) {
+                    return LONG_KEY;
+                } else if (doubleValue != Math.floor(doubleValue)) {
+                    return DOUBLE_KEY;
+                }
+            }
+            BigDecimal bd = getNumber();
+            if (isIntegral(bd) && bd.precision() - bd.scale() <= 19 && fitsLong(bd)) {
+                return LONG_KEY;
+            }
+            double d = bd.doubleValue();
+            if (!Double.isInfinite(d) && new BigDecimal(Double.toString(d)).compareTo(bd) == 0) {
+                return DOUBLE_KEY;
+            }
+            return DECIMAL_KEY;
+        }
+
+        long longKey() {
+            if (kind == LONG) {
+                return longValue;
+            } else if (kind == DOUBLE && isSmallIntegral(doubleValue)) {
+                return (long) doubleValue;
+            }
+            return getNumber().longValueExact();
+        }
+
+        double doubleKey() {
+            return kind == DOUBLE ? doubleValue : getNumber().doubleValue();
+        }
+
+        BigDecimal decimalKey() {
+            return getNumber().stripTrailingZeros();
+        }
+
+        private static boolean isSmallIntegral(double d) {
+            return d < MAX_EXACT_DOUBLE_LONG && d > -MAX_EXACT_DOUBLE_LONG && d == (long) d;
+        }
+
+        private static boolean isIntegral(BigDecimal bd) {
+            return bd.signum() == 0 || bd.scale() <= 0 || bd.stripTrailingZeros().scale() <= 0;
+        }
+
+        private static boolean fitsLong(BigDecimal bd) {
+            try {
+                bd.longValueExact();
+                return true;
+            } catch (ArithmeticException e) {
+                return false;
+            }
+        }
+
+        private static boolean isExactDouble(long value) {
+            return value < MAX_EXACT_DOUBLE_LONG && value > -MAX_EXACT_DOUBLE_LONG;
+        }
+
+        private static int compare(long l, long r) {
+            return l < r ? -1 : (l == r ? 0 : 1);
+        }
+
+        private static int compare(double l, double r) {
+            return l < r ? -1 : (l == r ? 0 : 1);
+        }
+
         @Override
         public Class<?> type(Predicate.PredicateContext ctx) {
             return Number.class;
@@ -507,7 +744,7 @@ public abstract class ValueNode {
 
         @Override
         public String toString() {
-            return number.toString();
+            return kind == LONG ? Long.toString(longValue) : getNumber().toString();
         }
 
         @Override
@@ -517,10 +754,10 @@ public abstract class ValueNode {
 
             NumberNode that = ((ValueNode)o).asNumberNode();
 
-            if(that == NumberNode.NAN){
+            if(that == NumberNode.NAN || this == NumberNode.NAN){
                 return false;
             } else {
-                return number.compareTo(that.number) == 0;
+                return compareTo(that) == 0;
             }
         }
     }
@@ -697,7 +934,16 @@ public abstract class ValueNode {
 
     public static class ValueListNode extends ValueNode implements Iterable<ValueNode> {
 
+        /*
+         * Lists with at least this many elements get a hashed index once they have been
+         * searched more than once. Smaller lists, and lists searched only once (for example
+         * arrays read from the document), are scanned.
+         */
+        private static final int INDEX_THRESHOLD = 8;
+
         private List<ValueNode> nodes = new ArrayList<ValueNode>();
+        private volatile ValueListIndex index;
+        private int lookups;
 
         public ValueListNode(Collection<?> values) {
             for (Object value : values) {
@@ -706,7 +952,15 @@ public abstract class ValueNode {
         }
 
         public boolean contains(ValueNode node){
-            return nodes.contains(node);
+            ValueListIndex idx = index;
+            if(idx == null){
+                if(nodes.size() < INDEX_THRESHOLD || lookups++ == 0){
+                    return nodes.contains(node);
+                }
+                idx = new ValueListIndex(nodes);
+                index = idx;
+            }
+            return idx.contains(node);
         }
 
         public List<ValueNode> getNodes() {
@@ -754,6 +1008,8 @@ public abstract class ValueNode {
         private final Path path;
         private final boolean existsCheck;
         private final boolean shouldExist;
+        private final DefinitePathReader reader;
+        private volatile Configuration existsCheckConfiguration;
 
         PathNode(Path path) {
             this(path, false, false);
@@ -767,6 +1023,7 @@ public abstract class ValueNode {
             this.path = path;
             this.existsCheck = existsCheck;
             this.shouldExist = shouldExist;
+            this.reader = DefinitePathReader.create(path);
             logger.trace("PathNode {} existsCheck: {}", path, existsCheck);
         }
 
@@ -774,6 +1031,10 @@ public abstract class ValueNode {
             return path;
         }
 
+        DefinitePathReader reader() {
+            return reader;
+        }
+
         public boolean isExistsCheck() {
             return existsCheck;
         }
@@ -805,10 +1066,13 @@ public abstract class ValueNode {
         }
 
         public ValueNode evaluate(Predicate.PredicateContext ctx) {
-            Configuration c = Configuration.builder().jsonProvider(ctx.configuration().jsonProvider()).options(Option.REQUIRE_PROPERTIES).build();
             if (isExistsCheck()) {
+                if (reader != null) {
+                    Object doc = path.isRootPath() ? ctx.root() : ctx.item();
+                    return reader.read(doc, ctx.configuration().jsonProvider(), false) == JsonProvider.UNDEFINED ? ValueNode.FALSE : ValueNode.TRUE;
+                }
                 try {
-                    Object result = path.evaluate(ctx.item(), ctx.root(), c).getValue(false);
+                    Object result = path.evaluate(ctx.item(), ctx.root(), existsCheckConfiguration(ctx)).getValue(false);
                     return result == JsonProvider.UNDEFINED ? ValueNode.FALSE : ValueNode.TRUE;
                 } catch (PathNotFoundException e) {
                     return ValueNode.FALSE;
@@ -816,7 +1080,13 @@ public abstract class ValueNode {
             } else {
                 try {
                     Object res;
-                    if (ctx instanceof PredicateContextImpl) {
+                    if (reader != null) {
+                        Object doc = path.isRootPath() ? ctx.root() : ctx.item();
+                        res = reader.read(doc, ctx.configuration().jsonProvider(), ctx.configuration().containsOption(Option.DEFAULT_PATH_LEAF_TO_NULL));
+                        if (res == JsonProvider.UNDEFINED) {
+                            return ValueNode.UNDEFINED;
+                        }
+                    } else if (ctx instanceof PredicateContextImpl) {
                         //This will use cache for document ($) queries
                         PredicateContextImpl ctxi = (PredicateContextImpl) ctx;
                         res = ctxi.evaluate(path);
@@ -826,8 +1096,7 @@ public abstract class ValueNode {
                     }
                     res = ctx.configuration().jsonProvider().unwrap(res);
 
-                    if (res instanceof Number) return ValueNode.createNumberNode(res.toString());
-                    else if (res instanceof BigDecimal) return ValueNode.createNumberNode(res.toString());
+                    if (res instanceof Number) return ValueNode.createNumberNode((Number) res);
                     else if (res instanceof String) return ValueNode.createStringNode(res.toString(), false);
                     else if (res instanceof Boolean) return ValueNode.createBooleanNode(res.toString());
                     else if (res == null) return ValueNode.NULL_NODE;
@@ -840,6 +1109,17 @@ public abstract class ValueNode {
             }
         }
 
+        private Configuration existsCheckConfiguration(Predicate.PredicateContext ctx) {
+            Configuration c = existsCheckConfiguration;
+            Configuration conf = ctx.configuration();
+            if (c == null || c.jsonProvider() != conf.jsonProvider() || c.evaluationBudget() != conf.evaluationBudget() || c.evaluationMetrics() != conf.evaluationMetrics()) {
+                c = Configuration.builder().jsonProvider(conf.jsonProvider()).options(Option.REQUIRE_PROPERTIES)
+                        .evaluationBudget(conf.evaluationBudget()).evaluationMetrics(conf.evaluationMetrics()).build();
+                existsCheckConfiguration = c;
+            }
+            return c;
+        }
+
 
     }
 }
\ No newline at end of file
@@ -20,6 +20,12 @@ import com.jayway.jsonpath.internal.PathRef;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import static java.lang.String.format;
 
 /**
@@ -42,8 +48,23 @@ public class ArrayPathToken extends PathToken {
         this.arraySliceOperation = null;
     }
 
+    /**
+     * @return the slice, or null if this token selects indexes
+     */
+    ArraySliceOperation sliceOperation() {
+        return arraySliceOperation;
+    }
+
+    /**
+     * @return the indexes, or null if this token selects a slice
+     */
+    ArrayIndexOperation indexOperation() {
+        return arrayIndexOperation;
+    }
+
     @Override
     public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+        ctx.visit();
         if (! checkArrayModel(currentPath, model, ctx))
             return;
         if(arraySliceOperation != null){
@@ -60,10 +81,12 @@ public class ArrayPathToken extends PathToken {
             return;
 
         if(arrayIndexOperation.isSingleIndexOperation()){
-            handleArrayIndex(arrayIndexOperation.indexes().get(0), currentPath, model, ctx);
+            handleArrayIndex(arrayIndexOperation.indexes().get(0), currentPath, parent, model, ctx);
+        } else if(isSequentialAccessArray(model)){
+            handleArrayIndexes(arrayIndexOperation.indexes(), currentPath, parent, model, ctx);
         } else {
             for (Integer index : arrayIndexOperation.indexes()) {
-                handleArrayIndex(index, currentPath,  model, ctx);
+                handleArrayIndex(index, currentPath, parent, model, ctx);
             }
         }
     }
@@ -100,9 +123,7 @@ public class ArrayPathToken extends PathToken {
         if (length == 0 || from >= length) {
             return;
         }
-        for (int i = from; i < length; i++) {
-            handleArrayIndex(i, currentPath, model, ctx);
-        }
+        handleArrayRange(from, length, currentPath, parent, model, ctx);
     }
 
     public void sliceBetween(ArraySliceOperation operation, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
@@ -118,9 +139,7 @@ public class ArrayPathToken extends PathToken {
 
         logger.debug("Slice between indexes on array with length: {}. From index: {} to: {}. Input: {}", length, from, to, toString());
 
-        for (int i = from; i < to; i++) {
-            handleArrayIndex(i, currentPath, model, ctx);
-        }
+        handleArrayRange(from, to, currentPath, parent, model, ctx);
     }
 
     public void sliceTo(ArraySliceOperation operation, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
@@ -137,11 +156,61 @@ public class ArrayPathToken extends PathToken {
 
         logger.debug("Slice to index on array with length: {}. From index: 0 to: {}. Input: {}", length, to, toString());
 
-        for (int i = 0; i < to; i++) {
-            handleArrayIndex(i, currentPath, model, ctx);
+        handleArrayRange(0, to, currentPath, parent, model, ctx);
+    }
+
+    private void handleArrayRange(int from, int to, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+        if (isSequentialAccessArray(model)) {
+            int i = 0;
+            for (Object element : ctx.jsonProvider().toIterable(model)) {
+                if (i >= to) {
+                    break;
+                }
+                if (i >= from) {
+                    handleArrayElement(i, element, currentPath, parent, model, ctx);
+                }
+                i++;
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                handleArrayIndex(i, currentPath, parent, model, ctx);
+            }
+        }
+    }
+
+    private void handleArrayIndexes(List<Integer> indexes, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+        Set<Integer> wanted = new HashSet<Integer>(indexes);
+        int max = -1;
+        for (Integer index : indexes) {
+            max = Math.max(max, index);
+        }
+        // Read all requested elements in one pass, then emit them in the requested order
+        Map<Integer, Object> elements = new HashMap<Integer, Object>();
+        int i = 0;
+        for (Object element : ctx.jsonProvider().toIterable(model)) {
+            if (i > max) {
+                break;
+            }
+            if (wanted.contains(i)) {
+                elements.put(i, element);
+            }
+            i++;
+        }
+        for (Integer index : indexes) {
+            if (elements.containsKey(index)) {
+                handleArrayElement(index, elements.get(index), currentPath, parent, model, ctx);
+            }
         }
     }
 
+    ArrayIndexOperation getArrayIndexOperation() {
+        return arrayIndexOperation;
+    }
+
+    boolean isSingleIndexToken() {
+        return arrayIndexOperation != null && arrayIndexOperation.isSingleIndexOperation();
+    }
+
     @Override
     public String getPathFragment() {
         if(arrayIndexOperation != null){
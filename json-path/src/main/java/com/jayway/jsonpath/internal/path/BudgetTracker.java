@@ -0,0 +1,86 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.EvaluationBudget;
+import com.jayway.jsonpath.EvaluationBudgetExceededException;
+import com.jayway.jsonpath.EvaluationBudgetExceededException.Limit;
+
+/**
+ * Tracks the work of an evaluation, including the evaluations of its filter paths, against an
+ * {@link EvaluationBudget}. Nodes visited are counted on every step, the clock and the interrupt
+ * flag are only read every {@link EvaluationBudget#CHECK_INTERVAL} nodes.
+ */
+final class BudgetTracker {
+
+    private final EvaluationBudget budget;
+    private final CompiledPath path;
+    private final long start;
+    private long nodesVisited;
+    private long nextCheck;
+    private int results;
+
+    BudgetTracker(EvaluationBudget budget, CompiledPath path) {
+        this.budget = budget;
+        this.path = path;
+        this.start = budget.maxNanos() == Long.MAX_VALUE ? 0 : System.nanoTime();
+        this.nextCheck = nextCheck();
+    }
+
+    void visit() {
+        if (++nodesVisited >= nextCheck) {
+            check();
+        }
+    }
+
+    void visit(int nodes) {
+        nodesVisited += nodes;
+        if (nodesVisited >= nextCheck) {
+            check();
+        }
+    }
+
+    /**
+     * Records a result of the evaluation the budget belongs to.
+     */
+    void result() {
+        if (results == budget.maxResults()) {
+            throw exceeded(Limit.RESULTS, "Evaluation of " + path + " produced more than " + budget.maxResults() + " results");
+        }
+        results++;
+    }
+
+    private void check() {
+        if (nodesVisited > budget.maxNodesVisited()) {
+            throw exceeded(Limit.NODES_VISITED, "Evaluation of " + path + " visited more than " + budget.maxNodesVisited() + " nodes");
+        }
+        if (budget.maxNanos() != Long.MAX_VALUE && System.nanoTime() - start > budget.maxNanos()) {
+            throw exceeded(Limit.TIME, "Evaluation of " + path + " took more than " + budget.maxNanos() + " ns");
+        }
+        if (budget.isInterruptible() && Thread.currentThread().isInterrupted()) {
+            throw exceeded(Limit.INTERRUPTED, "Evaluation of " + path + " was interrupted");
+        }
+        nextCheck = nextCheck();
+    }
+
+    private long nextCheck() {
+        long next = nodesVisited + EvaluationBudget.CHECK_INTERVAL;
+        return budget.maxNodesVisited() < next ? budget.maxNodesVisited() + 1 : next;
+    }
+
+    private EvaluationBudgetExceededException exceeded(Limit limit, String message) {
+        return new EvaluationBudgetExceededException(message, limit, nodesVisited, results);
+    }
+}
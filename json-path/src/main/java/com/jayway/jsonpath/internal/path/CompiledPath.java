@@ -15,25 +15,59 @@
 package com.jayway.jsonpath.internal.path;
 
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.EvaluationBudget;
+import com.jayway.jsonpath.internal.DocumentCache;
 import com.jayway.jsonpath.internal.EvaluationAbortException;
 import com.jayway.jsonpath.internal.EvaluationContext;
 import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.spi.metrics.EvaluationMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 public class CompiledPath implements Path {
 
     private static final Logger logger = LoggerFactory.getLogger(CompiledPath.class);
 
+    /**
+     * The recorded or budgeted evaluations running on a thread, paths evaluated by filters of such
+     * an evaluation are part of it.
+     */
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<Scope>() {
+        @Override
+        protected Scope initialValue() {
+            return new Scope();
+        }
+    };
+
     private final RootPathToken root;
 
     private final boolean isRootPath;
 
+    private final String source;
+
+    private String string;
 
     public CompiledPath(RootPathToken root, boolean isRootPath) {
+        this(root, isRootPath, null);
+    }
+
+    /**
+     * @param source the path as it was compiled, evaluations are recorded under it
+     */
+    public CompiledPath(RootPathToken root, boolean isRootPath, String source) {
         this.root = root;
         this.isRootPath = isRootPath;
+        this.source = source;
+    }
+
+    RootPathToken getRoot() {
+        return root;
     }
 
     @Override
@@ -43,11 +77,25 @@ public class CompiledPath implements Path {
 
     @Override
     public EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, boolean forUpdate) {
+        return evaluate(document, rootDocument, configuration, forUpdate, new IdentityHashMap<Path, Object>(), null);
+    }
+
+    @Override
+    public EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, DocumentCache documentCache) {
+        return evaluate(document, rootDocument, configuration, false, new IdentityHashMap<Path, Object>(), documentCache);
+    }
+
+    EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, boolean forUpdate, Map<Path, Object> documentEvalCache, DocumentCache documentCache) {
         if (logger.isDebugEnabled()) {
             logger.debug("Evaluating path: {}", toString());
         }
 
-        EvaluationContextImpl ctx = new EvaluationContextImpl(this, rootDocument, configuration, forUpdate);
+        EvaluationContextImpl ctx = new EvaluationContextImpl(this, rootDocument, configuration, forUpdate, documentEvalCache, documentCache);
+        EvaluationMetrics metrics = configuration.evaluationMetrics();
+        EvaluationBudget budget = configuration.evaluationBudget();
+        if (metrics != null || budget != null) {
+            return evaluateTracked(document, ctx, metrics, budget);
+        }
         try {
             PathRef op = ctx.forUpdate() ?  PathRef.createRoot(rootDocument) : PathRef.NO_OP;
             root.evaluate("", op, document, ctx);
@@ -56,11 +104,73 @@ public class CompiledPath implements Path {
         return ctx;
     }
 
+    private EvaluationContext evaluateTracked(Object document, EvaluationContextImpl ctx, EvaluationMetrics metrics, EvaluationBudget budget) {
+        Scope scope = SCOPE.get();
+        boolean ownsBudget = budget != null && scope.budget == null;
+        if (ownsBudget) {
+            scope.budget = new BudgetTracker(budget, this);
+        }
+        if (scope.budget != null) {
+            ctx.trackBudget(scope.budget, ownsBudget);
+        }
+        long start = metrics == null ? 0 : System.nanoTime();
+        Throwable failure = null;
+        scope.depth++;
+        try {
+            PathRef op = ctx.forUpdate() ?  PathRef.createRoot(ctx.rootDocument()) : PathRef.NO_OP;
+            root.evaluate("", op, document, ctx);
+        } catch (EvaluationAbortException abort) {
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } catch (Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            scope.depth--;
+            if (ownsBudget) {
+                scope.budget = null;
+            }
+            if (metrics != null) {
+                if (scope.depth == 0) {
+                    int nodesVisited = ctx.nodesVisited() + scope.nestedNodesVisited;
+                    scope.nestedNodesVisited = 0;
+                    metrics.evaluated(source != null ? source : toString(), System.nanoTime() - start, nodesVisited, ctx.resultCount(), failure);
+                } else {
+                    scope.nestedNodesVisited += ctx.nodesVisited();
+                }
+            }
+        }
+        return ctx;
+    }
+
     @Override
     public EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration){
         return evaluate(document, rootDocument, configuration, false);
     }
 
+    /**
+     * Returns the properties leading to the array whose elements a path like <code>$.a.b[*]</code>
+     * iterates.
+     *
+     * @return the property names, or null if this path is not made up of single properties followed by <code>[*]</code>
+     */
+    public List<String> iteratedArrayPath() {
+        List<String> properties = new ArrayList<String>();
+        PathToken token = root;
+        while (!token.isLeaf()) {
+            token = token.next();
+            if (token instanceof WildcardPathToken) {
+                return token.isLeaf() ? properties : null;
+            } else if (token instanceof PropertyPathToken && ((PropertyPathToken) token).singlePropertyCase()) {
+                properties.add(((PropertyPathToken) token).getProperties().get(0));
+            } else {
+                return null;
+            }
+        }
+        return null;
+    }
+
     @Override
     public boolean isDefinite() {
         return root.isPathDefinite();
@@ -71,8 +181,17 @@ public class CompiledPath implements Path {
         return root.isFunctionPath();
     }
 
+    private static final class Scope {
+        private int depth;
+        private int nestedNodesVisited;
+        private BudgetTracker budget;
+    }
+
     @Override
     public String toString() {
-        return root.toString();
+        if (string == null) {
+            string = root.toString();
+        }
+        return string;
     }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.jayway.jsonpath.spi.json.ShapedObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a definite path made up of single property and single index tokens, like <code>@.a.b[0].c</code>,
+ * by walking the document through the {@link JsonProvider}. No {@link EvaluationContextImpl} is created
+ * and nothing is allocated per read, which makes it suitable for resolving path references in filters
+ * that are evaluated once per array element. Property slots of {@link ShapedObject}s are cached per step.
+ */
+public final class DefinitePathReader {
+
+    private final Object[] steps;
+
+    private DefinitePathReader(Object[] steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * Creates a reader for the given path
+     *
+     * @param path path to read
+     * @return a reader or null if the path contains tokens that can not be read directly
+     */
+    public static DefinitePathReader create(Path path) {
+        if (!(path instanceof CompiledPath)) {
+            return null;
+        }
+        List<Object> steps = new ArrayList<Object>();
+        PathToken token = ((CompiledPath) path).getRoot();
+        while (!token.isLeaf()) {
+            token = token.next();
+            if (token instanceof PropertyPathToken && ((PropertyPathToken) token).singlePropertyCase()) {
+                steps.add(new PropertySlotCache(((PropertyPathToken) token).getProperties().get(0)));
+            } else if (token instanceof ArrayPathToken && ((ArrayPathToken) token).isSingleIndexToken()) {
+                steps.add(((ArrayPathToken) token).getArrayIndexOperation().indexes().get(0));
+            } else {
+                return null;
+            }
+        }
+        return new DefinitePathReader(steps.toArray());
+    }
+
+    /**
+     * Reads the path from the given model.
+     *
+     * @param model            the model to start reading from
+     * @param jsonProvider     provider used to access the model
+     * @param defaultLeafToNull return null instead of {@link JsonProvider#UNDEFINED} when the leaf property is missing
+     * @return the value or {@link JsonProvider#UNDEFINED} if the path does not exist in the model
+     */
+    public Object read(Object model, JsonProvider jsonProvider, boolean defaultLeafToNull) {
+        Object current = model;
+        int last = steps.length - 1;
+        for (int i = 0; i <= last; i++) {
+            Object step = steps[i];
+            if (step instanceof PropertySlotCache) {
+                PropertySlotCache property = (PropertySlotCache) step;
+                if (current instanceof ShapedObject) {
+                    current = property.read((ShapedObject) current);
+                } else if (jsonProvider.isMap(current)) {
+                    current = jsonProvider.getMapValue(current, property.property());
+                } else {
+                    return JsonProvider.UNDEFINED;
+                }
+                if (current == JsonProvider.UNDEFINED) {
+                    return (i == last && defaultLeafToNull) ? null : JsonProvider.UNDEFINED;
+                }
+            } else {
+                int idx = (Integer) step;
+                if (current == null || !jsonProvider.isArray(current) || idx >= jsonProvider.length(current)) {
+                    return JsonProvider.UNDEFINED;
+                }
+                current = jsonProvider.getArrayIndex(current, idx);
+            }
+        }
+        return current;
+    }
+}
@@ -18,6 +18,7 @@ import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.EvaluationListener;
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.internal.DocumentCache;
 import com.jayway.jsonpath.internal.EvaluationAbortException;
 import com.jayway.jsonpath.internal.EvaluationContext;
 import com.jayway.jsonpath.internal.Path;
@@ -27,8 +28,9 @@ import com.jayway.jsonpath.spi.json.JsonProvider;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static com.jayway.jsonpath.internal.Utils.notNull;
@@ -44,12 +46,24 @@ public class EvaluationContextImpl implements EvaluationContext {
     private final Path path;
     private final Object rootDocument;
     private final List<PathRef> updateOperations;
-    private final HashMap<Path, Object> documentEvalCache = new HashMap<Path, Object>();
+    private final Map<Path, Object> documentEvalCache;
+    private final DocumentCache documentCache;
     private final boolean forUpdate;
     private int resultIndex = 0;
+    private int nodesVisited = 0;
+    private BudgetTracker budget;
+    private BudgetTracker resultBudget;
 
 
     public EvaluationContextImpl(Path path, Object rootDocument, Configuration configuration, boolean forUpdate) {
+        this(path, rootDocument, configuration, forUpdate, new IdentityHashMap<Path, Object>(), null);
+    }
+
+    /**
+     * Creates a context that shares the cache of root ($) path results with an enclosing evaluation
+     * of the same document, and structures cached for the document by its context, if any.
+     */
+    EvaluationContextImpl(Path path, Object rootDocument, Configuration configuration, boolean forUpdate, Map<Path, Object> documentEvalCache, DocumentCache documentCache) {
         notNull(path, "path can not be null");
         notNull(rootDocument, "root can not be null");
         notNull(configuration, "configuration can not be null");
@@ -60,17 +74,29 @@ public class EvaluationContextImpl implements EvaluationContext {
         this.valueResult = configuration.jsonProvider().createArray();
         this.pathResult = configuration.jsonProvider().createArray();
         this.updateOperations = new ArrayList<PathRef>();
+        this.documentEvalCache = documentEvalCache;
+        this.documentCache = documentCache;
     }
 
-    public HashMap<Path, Object> documentEvalCache() {
+    public Map<Path, Object> documentEvalCache() {
         return documentEvalCache;
     }
 
+    /**
+     * @return structures cached for the root document, or null if the document has no cache
+     */
+    public DocumentCache documentCache() {
+        return documentCache;
+    }
+
     public boolean forUpdate(){
         return forUpdate;
     }
 
     public void addResult(String path, PathRef operation, Object model) {
+        if (resultBudget != null) {
+            resultBudget.result();
+        }
 
         if(forUpdate) {
             updateOperations.add(operation);
@@ -91,6 +117,42 @@ public class EvaluationContextImpl implements EvaluationContext {
     }
 
 
+    /**
+     * Counts a step of the evaluation through the document.
+     */
+    void visit() {
+        nodesVisited++;
+        if (budget != null) {
+            budget.visit();
+        }
+    }
+
+    /**
+     * Counts steps of the evaluation taken at once, like the rows scanned by a columnar filter.
+     */
+    void visit(int nodes) {
+        nodesVisited += nodes;
+        if (budget != null) {
+            budget.visit(nodes);
+        }
+    }
+
+    /**
+     * Counts the steps of this evaluation, and its results if it is not the evaluation of a filter path, against a budget.
+     */
+    void trackBudget(BudgetTracker budget, boolean countResults) {
+        this.budget = budget;
+        this.resultBudget = countResults ? budget : null;
+    }
+
+    int nodesVisited() {
+        return nodesVisited;
+    }
+
+    int resultCount() {
+        return resultIndex;
+    }
+
     public JsonProvider jsonProvider() {
         return configuration.jsonProvider();
     }
@@ -111,7 +173,7 @@ public class EvaluationContextImpl implements EvaluationContext {
 
     public Collection<PathRef> updateOperations(){
 
-        Collections.sort(updateOperations);
+        PathRef.sort(updateOperations);
 
         return Collections.unmodifiableCollection(updateOperations);
     }
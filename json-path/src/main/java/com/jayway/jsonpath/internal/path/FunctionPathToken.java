@@ -33,6 +33,7 @@ public class FunctionPathToken extends PathToken {
 
     @Override
     public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+        ctx.visit();
         PathFunction pathFunction = PathFunctionFactory.newFunction(functionName);
         evaluateParameters(currentPath, parent, model, ctx);
         Object result = pathFunction.invoke(currentPath, parent, model, ctx, functionParams);
@@ -62,6 +63,18 @@ public class FunctionPathToken extends PathToken {
         }
     }
 
+    String functionName() {
+        return functionName;
+    }
+
+    List<Parameter> parameters() {
+        return functionParams;
+    }
+
+    boolean hasParameters() {
+        return functionParams != null && !functionParams.isEmpty();
+    }
+
     /**
      * Return the actual value by indicating true. If this return was false then we'd return the value in an array which
      * isn't what is desired - true indicates the raw value is returned.
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.DocumentStatistics;
+import com.jayway.jsonpath.PathAnalysis;
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.filter.FilterCompiler;
+import com.jayway.jsonpath.internal.function.ParamType;
+import com.jayway.jsonpath.internal.function.Parameter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Analyzes the tokens of a {@link CompiledPath} and of the paths its filters and function
+ * parameters read.
+ *
+ * Paths that filters read through <code>$</code> and function parameters are evaluated once per
+ * evaluation of the path, paths that read the tested element through <code>@</code> once per
+ * candidate of the filter.
+ */
+public final class PathAnalyzer implements PathAnalysis {
+
+    private final RootPathToken root;
+    private final Set<String> functions = new TreeSet<String>();
+    private boolean iterating;
+    private boolean opaquePredicates;
+    private int deepScans;
+    private int scanNesting;
+    private int filterDepth;
+    private int rootReferences;
+
+    private PathAnalyzer(RootPathToken root) {
+        this.root = root;
+    }
+
+    /**
+     * Analyzes a path.
+     *
+     * @param path a compiled path
+     * @return the analysis
+     */
+    public static PathAnalysis analyze(Path path) {
+        PathAnalyzer analyzer = new PathAnalyzer(((CompiledPath) path).getRoot());
+        analyzer.inspect(analyzer.root, 0, 0);
+        return analyzer;
+    }
+
+    private void inspect(RootPathToken first, int scans, int filters) {
+        PathToken token = first;
+        while (true) {
+            if (!token.isTokenDefinite()) {
+                iterating = true;
+            }
+            if (token instanceof ScanPathToken) {
+                deepScans++;
+                scans++;
+                scanNesting = Math.max(scanNesting, scans);
+            } else if (token instanceof PredicatePathToken) {
+                filterDepth = Math.max(filterDepth, filters + 1);
+                for (Predicate predicate : ((PredicatePathToken) token).predicates()) {
+                    List<Path> paths = FilterCompiler.pathsOf(predicate);
+                    if (paths == null) {
+                        opaquePredicates = true;
+                        continue;
+                    }
+                    for (Path path : paths) {
+                        if (!(path instanceof CompiledPath)) {
+                            opaquePredicates = true;
+                        } else if (path.isRootPath()) {
+                            rootReferences++;
+                            inspect(((CompiledPath) path).getRoot(), 0, filters + 1);
+                        } else {
+                            inspect(((CompiledPath) path).getRoot(), scans, filters + 1);
+                        }
+                    }
+                }
+            } else if (token instanceof FunctionPathToken) {
+                FunctionPathToken function = (FunctionPathToken) token;
+                functions.add(function.functionName());
+                for (Path path : parameterPaths(function)) {
+                    if (path instanceof CompiledPath) {
+                        inspect(((CompiledPath) path).getRoot(), 0, filters);
+                    }
+                }
+            }
+            if (token.isLeaf()) {
+                return;
+            }
+            token = token.next();
+        }
+    }
+
+    @Override
+    public Complexity getComplexity() {
+        if (!iterating) {
+            return Complexity.CONSTANT;
+        }
+        return scanNesting > 1 ? Complexity.SUPERLINEAR : Complexity.LINEAR;
+    }
+
+    @Override
+    public int getDeepScans() {
+        return deepScans;
+    }
+
+    @Override
+    public int getScanNesting() {
+        return scanNesting;
+    }
+
+    @Override
+    public int getFilterDepth() {
+        return filterDepth;
+    }
+
+    @Override
+    public int getRootReferences() {
+        return rootReferences;
+    }
+
+    @Override
+    public Set<String> getFunctions() {
+        return Collections.unmodifiableSet(functions);
+    }
+
+    @Override
+    public boolean hasOpaquePredicates() {
+        return opaquePredicates;
+    }
+
+    @Override
+    public long estimateNodesVisited(DocumentStatistics statistics) {
+        return (long) Math.ceil(estimate(root, 1, statistics));
+    }
+
+    /**
+     * Estimates the nodes visited evaluating the tokens from the given one on <code>width</code> nodes.
+     */
+    private static double estimate(PathToken first, double width, DocumentStatistics statistics) {
+        double fanOut = statistics.getAverageFanOut();
+        double visited = 0;
+        PathToken token = first;
+        while (true) {
+            visited += width;
+            if (token instanceof ScanPathToken) {
+                // every node is in the subtrees of at most maxDepth of the scanned nodes
+                double scanned = Math.min(width, statistics.getMaxDepth()) * statistics.getNodes();
+                visited += scanned;
+                width = scanned;
+            } else if (token instanceof WildcardPathToken) {
+                width *= fanOut;
+            } else if (token instanceof PropertyPathToken) {
+                PropertyPathToken property = (PropertyPathToken) token;
+                if (property.multiPropertyIterationCase()) {
+                    width *= property.getProperties().size();
+                }
+            } else if (token instanceof ArrayPathToken) {
+                width *= selected((ArrayPathToken) token, fanOut);
+            } else if (token instanceof PredicatePathToken) {
+                double candidates = width * fanOut;
+                double perCandidate = 1;
+                for (Predicate predicate : ((PredicatePathToken) token).predicates()) {
+                    List<Path> paths = FilterCompiler.pathsOf(predicate);
+                    if (paths == null) {
+                        continue;
+                    }
+                    for (Path path : paths) {
+                        if (!(path instanceof CompiledPath)) {
+                            continue;
+                        }
+                        double cost = estimate(((CompiledPath) path).getRoot(), 1, statistics);
+                        if (path.isRootPath()) {
+                            visited += cost;
+                        } else {
+                            perCandidate += cost;
+                        }
+                    }
+                }
+                visited += candidates * perCandidate;
+                width = candidates;
+            } else if (token instanceof FunctionPathToken) {
+                for (Path path : parameterPaths((FunctionPathToken) token)) {
+                    if (path instanceof CompiledPath) {
+                        visited += estimate(((CompiledPath) path).getRoot(), 1, statistics);
+                    }
+                }
+            }
+            if (token.isLeaf()) {
+                return visited;
+            }
+            token = token.next();
+        }
+    }
+
+    private static double selected(ArrayPathToken token, double fanOut) {
+        ArrayIndexOperation indexes = token.indexOperation();
+        if (indexes != null) {
+            return indexes.indexes().size();
+        }
+        ArraySliceOperation slice = token.sliceOperation();
+        double length;
+        switch (slice.operation()) {
+            case SLICE_FROM:
+                length = slice.from() < 0 ? -slice.from() : fanOut - slice.from();
+                break;
+            case SLICE_TO:
+                length = slice.to() < 0 ? fanOut + slice.to() : slice.to();
+                break;
+            default:
+                if ((slice.from() < 0) == (slice.to() < 0)) {
+                    length = slice.to() - slice.from();
+                } else if (slice.to() < 0) {
+                    // the end is counted back from the length of the array, which is not known, estimate it as open
+                    length = fanOut - slice.from();
+                } else {
+                    length = Math.min(-slice.from(), slice.to());
+                }
+                break;
+        }
+        return Math.max(0, Math.min(length, fanOut));
+    }
+
+    /**
+     * @return the paths passed to the function as parameters
+     */
+    static List<Path> parameterPaths(FunctionPathToken function) {
+        if (!function.hasParameters()) {
+            return Collections.emptyList();
+        }
+        List<Path> paths = new ArrayList<Path>();
+        for (Parameter parameter : function.parameters()) {
+            if (parameter.getType() == ParamType.PATH && parameter.getPath() != null) {
+                paths.add(parameter.getPath());
+            }
+        }
+        return paths;
+    }
+}
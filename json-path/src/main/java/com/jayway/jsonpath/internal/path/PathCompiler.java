@@ -50,14 +50,15 @@ public class PathCompiler {
         this.path = new CharacterIndex(path);
     }
 
-    private Path compile() {
+    private Path compile(String source) {
         RootPathToken root = readContextToken();
-        return new CompiledPath(root, root.getPathFragment().equals("$"));
+        return new CompiledPath(root, root.getPathFragment().equals("$"), source);
     }
 
     public static Path compile(String path, final Predicate... filters) {
         try {
             path = path.trim();
+            String source = path;
 
             if(!(path.charAt(0) == DOC_CONTEXT)  && !(path.charAt(0) == EVAL_CONTEXT)){
                 path = "$." + path;
@@ -66,7 +67,7 @@ public class PathCompiler {
                 fail("Path must not end with a '.' or '..'");
             }
             LinkedList filterStack = new LinkedList<Predicate>(asList(filters));
-            Path p = new PathCompiler(path.trim(), filterStack).compile();
+            Path p = new PathCompiler(path.trim(), filterStack).compile(source);
             return p;
         } catch (Exception e) {
             InvalidPathException ipe;
@@ -129,11 +130,7 @@ public class PathCompiler {
 
         switch (c) {
             case OPEN_SQUARE_BRACKET:
-                return readBracketPropertyToken(appender) ||
-                        readArrayToken(appender) ||
-                        readWildCardToken(appender) ||
-                        readFilterToken(appender) ||
-                        readPlaceholderToken(appender) ||
+                return readBracketToken(appender) ||
                         fail("Could not parse token starting at position " + path.position() + ". Expected ?, ', 0-9, * ");
             case PERIOD:
                 return readDotToken(appender) ||
@@ -147,6 +144,23 @@ public class PathCompiler {
         }
     }
 
+    //
+    // [...], dispatched on the first significant character so that only one reader scans the token
+    //
+    private boolean readBracketToken(PathTokenAppender appender) {
+        char c = path.nextSignificantChar();
+
+        if (c == SINGLE_QUOTE || c == DOUBLE_QUOTE) {
+            return readBracketPropertyToken(appender);
+        } else if (isDigit(c) || c == MINUS || c == SPLIT) {
+            return readArrayToken(appender);
+        } else if (c == WILDCARD) {
+            return readWildCardToken(appender);
+        } else {
+            return readFilterToken(appender) || readPlaceholderToken(appender);
+        }
+    }
+
     //
     // . and ..
     //
@@ -348,7 +362,7 @@ public class PathCompiler {
                                 case PATH:
                                     LinkedList<Predicate> predicates = new LinkedList<Predicate>();
                                     PathCompiler compiler = new PathCompiler(parameter.toString(), predicates);
-                                    param = new Parameter(compiler.compile());
+                                    param = new Parameter(compiler.compile(parameter.toString()));
                                     break;
                             }
                             if (null != param) {
@@ -512,7 +526,7 @@ public class PathCompiler {
             return false;
         }
 
-        String expression = path.subSequence(expressionBeginIndex, expressionEndIndex).toString().replace(" ", "");
+        String expression = removeSpaces(path.subSequence(expressionBeginIndex, expressionEndIndex).toString());
 
         if ("*".equals(expression)) {
             return false;
@@ -593,6 +607,20 @@ public class PathCompiler {
         return path.currentIsTail() || readNextToken(appender);
     }
 
+    private static String removeSpaces(String s) {
+        if (s.indexOf(SPACE) == -1) {
+            return s;
+        }
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c != SPACE) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
     public static boolean fail(String message) {
         throw new InvalidPathException(message);
     }
@@ -22,6 +22,7 @@ import com.jayway.jsonpath.internal.function.PathFunction;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 
 import java.util.List;
+import java.util.RandomAccess;
 
 public abstract class PathToken {
 
@@ -36,12 +37,12 @@ public abstract class PathToken {
         return next;
     }
 
-    void handleObjectProperty(String currentPath, Object model, EvaluationContextImpl ctx, List<String> properties) {
+    void handleObjectProperty(String currentPath, PathRef ref, Object model, EvaluationContextImpl ctx, List<String> properties) {
 
         if(properties.size() == 1) {
             String property = properties.get(0);
             String evalPath = Utils.concat(currentPath, "['", property, "']");
-            Object propertyVal = readObjectProperty(property, model, ctx);
+            Object propertyVal = readSingleProperty(property, model, ctx);
             if(propertyVal == JsonProvider.UNDEFINED){
                 // Conditions below heavily depend on current token type (and its logic) and are not "universal",
                 // so this code is quite dangerous (I'd rather rewrite it & move to PropertyPathToken and implemented
@@ -73,7 +74,7 @@ public abstract class PathToken {
                     }
                 }
             }
-            PathRef pathRef = ctx.forUpdate() ? PathRef.create(model, property) : PathRef.NO_OP;
+            PathRef pathRef = ctx.forUpdate() ? PathRef.create(model, property, ref) : PathRef.NO_OP;
             if (isLeaf()) {
                 ctx.addResult(evalPath, pathRef, propertyVal);
             }
@@ -108,7 +109,7 @@ public abstract class PathToken {
                 }
                 ctx.jsonProvider().setProperty(merged, property, propertyVal);
             }
-            PathRef pathRef = ctx.forUpdate() ? PathRef.create(model, properties) : PathRef.NO_OP;
+            PathRef pathRef = ctx.forUpdate() ? PathRef.create(model, properties, ref) : PathRef.NO_OP;
             ctx.addResult(evalPath, pathRef, merged);
         }
     }
@@ -117,25 +118,50 @@ public abstract class PathToken {
         return ctx.jsonProvider().getPropertyKeys(model).contains(property);
     }
 
+    /**
+     * Reads the property handled by a single property token, tokens may override this to cache lookups.
+     */
+    Object readSingleProperty(String property, Object model, EvaluationContextImpl ctx) {
+        return readObjectProperty(property, model, ctx);
+    }
+
     private static Object readObjectProperty(String property, Object model, EvaluationContextImpl ctx) {
         return ctx.jsonProvider().getMapValue(model, property);
     }
 
 
-    protected void handleArrayIndex(int index, String currentPath, Object model, EvaluationContextImpl ctx) {
+    protected void handleArrayIndex(int index, String currentPath, PathRef ref, Object model, EvaluationContextImpl ctx) {
+        try {
+            handleArrayElement(index, ctx.jsonProvider().getArrayIndex(model, index), currentPath, ref, model, ctx);
+        } catch (IndexOutOfBoundsException e) {
+        }
+    }
+
+    /**
+     * Same as {@link #handleArrayIndex(int, String, PathRef, Object, EvaluationContextImpl)} for an element
+     * that has already been read from the array, typically by iterating over it.
+     */
+    protected void handleArrayElement(int index, Object element, String currentPath, PathRef ref, Object model, EvaluationContextImpl ctx) {
         String evalPath = Utils.concat(currentPath, "[", String.valueOf(index), "]");
-        PathRef pathRef = ctx.forUpdate() ? PathRef.create(model, index) : PathRef.NO_OP;
+        PathRef pathRef = ctx.forUpdate() ? PathRef.create(model, index, ref) : PathRef.NO_OP;
         try {
-            Object evalHit = ctx.jsonProvider().getArrayIndex(model, index);
             if (isLeaf()) {
-                ctx.addResult(evalPath, pathRef, evalHit);
+                ctx.addResult(evalPath, pathRef, element);
             } else {
-                next().evaluate(evalPath, pathRef, evalHit, ctx);
+                next().evaluate(evalPath, pathRef, element, ctx);
             }
         } catch (IndexOutOfBoundsException e) {
         }
     }
 
+    /**
+     * Arrays backed by a list without random access (e.g. LinkedList) must be iterated,
+     * reading them index by index is quadratic.
+     */
+    static boolean isSequentialAccessArray(Object model) {
+        return model instanceof List && !(model instanceof RandomAccess);
+    }
+
     PathToken prev(){
         return prev;
     }
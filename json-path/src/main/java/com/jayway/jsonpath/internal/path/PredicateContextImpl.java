@@ -15,13 +15,14 @@
 package com.jayway.jsonpath.internal.path;
 
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.PathNotFoundException;
 import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.spi.mapper.MappingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.Map;
 
 public class PredicateContextImpl implements Predicate.PredicateContext {
 
@@ -30,9 +31,9 @@ public class PredicateContextImpl implements Predicate.PredicateContext {
     private final Object contextDocument;
     private final Object rootDocument;
     private final Configuration configuration;
-    private final HashMap<Path, Object> documentPathCache;
+    private final Map<Path, Object> documentPathCache;
 
-    public PredicateContextImpl(Object contextDocument, Object rootDocument, Configuration configuration, HashMap<Path, Object> documentPathCache) {
+    public PredicateContextImpl(Object contextDocument, Object rootDocument, Configuration configuration, Map<Path, Object> documentPathCache) {
         this.contextDocument = contextDocument;
         this.rootDocument = rootDocument;
         this.configuration = configuration;
@@ -43,19 +44,35 @@ public class PredicateContextImpl implements Predicate.PredicateContext {
         Object result;
         if(path.isRootPath()){
             if(documentPathCache.containsKey(path)){
-                logger.debug("Using cached result for root path: " + path.toString());
+                logger.debug("Using cached result for root path: {}", path);
                 result = documentPathCache.get(path);
             } else {
-                result = path.evaluate(rootDocument, rootDocument, configuration).getValue();
+                try {
+                    result = evaluate(path, rootDocument);
+                } catch (PathNotFoundException e) {
+                    result = e;
+                }
                 documentPathCache.put(path, result);
             }
+            if(result instanceof PathNotFoundException){
+                throw (PathNotFoundException) result;
+            }
         } else {
-            result = path.evaluate(contextDocument, rootDocument, configuration).getValue();
+            result = evaluate(path, contextDocument);
         }
         return result;
     }
 
-    public HashMap<Path, Object> documentPathCache() {
+    private Object evaluate(Path path, Object document){
+        if(path instanceof CompiledPath){
+            // Nested evaluations share the root path cache so a root path is evaluated once per read
+            return ((CompiledPath) path).evaluate(document, rootDocument, configuration, false, documentPathCache, null).getValue();
+        } else {
+            return path.evaluate(document, rootDocument, configuration).getValue();
+        }
+    }
+
+    public Map<Path, Object> documentPathCache() {
         return documentPathCache;
     }
 
@@ -16,10 +16,18 @@ package com.jayway.jsonpath.internal.path;
 
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.DocumentCache;
+import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.filter.ArrayIndex;
+import com.jayway.jsonpath.internal.filter.ColumnarView;
+import com.jayway.jsonpath.internal.filter.FilterCompiler;
 
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.List;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
@@ -40,6 +48,10 @@ public class PredicatePathToken extends PathToken {
         this.predicates = predicates;
     }
 
+    Collection<Predicate> predicates() {
+        return predicates;
+    }
+
     @Override
     public void evaluate(String currentPath, PathRef ref, Object model, EvaluationContextImpl ctx) {
         if (ctx.jsonProvider().isMap(model)) {
@@ -52,12 +64,28 @@ public class PredicatePathToken extends PathToken {
                 }
             }
         } else if (ctx.jsonProvider().isArray(model)){
+            int[] candidates = selectIndexed(model, ctx);
+            if (candidates != null) {
+                for (int idx : candidates) {
+                    if (accept(ctx.jsonProvider().getArrayIndex(model, idx), ctx.rootDocument(), ctx.configuration(), ctx)) {
+                        handleArrayIndex(idx, currentPath, ref, model, ctx);
+                    }
+                }
+                return;
+            }
+            BitSet selected = selectColumnar(model, ctx);
+            if (selected != null) {
+                for (int idx = selected.nextSetBit(0); idx >= 0; idx = selected.nextSetBit(idx + 1)) {
+                    handleArrayIndex(idx, currentPath, ref, model, ctx);
+                }
+                return;
+            }
             int idx = 0;
             Iterable<?> objects = ctx.jsonProvider().toIterable(model);
 
             for (Object idxModel : objects) {
                 if (accept(idxModel, ctx.rootDocument(),  ctx.configuration(), ctx)) {
-                    handleArrayIndex(idx, currentPath, model, ctx);
+                    handleArrayIndex(idx, currentPath, ref, model, ctx);
                 }
                 idx++;
             }
@@ -68,7 +96,43 @@ public class PredicatePathToken extends PathToken {
         }
     }
 
+    /**
+     * Looks up the elements that can match the predicates in the indexes created for the array.
+     *
+     * @return the indexes of candidate elements or null if every element must be tested
+     */
+    private int[] selectIndexed(Object model, EvaluationContextImpl ctx) {
+        DocumentCache documentCache = ctx.documentCache();
+        if (documentCache == null || ctx.forUpdate() || ctx.options().contains(Option.DEFAULT_PATH_LEAF_TO_NULL)
+                || !documentCache.hasIndexes()) {
+            return null;
+        }
+        List<ArrayIndex> indexes = documentCache.indexes(model, ctx.rootDocument(), ctx.configuration());
+        if (indexes.isEmpty() || indexes.get(0).size() != ctx.jsonProvider().length(model)) {
+            return null;
+        }
+        return ArrayIndex.candidates(indexes, predicates, new PredicateContextImpl(model, ctx.rootDocument(), ctx.configuration(), ctx.documentEvalCache()));
+    }
+
+    /**
+     * Evaluates the predicates over a columnar view of the array when enabled for the document.
+     *
+     * @return the indexes of matching elements or null if the array must be filtered element by element
+     */
+    private BitSet selectColumnar(Object model, EvaluationContextImpl ctx) {
+        DocumentCache documentCache = ctx.documentCache();
+        if (documentCache == null || ctx.forUpdate() || !ctx.options().contains(Option.COLUMNAR_FILTERS)
+                || ctx.jsonProvider().length(model) < ColumnarView.MIN_ROWS) {
+            return null;
+        }
+        // every row of the view is scanned, charge them like the elements a plain filter tests
+        ctx.visit(ctx.jsonProvider().length(model));
+        ColumnarView view = documentCache.columnarView(model, ctx.jsonProvider());
+        return view.select(predicates, new PredicateContextImpl(model, ctx.rootDocument(), ctx.configuration(), ctx.documentEvalCache()));
+    }
+
     public boolean accept(final Object obj, final Object root, final Configuration configuration, EvaluationContextImpl evaluationContext) {
+        evaluationContext.visit();
         Predicate.PredicateContext ctx = new PredicateContextImpl(obj, root, configuration, evaluationContext.documentEvalCache());
 
         for (Predicate predicate : predicates) {
@@ -83,6 +147,50 @@ public class PredicatePathToken extends PathToken {
         return true;
     }
 
+    /**
+     * @return true if the predicates only read the tested element, not the document through <code>$</code>
+     */
+    boolean isLocal() {
+        for (Predicate predicate : predicates) {
+            List<Path> paths = FilterCompiler.pathsOf(predicate);
+            if (paths == null) {
+                return false;
+            }
+            for (Path path : paths) {
+                if (!isLocal(path)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the path, and the paths its filters and functions read, are relative to the tested element
+     */
+    private static boolean isLocal(Path path) {
+        if (path.isRootPath() || !(path instanceof CompiledPath)) {
+            return false;
+        }
+        PathToken token = ((CompiledPath) path).getRoot();
+        while (true) {
+            if (token instanceof PredicatePathToken && !((PredicatePathToken) token).isLocal()) {
+                return false;
+            }
+            if (token instanceof FunctionPathToken) {
+                for (Path parameterPath : PathAnalyzer.parameterPaths((FunctionPathToken) token)) {
+                    if (!isLocal(parameterPath)) {
+                        return false;
+                    }
+                }
+            }
+            if (token.isLeaf()) {
+                return true;
+            }
+            token = token.next();
+        }
+    }
+
     @Override
     public String getPathFragment() {
         StringBuilder sb = new StringBuilder();
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.internal.Path;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The parts of a document read by a set of paths, used to build only these parts when parsing.
+ *
+ * A projection is a tree of the properties and array elements the paths step into. Arrays keep
+ * all their elements so indexes and slices select the same elements. Filters, deep scans,
+ * functions and the last token of a path need everything below the location they are applied
+ * to. Filters other than compiled {@link com.jayway.jsonpath.Filter}s, and filters and function
+ * parameters that may refer to the document through <code>$</code>, need the whole document.
+ */
+public final class Projection {
+
+    private static final Projection COMPLETE = new Projection(true);
+
+    private boolean complete;
+    private Map<String, Projection> properties;
+    private Projection any;
+
+    private Projection(boolean complete) {
+        this.complete = complete;
+    }
+
+    /**
+     * Creates the projection of the given paths
+     *
+     * @param paths compiled paths
+     * @return the projection
+     */
+    public static Projection create(Collection<Path> paths) {
+        Projection root = new Projection(false);
+        for (Path path : paths) {
+            if (!(path instanceof CompiledPath)) {
+                return COMPLETE;
+            }
+            RootPathToken token = ((CompiledPath) path).getRoot();
+            if (!next(root, token)) {
+                return COMPLETE;
+            }
+        }
+        if (root.complete) {
+            return COMPLETE;
+        }
+        root.seal();
+        return root;
+    }
+
+    /**
+     * @return true if everything below this location is needed
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns the projection of a property of an object at this location
+     *
+     * @param key the property name
+     * @return the projection, null if the property is not needed
+     */
+    public Projection child(String key) {
+        if (complete) {
+            return this;
+        }
+        Projection child = properties == null ? null : properties.get(key);
+        return child != null ? child : any;
+    }
+
+    /**
+     * @return the projection of the elements of an array at this location
+     */
+    public Projection element() {
+        if (complete) {
+            return this;
+        }
+        return any != null ? any : COMPLETE;
+    }
+
+    /**
+     * Adds the token and its successors applied at the given location.
+     *
+     * @return false if the whole document is needed
+     */
+    private static boolean add(Projection node, PathToken token) {
+        if (token instanceof PropertyPathToken) {
+            for (String property : ((PropertyPathToken) token).getProperties()) {
+                if (!next(node.property(property), token)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (token instanceof ArrayPathToken || token instanceof WildcardPathToken) {
+            return next(node.any(), token);
+        } else if (token instanceof PredicatePathToken) {
+            if (!((PredicatePathToken) token).isLocal()) {
+                return false;
+            }
+        } else if (token instanceof FunctionPathToken) {
+            if (((FunctionPathToken) token).hasParameters()) {
+                return false;
+            }
+        }
+        node.complete = true;
+        return true;
+    }
+
+    private static boolean next(Projection node, PathToken token) {
+        if (token.isLeaf()) {
+            node.complete = true;
+            return true;
+        }
+        return add(node, token.next());
+    }
+
+    private Projection property(String key) {
+        if (properties == null) {
+            properties = new HashMap<String, Projection>();
+        }
+        Projection child = properties.get(key);
+        if (child == null) {
+            child = new Projection(false);
+            properties.put(key, child);
+        }
+        return child;
+    }
+
+    private Projection any() {
+        if (any == null) {
+            any = new Projection(false);
+        }
+        return any;
+    }
+
+    /**
+     * Merges what is needed of any property into every named property, so lookups of a property
+     * find everything needed below it in one place.
+     */
+    private void seal() {
+        if (complete) {
+            properties = null;
+            any = null;
+            return;
+        }
+        if (properties != null) {
+            for (Projection child : properties.values()) {
+                if (any != null) {
+                    child.merge(any);
+                }
+                child.seal();
+            }
+        }
+        if (any != null) {
+            any.seal();
+        }
+    }
+
+    private void merge(Projection other) {
+        complete |= other.complete;
+        if (other.properties != null) {
+            for (Map.Entry<String, Projection> entry : other.properties.entrySet()) {
+                property(entry.getKey()).merge(entry.getValue());
+            }
+        }
+        if (other.any != null) {
+            any().merge(other.any);
+        }
+    }
+}
@@ -18,6 +18,7 @@ import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.PathNotFoundException;
 import com.jayway.jsonpath.internal.PathRef;
 import com.jayway.jsonpath.internal.Utils;
+import com.jayway.jsonpath.spi.json.ShapedObject;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -31,6 +32,7 @@ class PropertyPathToken extends PathToken {
 
     private final List<String> properties;
     private final String stringDelimiter;
+    private final PropertySlotCache slotCache;
 
     public PropertyPathToken(List<String> properties, char stringDelimiter) {
         if (properties.isEmpty()) {
@@ -38,6 +40,7 @@ class PropertyPathToken extends PathToken {
         }
         this.properties = properties;
         this.stringDelimiter = Character.toString(stringDelimiter);
+        this.slotCache = properties.size() == 1 ? new PropertySlotCache(properties.get(0)) : null;
     }
 
     public List<String> getProperties() {
@@ -57,8 +60,17 @@ class PropertyPathToken extends PathToken {
         return ! isLeaf() && properties.size() > 1;
     }
 
+    @Override
+    Object readSingleProperty(String property, Object model, EvaluationContextImpl ctx) {
+        if (slotCache != null && model instanceof ShapedObject) {
+            return slotCache.read((ShapedObject) model);
+        }
+        return super.readSingleProperty(property, model, ctx);
+    }
+
     @Override
     public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+        ctx.visit();
         // Can't assert it in ctor because isLeaf() could be changed later on.
         assert onlyOneIsTrueNonThrow(singlePropertyCase(), multiPropertyMergeCase(), multiPropertyIterationCase());
 
@@ -76,7 +88,7 @@ class PropertyPathToken extends PathToken {
         }
 
         if (singlePropertyCase() || multiPropertyMergeCase()) {
-            handleObjectProperty(currentPath, model, ctx, properties);
+            handleObjectProperty(currentPath, parent, model, ctx, properties);
             return;
         }
 
@@ -85,7 +97,7 @@ class PropertyPathToken extends PathToken {
         currentlyHandledProperty.add(null);
         for (final String property : properties) {
             currentlyHandledProperty.set(0, property);
-            handleObjectProperty(currentPath, model, ctx, currentlyHandledProperty);
+            handleObjectProperty(currentPath, parent, model, ctx, currentlyHandledProperty);
         }
     }
 
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.jayway.jsonpath.spi.json.ShapedObject;
+
+/**
+ * Inline cache for reading one property from {@link ShapedObject}s. Remembers the slot of the
+ * property for the last shape seen, so reading the property from a run of objects with the
+ * same shape resolves the slot only once.
+ */
+final class PropertySlotCache {
+
+    private final String property;
+    private volatile Entry entry;
+
+    PropertySlotCache(String property) {
+        this.property = property;
+    }
+
+    String property() {
+        return property;
+    }
+
+    /**
+     * Reads the property from the given object.
+     *
+     * @return the value or {@link JsonProvider#UNDEFINED} if the object does not have the property
+     */
+    Object read(ShapedObject object) {
+        Object shape = object.shape();
+        Entry e = entry;
+        int slot;
+        if (e != null && e.shape == shape) {
+            slot = e.slot;
+        } else {
+            slot = object.slotOf(property);
+            entry = new Entry(shape, slot);
+        }
+        return slot < 0 ? JsonProvider.UNDEFINED : object.valueAt(slot);
+    }
+
+    private static final class Entry {
+        private final Object shape;
+        private final int slot;
+
+        private Entry(Object shape, int slot) {
+            this.shape = shape;
+            this.slot = slot;
+        }
+    }
+}
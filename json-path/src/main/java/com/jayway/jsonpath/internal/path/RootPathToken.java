@@ -55,6 +55,7 @@ public class RootPathToken extends PathToken {
 
     @Override
     public void evaluate(String currentPath, PathRef pathRef, Object model, EvaluationContextImpl ctx) {
+        ctx.visit();
         if (isLeaf()) {
             PathRef op = ctx.forUpdate() ?  pathRef : PathRef.NO_OP;
             ctx.addResult(rootToken, op, model);
@@ -37,6 +37,7 @@ public class ScanPathToken extends PathToken {
     }
 
     public static void walk(PathToken pt, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+        ctx.visit();
         if (ctx.jsonProvider().isMap(model)) {
             walkObject(pt, currentPath, parent, model, ctx, predicate);
         } else if (ctx.jsonProvider().isArray(model)) {
@@ -55,7 +56,7 @@ public class ScanPathToken extends PathToken {
                 int idx = 0;
                 for (Object evalModel : models) {
                     String evalPath = currentPath + "[" + idx + "]";
-                    next.evaluate(evalPath, parent, evalModel, ctx);
+                    next.evaluate(evalPath, ctx.forUpdate() ? PathRef.create(model, idx, parent) : PathRef.NO_OP, evalModel, ctx);
                     idx++;
                 }
             }
@@ -65,7 +66,7 @@ public class ScanPathToken extends PathToken {
         int idx = 0;
         for (Object evalModel : models) {
             String evalPath = currentPath + "[" + idx + "]";
-            walk(pt, evalPath, PathRef.create(model, idx), evalModel, ctx, predicate);
+            walk(pt, evalPath, ctx.forUpdate() ? PathRef.create(model, idx, parent) : PathRef.NO_OP, evalModel, ctx, predicate);
             idx++;
         }
     }
@@ -81,7 +82,7 @@ public class ScanPathToken extends PathToken {
             String evalPath = currentPath + "['" + property + "']";
             Object propertyModel = ctx.jsonProvider().getMapValue(model, property);
             if (propertyModel != JsonProvider.UNDEFINED) {
-                walk(pt, evalPath, PathRef.create(model, property), propertyModel, ctx, predicate);
+                walk(pt, evalPath, ctx.forUpdate() ? PathRef.create(model, property, parent) : PathRef.NO_OP, propertyModel, ctx, predicate);
             }
         }
     }
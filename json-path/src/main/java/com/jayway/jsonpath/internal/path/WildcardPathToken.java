@@ -30,14 +30,31 @@ public class WildcardPathToken extends PathToken {
 
     @Override
     public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+        ctx.visit();
         if (ctx.jsonProvider().isMap(model)) {
             for (String property : ctx.jsonProvider().getPropertyKeys(model)) {
-                handleObjectProperty(currentPath, model, ctx, asList(property));
+                ctx.visit();
+                handleObjectProperty(currentPath, parent, model, ctx, asList(property));
             }
         } else if (ctx.jsonProvider().isArray(model)) {
+            if (isSequentialAccessArray(model)) {
+                int idx = 0;
+                for (Object element : ctx.jsonProvider().toIterable(model)) {
+                    ctx.visit();
+                    try {
+                        handleArrayElement(idx++, element, currentPath, parent, model, ctx);
+                    } catch (PathNotFoundException p){
+                        if(ctx.options().contains(Option.REQUIRE_PROPERTIES)){
+                            throw p;
+                        }
+                    }
+                }
+                return;
+            }
             for (int idx = 0; idx < ctx.jsonProvider().length(model); idx++) {
+                ctx.visit();
                 try {
-                    handleArrayIndex(idx, currentPath, model, ctx);
+                    handleArrayIndex(idx, currentPath, parent, model, ctx);
                 } catch (PathNotFoundException p){
                     if(ctx.options().contains(Option.REQUIRE_PROPERTIES)){
                         throw p;
@@ -16,12 +16,34 @@ package com.jayway.jsonpath.spi.json;
 
 import com.jayway.jsonpath.JsonPathException;
 
+import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public abstract class AbstractJsonProvider implements JsonProvider {
 
+    private static final Set<String> UNICODE_CHARSETS = new HashSet<String>(Arrays.asList(
+            "UTF-8", "UTF-16", "UTF-16BE", "UTF-16LE", "UTF-32", "UTF-32BE", "UTF-32LE"));
+
+    /**
+     * Checks if the given charset is one of the Unicode encodings json may be written in. Parsers
+     * that read bytes and detect these encodings themselves can skip decoding to characters.
+     *
+     * @param charset charset name
+     * @return true if charset is UTF-8, UTF-16 or UTF-32
+     */
+    protected static boolean isUnicodeCharset(String charset) {
+        try {
+            return UNICODE_CHARSETS.contains(Charset.forName(charset).name());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     /**
      * checks if object is an array
      *
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.json;
+
+import net.minidev.json.JSONValue;
+import net.minidev.json.writer.JsonReaderI;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable document model used by {@link CompactJsonProvider}.
+ *
+ * Objects keep their property names in a {@link Keys} instance shared by all objects with the
+ * same names in the same order, and their values in a flat array. Integral and floating point
+ * numbers are stored as primitives in a parallel long array and boxed when read. There are no
+ * per entry objects. The shared {@link Keys} are the shape of an object, see {@link ShapedObject}.
+ */
+final class CompactJsonModel {
+
+    private static final Object INT = new Object();
+    private static final Object LONG = new Object();
+    private static final Object DOUBLE = new Object();
+
+    private CompactJsonModel() {
+    }
+
+    /**
+     * Stores value at index i of the given slot arrays, returns the numbers array,
+     * allocated when the first number is stored.
+     */
+    private static long[] store(Object value, int i, Object[] values, long[] numbers, int length) {
+        Object type = null;
+        long bits = 0;
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            type = INT;
+            bits = ((Number) value).intValue();
+        } else if (value instanceof Long) {
+            type = LONG;
+            bits = (Long) value;
+        } else if (value instanceof Double) {
+            type = DOUBLE;
+            bits = Double.doubleToRawLongBits((Double) value);
+        }
+        if (type == null) {
+            values[i] = value;
+            return numbers;
+        }
+        if (numbers == null) {
+            numbers = new long[length];
+        }
+        values[i] = type;
+        numbers[i] = bits;
+        return numbers;
+    }
+
+    private static Object load(int i, Object[] values, long[] numbers) {
+        Object value = values[i];
+        if (value == INT) {
+            return (int) numbers[i];
+        } else if (value == LONG) {
+            return numbers[i];
+        } else if (value == DOUBLE) {
+            return Double.longBitsToDouble(numbers[i]);
+        }
+        return value;
+    }
+
+    /**
+     * An ordered set of property names shared by objects with the same layout.
+     */
+    static final class Keys {
+
+        private static final int HASH_LOOKUP_THRESHOLD = 8;
+
+        private final String[] names;
+        private final Map<String, Integer> index;
+
+        Keys(String[] names) {
+            this.names = names;
+            if (names.length > HASH_LOOKUP_THRESHOLD) {
+                index = new HashMap<String, Integer>(names.length * 2);
+                for (int i = 0; i < names.length; i++) {
+                    index.put(names[i], i);
+                }
+            } else {
+                index = null;
+            }
+        }
+
+        int indexOf(Object name) {
+            if (index != null) {
+                Integer i = index.get(name);
+                return i == null ? -1 : i;
+            }
+            for (int i = 0; i < names.length; i++) {
+                if (names[i] == name) {
+                    return i;
+                }
+            }
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int size() {
+            return names.length;
+        }
+
+        String name(int i) {
+            return names[i];
+        }
+    }
+
+    /**
+     * Interns property names and key layouts. Growth is bounded, once full new names and
+     * layouts are used without being shared.
+     */
+    static final class Dictionary {
+
+        private static final int MAX_ENTRIES = 100000;
+
+        private final ConcurrentMap<String, String> names = new ConcurrentHashMap<String, String>();
+        private final ConcurrentMap<List<String>, Keys> layouts = new ConcurrentHashMap<List<String>, Keys>();
+
+        String name(String name) {
+            String interned = names.get(name);
+            if (interned != null) {
+                return interned;
+            }
+            if (names.size() >= MAX_ENTRIES) {
+                return name;
+            }
+            interned = names.putIfAbsent(name, name);
+            return interned == null ? name : interned;
+        }
+
+        Keys keys(String[] keyNames) {
+            List<String> layout = Arrays.asList(keyNames);
+            Keys keys = layouts.get(layout);
+            if (keys != null) {
+                return keys;
+            }
+            keys = new Keys(keyNames);
+            if (layouts.size() >= MAX_ENTRIES) {
+                return keys;
+            }
+            Keys existing = layouts.putIfAbsent(layout, keys);
+            return existing == null ? keys : existing;
+        }
+    }
+
+    static final class CompactObject extends AbstractMap<String, Object> implements ShapedObject {
+        private final Keys keys;
+        private final Object[] values;
+        private final long[] numbers;
+
+        private CompactObject(Keys keys, Object[] values, long[] numbers) {
+            this.keys = keys;
+            this.values = values;
+            this.numbers = numbers;
+        }
+
+        @Override
+        public Object shape() {
+            return keys;
+        }
+
+        @Override
+        public int slotOf(String property) {
+            return keys.indexOf(property);
+        }
+
+        @Override
+        public Object valueAt(int slot) {
+            return load(slot, values, numbers);
+        }
+
+        @Override
+        public Object get(Object key) {
+            int i = keys.indexOf(key);
+            return i < 0 ? null : load(i, values, numbers);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return keys.indexOf(key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return keys.size();
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return new AbstractSet<String>() {
+                @Override
+                public Iterator<String> iterator() {
+                    return new SlotIterator<String>(keys.size()) {
+                        @Override
+                        String get(int i) {
+                            return keys.name(i);
+                        }
+                    };
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    return keys.indexOf(o) >= 0;
+                }
+
+                @Override
+                public int size() {
+                    return keys.size();
+                }
+            };
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new SlotIterator<Entry<String, Object>>(keys.size()) {
+                        @Override
+                        Entry<String, Object> get(int i) {
+                            return new SimpleImmutableEntry<String, Object>(keys.name(i), load(i, values, numbers));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.size();
+                }
+            };
+        }
+    }
+
+    static final class CompactArray extends AbstractList<Object> implements RandomAccess {
+        private final Object[] values;
+        private final long[] numbers;
+
+        private CompactArray(Object[] values, long[] numbers) {
+            this.values = values;
+            this.numbers = numbers;
+        }
+
+        @Override
+        public Object get(int index) {
+            if (index < 0 || index >= values.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + values.length);
+            }
+            return load(index, values, numbers);
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    private abstract static class SlotIterator<T> implements Iterator<T> {
+        private final int size;
+        private int next;
+
+        SlotIterator(int size) {
+            this.size = size;
+        }
+
+        abstract T get(int i);
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public T next() {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            return get(next++);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * json-smart reader building compact objects and arrays. Containers are collected in
+     * ordinary collections while parsing and converted when complete.
+     */
+    static final class Reader extends JsonReaderI<Object> {
+
+        private final Dictionary dictionary;
+
+        Reader(Dictionary dictionary) {
+            super(JSONValue.defaultReader);
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public JsonReaderI<?> startObject(String key) {
+            return this;
+        }
+
+        @Override
+        public JsonReaderI<?> startArray(String key) {
+            return this;
+        }
+
+        @Override
+        public Object createObject() {
+            return new LinkedHashMap<String, Object>();
+        }
+
+        @Override
+        public Object createArray() {
+            return new ArrayList<Object>();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void setValue(Object current, String key, Object value) {
+            ((Map<String, Object>) current).put(key, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void addValue(Object current, Object value) {
+            ((List<Object>) current).add(value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object convert(Object current) {
+            if (current instanceof LinkedHashMap) {
+                return toObject((Map<String, Object>) current);
+            } else if (current instanceof ArrayList) {
+                return toArray((List<Object>) current);
+            }
+            return current;
+        }
+
+        private CompactObject toObject(Map<String, Object> map) {
+            int size = map.size();
+            String[] names = new String[size];
+            Object[] values = new Object[size];
+            long[] numbers = null;
+            int i = 0;
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                names[i] = dictionary.name(entry.getKey());
+                numbers = store(entry.getValue(), i, values, numbers, size);
+                i++;
+            }
+            return new CompactObject(dictionary.keys(names), values, numbers);
+        }
+
+        private CompactArray toArray(List<Object> list) {
+            int size = list.size();
+            Object[] values = new Object[size];
+            long[] numbers = null;
+            for (int i = 0; i < size; i++) {
+                numbers = store(list.get(i), i, values, numbers, size);
+            }
+            return new CompactArray(values, numbers);
+        }
+    }
+}
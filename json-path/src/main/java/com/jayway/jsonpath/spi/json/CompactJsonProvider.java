@@ -0,0 +1,110 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.json;
+
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPathException;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONStyle;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParseException;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A provider producing compact, immutable documents, intended for keeping many parsed
+ * documents in memory.
+ *
+ * Objects share their property names, and the layout of names, with all other objects
+ * parsed by the same provider instance. Values are kept in flat arrays with numbers stored
+ * as primitives. Objects with the same layout share a {@link ShapedObject shape}, path evaluation
+ * caches the slot of a property per shape so reading it from every object of a homogeneous
+ * array resolves the name once. Documents are read only, modifying them through a
+ * {@link com.jayway.jsonpath.WriteContext} fails with an {@link UnsupportedOperationException}.
+ */
+public class CompactJsonProvider extends AbstractJsonProvider {
+
+    private final int parseMode;
+    private final CompactJsonModel.Reader reader;
+
+    public CompactJsonProvider() {
+        this(JSONParser.MODE_PERMISSIVE);
+    }
+
+    public CompactJsonProvider(int parseMode) {
+        this.parseMode = parseMode;
+        this.reader = new CompactJsonModel.Reader(new CompactJsonModel.Dictionary());
+    }
+
+    @Override
+    public Object parse(String json) throws InvalidJsonException {
+        try {
+            return new JSONParser(parseMode).parse(json, reader);
+        } catch (ParseException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+
+    @Override
+    public Object parse(InputStream jsonStream, String charset) throws InvalidJsonException {
+        try {
+            return new JSONParser(parseMode).parse(new BufferedReader(new InputStreamReader(jsonStream, charset)), reader);
+        } catch (ParseException e) {
+            throw new InvalidJsonException(e);
+        } catch (UnsupportedEncodingException e) {
+            throw new JsonPathException(e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public String toJson(Object obj) {
+        if (obj instanceof Map) {
+            return JSONObject.toJSONString((Map<String, ?>) obj, JSONStyle.LT_COMPRESS);
+        } else if (obj instanceof List) {
+            return JSONArray.toJSONString((List<?>) obj, JSONStyle.LT_COMPRESS);
+        } else {
+            throw new UnsupportedOperationException(obj.getClass().getName() + " can not be converted to JSON");
+        }
+    }
+
+    @Override
+    public Object getMapValue(Object obj, String key) {
+        if (obj instanceof ShapedObject) {
+            ShapedObject object = (ShapedObject) obj;
+            int slot = object.slotOf(key);
+            return slot < 0 ? UNDEFINED : object.valueAt(slot);
+        }
+        return super.getMapValue(obj, key);
+    }
+
+    @Override
+    public Object createArray() {
+        return new ArrayList<Object>();
+    }
+
+    @Override
+    public Object createMap() {
+        return new LinkedHashMap<String, Object>();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.json;
+
+import com.jayway.jsonpath.internal.JsonSmartAccess;
+import com.jayway.jsonpath.internal.path.Projection;
+import net.minidev.json.JSONValue;
+import net.minidev.json.parser.ParseException;
+import net.minidev.json.writer.JsonReaderI;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * json-smart reader handing the elements of one array in a document to a handler as they are
+ * parsed. Neither the array nor anything outside of it is built.
+ */
+final class ElementStreamReader extends JsonReaderI<Object> {
+
+    private final Stream stream;
+    private final int depth;
+    private final JsonReaderI<?> delegate;
+    private boolean array;
+
+    private ElementStreamReader(Stream stream, int depth, JsonReaderI<?> delegate) {
+        super(JSONValue.defaultReader);
+        this.stream = stream;
+        this.depth = depth;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Creates a reader for a document
+     *
+     * @param arrayPath         properties leading to the streamed array
+     * @param elementProjection parts of the elements to build
+     * @param delegate          reader building the elements
+     * @param handler           receives the elements
+     * @return the reader for the root of the document
+     */
+    static ElementStreamReader create(List<String> arrayPath, Projection elementProjection, JsonReaderI<?> delegate, JsonSmartAccess.ElementHandler handler) {
+        return new ElementStreamReader(new Stream(arrayPath, elementProjection, handler), 0, delegate);
+    }
+
+    /**
+     * @return true if the array was found in the document
+     */
+    boolean found() {
+        return stream.found;
+    }
+
+    private boolean isTarget() {
+        return depth == stream.arrayPath.size();
+    }
+
+    @Override
+    public JsonReaderI<?> startObject(String key) throws ParseException, IOException {
+        if (isTarget()) {
+            if (!array) {
+                return ProjectingReader.SKIP;
+            }
+            return stream.elementProjection.isComplete()
+                    ? delegate.startObject(key)
+                    : new ProjectingReader(stream.elementProjection, delegate.startObject(key));
+        }
+        // keys are not meaningful for the values of an array
+        if (array || !stream.arrayPath.get(depth).equals(key) || depth + 1 == stream.arrayPath.size()) {
+            return ProjectingReader.SKIP;
+        }
+        return new ElementStreamReader(stream, depth + 1, delegate);
+    }
+
+    @Override
+    public JsonReaderI<?> startArray(String key) throws ParseException, IOException {
+        if (isTarget()) {
+            if (!array) {
+                return ProjectingReader.SKIP;
+            }
+            return stream.elementProjection.isComplete()
+                    ? delegate.startArray(key)
+                    : new ProjectingReader(stream.elementProjection, delegate.startArray(key));
+        }
+        if (array || !stream.arrayPath.get(depth).equals(key)) {
+            return ProjectingReader.SKIP;
+        }
+        return new ElementStreamReader(stream, depth + 1, delegate);
+    }
+
+    @Override
+    public Object createObject() {
+        array = false;
+        return ProjectingReader.SKIPPED;
+    }
+
+    @Override
+    public Object createArray() {
+        array = true;
+        if (isTarget()) {
+            stream.found = true;
+        }
+        return ProjectingReader.SKIPPED;
+    }
+
+    @Override
+    public void setValue(Object current, String key, Object value) {
+    }
+
+    @Override
+    public void addValue(Object current, Object value) {
+        if (isTarget() && array) {
+            stream.handler.element(stream.index++, value);
+        }
+    }
+
+    @Override
+    public Object convert(Object current) {
+        return ProjectingReader.SKIPPED;
+    }
+
+    private static final class Stream {
+        private final List<String> arrayPath;
+        private final Projection elementProjection;
+        private final JsonSmartAccess.ElementHandler handler;
+        private long index;
+        private boolean found;
+
+        private Stream(List<String> arrayPath, Projection elementProjection, JsonSmartAccess.ElementHandler handler) {
+            this.arrayPath = arrayPath;
+            this.elementProjection = elementProjection;
+            this.handler = handler;
+        }
+    }
+}
@@ -55,6 +55,10 @@ public class JacksonJsonNodeJsonProvider extends AbstractJsonProvider {
     @Override
     public Object parse(InputStream jsonStream, String charset) throws InvalidJsonException {
         try {
+            if (isUnicodeCharset(charset)) {
+                // Jackson's byte parser detects UTF-8/16/32 itself and avoids decoding to chars
+                return objectMapper.readTree(jsonStream);
+            }
             return objectMapper.readTree(new InputStreamReader(jsonStream, charset));
         } catch (IOException e) {
             throw new InvalidJsonException(e);
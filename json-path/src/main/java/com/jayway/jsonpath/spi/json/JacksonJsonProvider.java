@@ -23,8 +23,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 
 public class JacksonJsonProvider extends AbstractJsonProvider {
@@ -76,6 +76,10 @@ public class JacksonJsonProvider extends AbstractJsonProvider {
     @Override
     public Object parse(InputStream jsonStream, String charset) throws InvalidJsonException {
         try {
+            if (isUnicodeCharset(charset)) {
+                // Jackson's byte parser detects UTF-8/16/32 itself and avoids decoding to chars
+                return objectReader.readValue(jsonStream);
+            }
             return objectReader.readValue(new InputStreamReader(jsonStream, charset));
         } catch (IOException e) {
             throw new InvalidJsonException(e);
@@ -99,7 +103,7 @@ public class JacksonJsonProvider extends AbstractJsonProvider {
 
     @Override
     public List<Object> createArray() {
-        return new LinkedList<Object>();
+        return new ArrayList<Object>();
     }
 
     @Override
@@ -1,6 +1,5 @@
 package com.jayway.jsonpath.spi.json;
 
-import com.google.gson.JsonObject;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.JsonPathException;
 import org.json.JSONArray;
@@ -62,7 +61,7 @@ public class JsonOrgJsonProvider extends AbstractJsonProvider {
 
     @Override
     public Object createMap() {
-        return new JsonObject();
+        return new JSONObject();
     }
 
     @Override
@@ -96,11 +95,10 @@ public class JsonOrgJsonProvider extends AbstractJsonProvider {
     public Object getMapValue(Object obj, String key) {
         try {
             JSONObject jsonObject = toJsonObject(obj);
-            Object o = jsonObject.get(key);
             if (!jsonObject.has(key)) {
                 return UNDEFINED;
             } else {
-                return unwrap(o);
+                return unwrap(jsonObject.get(key));
             }
         } catch (JSONException e) {
             throw new JsonPathException(e);
@@ -32,7 +32,8 @@ public interface JsonProvider {
     Object parse(String json) throws InvalidJsonException;
 
     /**
-     * Parse the given json string
+     * Parse the given json string. Providers may read the bytes directly when charset
+     * is a Unicode encoding their parser detects on its own.
      * @param jsonStream input stream to parse
      * @param charset charset to use
      * @return Object representation of json
@@ -16,6 +16,8 @@ package com.jayway.jsonpath.spi.json;
 
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.internal.JsonSmartAccess;
+import com.jayway.jsonpath.internal.path.Projection;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
 import net.minidev.json.JSONStyle;
@@ -24,6 +26,7 @@ import net.minidev.json.parser.JSONParser;
 import net.minidev.json.parser.ParseException;
 import net.minidev.json.writer.JsonReaderI;
 
+import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
@@ -32,6 +35,25 @@ import java.util.Map;
 
 public class JsonSmartJsonProvider extends AbstractJsonProvider {
 
+    static {
+        JsonSmartAccess.set(new JsonSmartAccess() {
+            @Override
+            protected Object parseProjected(JsonSmartJsonProvider jsonProvider, String json, Projection projection) {
+                return jsonProvider.parse(json, projection);
+            }
+
+            @Override
+            protected Object parseProjected(JsonSmartJsonProvider jsonProvider, InputStream jsonStream, String charset, Projection projection) {
+                return jsonProvider.parse(jsonStream, charset, projection);
+            }
+
+            @Override
+            protected boolean streamElements(JsonSmartJsonProvider jsonProvider, InputStream jsonStream, String charset, List<String> arrayPath, Projection elementProjection, ElementHandler handler) {
+                return jsonProvider.parseElements(jsonStream, charset, arrayPath, elementProjection, handler);
+            }
+        });
+    }
+
     private final int parseMode;
     private final JsonReaderI<?> mapper;
 
@@ -65,10 +87,76 @@ public class JsonSmartJsonProvider extends AbstractJsonProvider {
         }
     }
 
+    /**
+     * Parses a document, building only the parts in the given projection
+     *
+     * @param json       the document
+     * @param projection the parts of the document to build
+     * @return the partial document
+     * @throws InvalidJsonException if the document is not valid
+     */
+    Object parse(String json, Projection projection) throws InvalidJsonException {
+        if (projection.isComplete()) {
+            return parse(json);
+        }
+        try {
+            return createParser().parse(json, new ProjectingReader(projection, mapper));
+        } catch (ParseException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+
+    /**
+     * Parses a document, building only the parts in the given projection
+     *
+     * @param jsonStream the document
+     * @param charset    charset of the stream
+     * @param projection the parts of the document to build
+     * @return the partial document
+     * @throws InvalidJsonException if the document is not valid
+     */
+    Object parse(InputStream jsonStream, String charset, Projection projection) throws InvalidJsonException {
+        if (projection.isComplete()) {
+            return parse(jsonStream, charset);
+        }
+        try {
+            return createParser().parse(new BufferedReader(new InputStreamReader(jsonStream, charset)), new ProjectingReader(projection, mapper));
+        } catch (ParseException e) {
+            throw new InvalidJsonException(e);
+        } catch (UnsupportedEncodingException e) {
+            throw new JsonPathException(e);
+        }
+    }
+
+    /**
+     * Parses a document and hands the elements of one array in it to a handler as soon as each
+     * element is parsed. Neither the array nor anything outside of it is built, so memory use
+     * does not grow with the size of the array.
+     *
+     * @param jsonStream        the document
+     * @param charset           charset of the stream
+     * @param arrayPath         the properties leading to the array, empty for a document that is an array
+     * @param elementProjection the parts of the elements to build
+     * @param handler           receives the elements
+     * @return false if the document has no array at the given location
+     * @throws InvalidJsonException if the document is not valid
+     */
+    boolean parseElements(InputStream jsonStream, String charset, List<String> arrayPath, Projection elementProjection, JsonSmartAccess.ElementHandler handler) throws InvalidJsonException {
+        ElementStreamReader reader = ElementStreamReader.create(arrayPath, elementProjection, mapper, handler);
+        try {
+            createParser().parse(new BufferedReader(new InputStreamReader(jsonStream, charset)), reader);
+            return reader.found();
+        } catch (ParseException e) {
+            throw new InvalidJsonException(e);
+        } catch (UnsupportedEncodingException e) {
+            throw new JsonPathException(e);
+        }
+    }
+
     @Override
     public Object parse(InputStream jsonStream, String charset) throws InvalidJsonException {
         try {
-            return createParser().parse(new InputStreamReader(jsonStream, charset), mapper);
+            return createParser().parse(new BufferedReader(new InputStreamReader(jsonStream, charset)), mapper);
         } catch (ParseException e) {
             throw new InvalidJsonException(e);
         } catch (UnsupportedEncodingException e) {
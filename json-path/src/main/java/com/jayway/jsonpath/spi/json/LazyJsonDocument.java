@@ -0,0 +1,455 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.json;
+
+import com.jayway.jsonpath.InvalidJsonException;
+
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Json text plus a structural index used by {@link LazyJsonProvider}.
+ *
+ * Parsing makes a single pass over the text that records, for every object and array in
+ * document order, the position of its closing bracket and the ordinal of the first container
+ * following it. With that index the members of a container can be read without scanning
+ * nested containers, which are skipped in constant time. Objects and arrays are only read
+ * when first accessed.
+ */
+final class LazyJsonDocument {
+
+    private final String json;
+    private int[] closePositions = new int[16];
+    private int[] nextOrdinals = new int[16];
+
+    private LazyJsonDocument(String json) {
+        this.json = json;
+    }
+
+    /**
+     * Indexes the given json and returns its root value, a lazily read Map or List for
+     * objects and arrays.
+     */
+    static Object parse(String json) {
+        LazyJsonDocument document = new LazyJsonDocument(json);
+        document.index();
+        Cursor cursor = new Cursor(document.skipWhitespace(0), 0);
+        if (cursor.pos >= json.length()) {
+            throw new InvalidJsonException("Empty json document");
+        }
+        Object root = document.readValue(cursor);
+        if (document.skipWhitespace(cursor.pos) != json.length()) {
+            throw document.error("Unexpected character", document.skipWhitespace(cursor.pos));
+        }
+        return root;
+    }
+
+    private void index() {
+        int length = json.length();
+        int[] stack = new int[16];
+        int depth = 0;
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            char c = json.charAt(i);
+            if (c == '"') {
+                i = endOfString(i);
+            } else if (c == '{' || c == '[') {
+                if (count == closePositions.length) {
+                    closePositions = grow(closePositions);
+                    nextOrdinals = grow(nextOrdinals);
+                }
+                if (depth == stack.length) {
+                    stack = grow(stack);
+                }
+                stack[depth++] = count;
+                closePositions[count++] = i;
+            } else if (c == '}' || c == ']') {
+                if (depth == 0) {
+                    throw error("Unbalanced '" + c + "'", i);
+                }
+                int ordinal = stack[--depth];
+                char open = json.charAt(closePositions[ordinal]);
+                if ((open == '{') != (c == '}')) {
+                    throw error("Unbalanced '" + c + "'", i);
+                }
+                closePositions[ordinal] = i;
+                nextOrdinals[ordinal] = count;
+            }
+        }
+        if (depth != 0) {
+            throw error("Unterminated object or array", length);
+        }
+    }
+
+    private static int[] grow(int[] array) {
+        int[] grown = new int[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    private int endOfString(int start) {
+        int length = json.length();
+        for (int i = start + 1; i < length; i++) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i;
+            }
+        }
+        throw error("Unterminated string", start);
+    }
+
+    private int skipWhitespace(int pos) {
+        int length = json.length();
+        while (pos < length) {
+            char c = json.charAt(pos);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private char charAt(int pos) {
+        return pos < json.length() ? json.charAt(pos) : 0;
+    }
+
+    private InvalidJsonException error(String message, int pos) {
+        return new InvalidJsonException(message + " at position " + pos);
+    }
+
+    Map<String, Object> readMembers(int open, int ordinal) {
+        Map<String, Object> members = new LinkedHashMap<String, Object>();
+        Cursor cursor = new Cursor(skipWhitespace(open + 1), ordinal + 1);
+        if (charAt(cursor.pos) == '}') {
+            return members;
+        }
+        while (true) {
+            if (charAt(cursor.pos) != '"') {
+                throw error("Expected property name", cursor.pos);
+            }
+            String key = readString(cursor);
+            cursor.pos = skipWhitespace(cursor.pos);
+            if (charAt(cursor.pos) != ':') {
+                throw error("Expected ':'", cursor.pos);
+            }
+            cursor.pos = skipWhitespace(cursor.pos + 1);
+            members.put(key, readValue(cursor));
+            cursor.pos = skipWhitespace(cursor.pos);
+            char c = charAt(cursor.pos);
+            if (c == '}') {
+                return members;
+            } else if (c != ',') {
+                throw error("Expected ',' or '}'", cursor.pos);
+            }
+            cursor.pos = skipWhitespace(cursor.pos + 1);
+        }
+    }
+
+    List<Object> readElements(int open, int ordinal) {
+        List<Object> elements = new ArrayList<Object>();
+        Cursor cursor = new Cursor(skipWhitespace(open + 1), ordinal + 1);
+        if (charAt(cursor.pos) == ']') {
+            return elements;
+        }
+        while (true) {
+            elements.add(readValue(cursor));
+            cursor.pos = skipWhitespace(cursor.pos);
+            char c = charAt(cursor.pos);
+            if (c == ']') {
+                return elements;
+            } else if (c != ',') {
+                throw error("Expected ',' or ']'", cursor.pos);
+            }
+            cursor.pos = skipWhitespace(cursor.pos + 1);
+        }
+    }
+
+    private Object readValue(Cursor cursor) {
+        int pos = cursor.pos;
+        switch (charAt(pos)) {
+            case '{':
+                LazyObject object = new LazyObject(this, pos, cursor.ordinal);
+                cursor.skipContainer(this);
+                return object;
+            case '[':
+                LazyArray array = new LazyArray(this, pos, cursor.ordinal);
+                cursor.skipContainer(this);
+                return array;
+            case '"':
+                return readString(cursor);
+            case 't':
+                return readLiteral(cursor, "true", Boolean.TRUE);
+            case 'f':
+                return readLiteral(cursor, "false", Boolean.FALSE);
+            case 'n':
+                return readLiteral(cursor, "null", null);
+            default:
+                return readNumber(cursor);
+        }
+    }
+
+    private Object readLiteral(Cursor cursor, String literal, Object value) {
+        if (!json.startsWith(literal, cursor.pos)) {
+            throw error("Unexpected character", cursor.pos);
+        }
+        cursor.pos += literal.length();
+        return value;
+    }
+
+    private Object readNumber(Cursor cursor) {
+        int start = cursor.pos;
+        int pos = start;
+        boolean decimal = false;
+        while (pos < json.length()) {
+            char c = json.charAt(pos);
+            if (c == '.' || c == 'e' || c == 'E') {
+                decimal = true;
+            } else if ((c < '0' || c > '9') && c != '-' && c != '+') {
+                break;
+            }
+            pos++;
+        }
+        if (pos == start) {
+            throw error("Unexpected character", start);
+        }
+        cursor.pos = pos;
+        String number = json.substring(start, pos);
+        try {
+            if (decimal) {
+                return Double.valueOf(number);
+            } else if (number.length() < 10) {
+                return Integer.valueOf(number);
+            }
+            long value = Long.parseLong(number);
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            if (!decimal) {
+                try {
+                    return new BigInteger(number);
+                } catch (NumberFormatException ignore) {
+                }
+            }
+            throw error("Invalid number '" + number + "'", start);
+        }
+    }
+
+    private String readString(Cursor cursor) {
+        int start = cursor.pos + 1;
+        int end = endOfString(cursor.pos);
+        cursor.pos = end + 1;
+        int escape = start;
+        while (escape < end && json.charAt(escape) != '\\') {
+            escape++;
+        }
+        if (escape == end) {
+            return json.substring(start, end);
+        }
+        StringBuilder sb = new StringBuilder(end - start);
+        sb.append(json, start, escape);
+        for (int i = escape; i < end; i++) {
+            char c = json.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            char escaped = json.charAt(++i);
+            switch (escaped) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if (i + 4 >= end) {
+                        throw error("Invalid unicode escape", i);
+                    }
+                    try {
+                        sb.append((char) Integer.parseInt(json.substring(i + 1, i + 5), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid unicode escape", i);
+                    }
+                    i += 4;
+                    break;
+                default:
+                    sb.append(escaped);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Position in the text and ordinal of the next container while reading a sequence of values.
+     */
+    private static final class Cursor {
+        private int pos;
+        private int ordinal;
+
+        private Cursor(int pos, int ordinal) {
+            this.pos = pos;
+            this.ordinal = ordinal;
+        }
+
+        private void skipContainer(LazyJsonDocument document) {
+            pos = document.closePositions[ordinal] + 1;
+            ordinal = document.nextOrdinals[ordinal];
+        }
+    }
+
+    /**
+     * A json object whose members are read on first access. It can be modified like any other map.
+     */
+    static final class LazyObject extends AbstractMap<String, Object> {
+        private final LazyJsonDocument document;
+        private final int open;
+        private final int ordinal;
+        private volatile Map<String, Object> members;
+
+        private LazyObject(LazyJsonDocument document, int open, int ordinal) {
+            this.document = document;
+            this.open = open;
+            this.ordinal = ordinal;
+        }
+
+        private Map<String, Object> members() {
+            Map<String, Object> m = members;
+            if (m == null) {
+                m = document.readMembers(open, ordinal);
+                members = m;
+            }
+            return m;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return members().entrySet();
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return members().keySet();
+        }
+
+        @Override
+        public Collection<Object> values() {
+            return members().values();
+        }
+
+        @Override
+        public int size() {
+            return members().size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return members().containsKey(key);
+        }
+
+        @Override
+        public Object get(Object key) {
+            return members().get(key);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return members().put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return members().remove(key);
+        }
+
+        @Override
+        public void clear() {
+            members().clear();
+        }
+    }
+
+    /**
+     * A json array whose elements are read on first access. It can be modified like any other list.
+     */
+    static final class LazyArray extends AbstractList<Object> implements RandomAccess {
+        private final LazyJsonDocument document;
+        private final int open;
+        private final int ordinal;
+        private volatile List<Object> elements;
+
+        private LazyArray(LazyJsonDocument document, int open, int ordinal) {
+            this.document = document;
+            this.open = open;
+            this.ordinal = ordinal;
+        }
+
+        private List<Object> elements() {
+            List<Object> e = elements;
+            if (e == null) {
+                e = document.readElements(open, ordinal);
+                elements = e;
+            }
+            return e;
+        }
+
+        @Override
+        public Object get(int index) {
+            return elements().get(index);
+        }
+
+        @Override
+        public int size() {
+            return elements().size();
+        }
+
+        @Override
+        public Object set(int index, Object element) {
+            return elements().set(index, element);
+        }
+
+        @Override
+        public void add(int index, Object element) {
+            elements().add(index, element);
+            modCount++;
+        }
+
+        @Override
+        public Object remove(int index) {
+            modCount++;
+            return elements().remove(index);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.json;
+
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPathException;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A provider that reads objects and arrays on demand.
+ *
+ * Parsing only indexes the structure of the document. Objects and arrays are returned as
+ * {@link Map} and {@link List} views whose content is read the first time they are accessed,
+ * so evaluating a path only reads the containers the path visits. This makes parsing cheap
+ * for documents where only a small part is read.
+ *
+ * Input must be strict json. Syntax errors inside containers that are never accessed are
+ * not reported, errors in accessed containers are thrown as {@link InvalidJsonException}
+ * on access.
+ */
+public class LazyJsonProvider extends AbstractJsonProvider {
+
+    @Override
+    public Object parse(String json) throws InvalidJsonException {
+        return LazyJsonDocument.parse(json);
+    }
+
+    @Override
+    public Object parse(InputStream jsonStream, String charset) throws InvalidJsonException {
+        try {
+            Reader reader = new InputStreamReader(jsonStream, charset);
+            StringBuilder sb = new StringBuilder();
+            char[] buffer = new char[8192];
+            int n;
+            while ((n = reader.read(buffer)) != -1) {
+                sb.append(buffer, 0, n);
+            }
+            return parse(sb.toString());
+        } catch (UnsupportedEncodingException e) {
+            throw new JsonPathException(e);
+        } catch (IOException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public String toJson(Object obj) {
+        if (obj instanceof Map) {
+            return JSONObject.toJSONString((Map<String, ?>) obj, JSONStyle.LT_COMPRESS);
+        } else if (obj instanceof List) {
+            return JSONArray.toJSONString((List<?>) obj, JSONStyle.LT_COMPRESS);
+        } else {
+            throw new UnsupportedOperationException(obj.getClass().getName() + " can not be converted to JSON");
+        }
+    }
+
+    @Override
+    public Object createArray() {
+        return new ArrayList<Object>();
+    }
+
+    @Override
+    public Object createMap() {
+        return new LinkedHashMap<String, Object>();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.json;
+
+import com.jayway.jsonpath.internal.path.Projection;
+import net.minidev.json.JSONValue;
+import net.minidev.json.parser.ParseException;
+import net.minidev.json.writer.JsonReaderI;
+
+import java.io.IOException;
+
+/**
+ * json-smart reader building only the parts of a document in a {@link Projection}. Containers
+ * that are needed are built by the delegate reader, everything else is parsed and dropped.
+ */
+final class ProjectingReader extends JsonReaderI<Object> {
+
+    /**
+     * Stands in for the containers parsed by {@link #SKIP}.
+     */
+    static final Object SKIPPED = new Object();
+
+    /**
+     * Parses a value and builds nothing of it.
+     */
+    static final JsonReaderI<Object> SKIP = new JsonReaderI<Object>(JSONValue.defaultReader) {
+        @Override
+        public JsonReaderI<?> startObject(String key) {
+            return this;
+        }
+
+        @Override
+        public JsonReaderI<?> startArray(String key) {
+            return this;
+        }
+
+        @Override
+        public Object createObject() {
+            return SKIPPED;
+        }
+
+        @Override
+        public Object createArray() {
+            return SKIPPED;
+        }
+
+        @Override
+        public void setValue(Object current, String key, Object value) {
+        }
+
+        @Override
+        public void addValue(Object current, Object value) {
+        }
+    };
+
+    private final Projection projection;
+    private final JsonReaderI<?> delegate;
+    private boolean array;
+
+    ProjectingReader(Projection projection, JsonReaderI<?> delegate) {
+        super(JSONValue.defaultReader);
+        this.projection = projection;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public JsonReaderI<?> startObject(String key) throws ParseException, IOException {
+        // json-smart passes the last property name for values in arrays
+        Projection child = array ? projection.element() : projection.child(key);
+        if (child == null) {
+            return SKIP;
+        }
+        return child.isComplete() ? delegate.startObject(key) : new ProjectingReader(child, delegate.startObject(key));
+    }
+
+    @Override
+    public JsonReaderI<?> startArray(String key) throws ParseException, IOException {
+        Projection child = array ? projection.element() : projection.child(key);
+        if (child == null) {
+            return SKIP;
+        }
+        return child.isComplete() ? delegate.startArray(key) : new ProjectingReader(child, delegate.startArray(key));
+    }
+
+    @Override
+    public Object createObject() {
+        array = false;
+        return delegate.createObject();
+    }
+
+    @Override
+    public Object createArray() {
+        array = true;
+        return delegate.createArray();
+    }
+
+    @Override
+    public void setValue(Object current, String key, Object value) throws ParseException, IOException {
+        if (value != SKIPPED && projection.child(key) != null) {
+            delegate.setValue(current, key, value);
+        }
+    }
+
+    @Override
+    public void addValue(Object current, Object value) throws ParseException, IOException {
+        delegate.addValue(current, value);
+    }
+
+    @Override
+    public Object convert(Object current) {
+        return delegate.convert(current);
+    }
+}
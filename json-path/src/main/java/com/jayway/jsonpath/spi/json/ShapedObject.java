@@ -0,0 +1,49 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.json;
+
+/**
+ * A json object whose property layout, its shape, is shared with other objects.
+ *
+ * Objects with the same shape have the same properties in the same slots, which lets path
+ * evaluation resolve the slot of a property once and reuse it for every object of that shape,
+ * for example for all elements of a homogeneous array. Reading a property through its slot
+ * must give the same result as {@link JsonProvider#getMapValue(Object, String)}.
+ */
+public interface ShapedObject {
+
+    /**
+     * Returns the shape of this object. Shapes are compared by identity.
+     *
+     * @return the shape
+     */
+    Object shape();
+
+    /**
+     * Returns the slot of the given property, the same for all objects of this shape.
+     *
+     * @param property property name
+     * @return the slot or -1 if objects of this shape do not have the property
+     */
+    int slotOf(String property);
+
+    /**
+     * Returns the value in the given slot.
+     *
+     * @param slot a slot returned by {@link #slotOf(String)}
+     * @return the value
+     */
+    Object valueAt(int slot);
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.metrics;
+
+/**
+ * Receives a record of every path evaluated with a {@link com.jayway.jsonpath.Configuration} the
+ * metrics are set on. Paths evaluated inside filters are part of the enclosing evaluation, the
+ * steps they take are added to it, and are not recorded on their own.
+ *
+ * Implementations are called on the evaluating thread and must be thread safe.
+ *
+ * @see PathMetricsCollector
+ */
+public interface EvaluationMetrics {
+
+    /**
+     * Records one evaluation of a path.
+     *
+     * @param path         the evaluated path, as it was compiled
+     * @param nanos        wall time of the evaluation in nanoseconds
+     * @param nodesVisited number of steps taken through the document
+     * @param results      number of results produced
+     * @param failure      the exception the evaluation failed with, or null
+     */
+    void evaluated(String path, long nanos, int nodesVisited, int results, Throwable failure);
+}
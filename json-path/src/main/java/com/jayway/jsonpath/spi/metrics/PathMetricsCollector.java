@@ -0,0 +1,171 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.metrics;
+
+import com.jayway.jsonpath.JsonPathException;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Aggregates evaluation records per path: evaluation and failure counts, a latency histogram,
+ * nodes visited and results produced. Statistics can be read with {@link #statistics()} or
+ * through JMX after {@link #register(String)}.
+ *
+ * <pre>
+ * PathMetricsCollector metrics = new PathMetricsCollector();
+ * Configuration conf = Configuration.builder().evaluationMetrics(metrics).build();
+ * </pre>
+ */
+public class PathMetricsCollector implements EvaluationMetrics, PathMetricsCollectorMXBean {
+
+    private static final Comparator<PathStatistics> BY_TOTAL_TIME = new Comparator<PathStatistics>() {
+        @Override
+        public int compare(PathStatistics a, PathStatistics b) {
+            return a.getTotalNanos() < b.getTotalNanos() ? 1 : (a.getTotalNanos() == b.getTotalNanos() ? 0 : -1);
+        }
+    };
+
+    private final ConcurrentMap<String, Counters> paths = new ConcurrentHashMap<String, Counters>();
+
+    @Override
+    public void evaluated(String path, long nanos, int nodesVisited, int results, Throwable failure) {
+        Counters counters = paths.get(path);
+        if (counters == null) {
+            Counters created = new Counters();
+            counters = paths.putIfAbsent(path, created);
+            if (counters == null) {
+                counters = created;
+            }
+        }
+        counters.record(nanos, nodesVisited, results, failure != null);
+    }
+
+    /**
+     * @param path the path
+     * @return statistics of the path, or null if it has not been evaluated
+     */
+    public PathStatistics statistics(String path) {
+        Counters counters = paths.get(path);
+        return counters == null ? null : counters.snapshot(path);
+    }
+
+    /**
+     * @return statistics of all evaluated paths
+     */
+    public List<PathStatistics> statistics() {
+        List<PathStatistics> statistics = new ArrayList<PathStatistics>(paths.size());
+        for (String path : paths.keySet()) {
+            PathStatistics snapshot = statistics(path);
+            if (snapshot != null) {
+                statistics.add(snapshot);
+            }
+        }
+        return statistics;
+    }
+
+    @Override
+    public List<PathStatistics> slowest(int limit) {
+        List<PathStatistics> statistics = statistics();
+        Collections.sort(statistics, BY_TOTAL_TIME);
+        return statistics.size() > limit ? new ArrayList<PathStatistics>(statistics.subList(0, limit)) : statistics;
+    }
+
+    @Override
+    public int getPathCount() {
+        return paths.size();
+    }
+
+    @Override
+    public long getEvaluationCount() {
+        long count = 0;
+        for (Counters counters : paths.values()) {
+            count += counters.evaluations.get();
+        }
+        return count;
+    }
+
+    @Override
+    public long getFailureCount() {
+        long count = 0;
+        for (Counters counters : paths.values()) {
+            count += counters.failures.get();
+        }
+        return count;
+    }
+
+    @Override
+    public void reset() {
+        paths.clear();
+    }
+
+    /**
+     * Registers this collector with the platform MBean server.
+     *
+     * @param name the object name, e.g. <code>com.jayway.jsonpath:type=PathMetrics</code>
+     * @return the registered name
+     */
+    public ObjectName register(String name) {
+        try {
+            ObjectName objectName = new ObjectName(name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (Exception e) {
+            throw new JsonPathException("Failed to register path metrics as " + name, e);
+        }
+    }
+
+    private static final class Counters {
+        private final AtomicLong evaluations = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong nodesVisited = new AtomicLong();
+        private final AtomicLong results = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(PathStatistics.BUCKETS);
+
+        private void record(long nanos, int nodes, int found, boolean failed) {
+            evaluations.incrementAndGet();
+            if (failed) {
+                failures.incrementAndGet();
+            }
+            totalNanos.addAndGet(nanos);
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+            nodesVisited.addAndGet(nodes);
+            results.addAndGet(found);
+            histogram.incrementAndGet(PathStatistics.bucket(nanos));
+        }
+
+        private PathStatistics snapshot(String path) {
+            long[] buckets = new long[histogram.length()];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = histogram.get(i);
+            }
+            return new PathStatistics(path, evaluations.get(), failures.get(), totalNanos.get(), maxNanos.get(),
+                    nodesVisited.get(), results.get(), buckets);
+        }
+    }
+}
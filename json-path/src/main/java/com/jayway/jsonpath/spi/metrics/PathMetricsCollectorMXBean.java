@@ -0,0 +1,37 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.metrics;
+
+import java.util.List;
+
+/**
+ * Management interface of a {@link PathMetricsCollector}.
+ */
+public interface PathMetricsCollectorMXBean {
+
+    int getPathCount();
+
+    long getEvaluationCount();
+
+    long getFailureCount();
+
+    /**
+     * @param limit maximum number of paths to return
+     * @return statistics of the paths with the highest total evaluation time, slowest first
+     */
+    List<PathStatistics> slowest(int limit);
+
+    void reset();
+}
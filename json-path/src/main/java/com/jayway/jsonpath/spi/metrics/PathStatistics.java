@@ -0,0 +1,116 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.metrics;
+
+/**
+ * Statistics of a path collected by a {@link PathMetricsCollector}.
+ *
+ * The latency histogram has {@link #BUCKETS} buckets, bucket <code>i</code> counts the evaluations
+ * that took less than <code>2^i</code> microseconds and, for i > 0, at least <code>2^(i-1)</code>.
+ * The last bucket also counts all slower evaluations.
+ */
+public final class PathStatistics {
+
+    public static final int BUCKETS = 32;
+
+    private final String path;
+    private final long evaluations;
+    private final long failures;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long nodesVisited;
+    private final long results;
+    private final long[] histogram;
+
+    PathStatistics(String path, long evaluations, long failures, long totalNanos, long maxNanos, long nodesVisited, long results, long[] histogram) {
+        this.path = path;
+        this.evaluations = evaluations;
+        this.failures = failures;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.nodesVisited = nodesVisited;
+        this.results = results;
+        this.histogram = histogram;
+    }
+
+    static int bucket(long nanos) {
+        int bucket = 64 - Long.numberOfLeadingZeros(nanos / 1000);
+        return bucket < BUCKETS ? bucket : BUCKETS - 1;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getMeanNanos() {
+        return evaluations == 0 ? 0 : totalNanos / evaluations;
+    }
+
+    public long getNodesVisited() {
+        return nodesVisited;
+    }
+
+    public long getResults() {
+        return results;
+    }
+
+    /**
+     * @return evaluation counts by latency, see the class documentation for the bucket bounds
+     */
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    /**
+     * Returns an upper bound of the given latency percentile, accurate to a power of two.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the upper bound in microseconds, 0 if the path has not been evaluated
+     */
+    public long percentileMicros(double percentile) {
+        long rank = (long) Math.ceil(evaluations * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank && seen > 0) {
+                return 1L << i;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return path + " evaluations=" + evaluations + " failures=" + failures + " meanNanos=" + getMeanNanos()
+                + " maxNanos=" + maxNanos + " p99Micros<=" + percentileMicros(99) + " nodesVisited=" + nodesVisited
+                + " results=" + results;
+    }
+}
@@ -2,11 +2,13 @@ package com.jayway.jsonpath;
 
 import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.path.PredicateContextImpl;
+import com.jayway.jsonpath.spi.json.CompactJsonProvider;
 import com.jayway.jsonpath.spi.json.GsonJsonProvider;
 import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
 import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
 import com.jayway.jsonpath.spi.json.JsonOrgJsonProvider;
 import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import com.jayway.jsonpath.spi.json.LazyJsonProvider;
 import com.jayway.jsonpath.spi.json.TapestryJsonProvider;
 import com.jayway.jsonpath.spi.mapper.GsonMappingProvider;
 import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
@@ -54,6 +56,18 @@ public class BaseTest {
         .jsonProvider(TapestryJsonProvider.INSTANCE)
         .build();
 
+    public static final Configuration LAZY_CONFIGURATION = Configuration
+            .builder()
+            .mappingProvider(new JsonSmartMappingProvider())
+            .jsonProvider(new LazyJsonProvider())
+            .build();
+
+    public static final Configuration COMPACT_CONFIGURATION = Configuration
+            .builder()
+            .mappingProvider(new JsonSmartMappingProvider())
+            .jsonProvider(new CompactJsonProvider())
+            .build();
+
     public static final String JSON_BOOK_DOCUMENT =
             "{ " +
             "   \"category\" : \"reference\",\n" +
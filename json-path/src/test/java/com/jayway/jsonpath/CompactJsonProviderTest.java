@@ -0,0 +1,91 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.json.ShapedObject;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.jayway.jsonpath.JsonPath.using;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompactJsonProviderTest extends BaseTest {
+
+    @Test
+    public void an_object_can_be_read() {
+        Map<String, Object> book = using(COMPACT_CONFIGURATION).parse(JSON_DOCUMENT).read("$.store.book[0]");
+
+        assertThat(book.get("author")).isEqualTo("Nigel Rees");
+        assertThat(book.keySet()).containsExactly("category", "author", "title", "display-price");
+        assertThat(book).containsEntry("display-price", 8.95D);
+    }
+
+    @Test
+    public void a_filter_can_be_applied() {
+        List<String> titles = using(COMPACT_CONFIGURATION).parse(JSON_DOCUMENT).read("$.store.book[?(@.display-price > 10)].title");
+
+        assertThat(titles).containsExactly("Sword of Honour", "The Lord of the Rings");
+    }
+
+    @Test
+    public void numbers_keep_their_types() {
+        DocumentContext ctx = using(COMPACT_CONFIGURATION).parse("{\"i\": 1, \"l\": 3000000000, \"d\": 1.5, \"a\": [1, 3000000000, 1.5, \"s\", null, true]}");
+
+        assertThat(ctx.read("$.i")).isEqualTo(1);
+        assertThat(ctx.read("$.l")).isEqualTo(3000000000L);
+        assertThat(ctx.read("$.d")).isEqualTo(1.5D);
+        assertThat(ctx.read("$.a", List.class)).containsExactly(1, 3000000000L, 1.5D, "s", null, true);
+    }
+
+    @Test
+    public void property_names_are_shared_between_documents() {
+        Map<String, Object> first = using(COMPACT_CONFIGURATION).parse("{\"shared-name\": 1}").read("$");
+        Map<String, Object> second = using(COMPACT_CONFIGURATION).parse("{\"shared-name\": 2}").read("$");
+
+        assertThat(second.keySet().iterator().next()).isSameAs(first.keySet().iterator().next());
+    }
+
+    @Test
+    public void large_objects_can_be_read() {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < 50; i++) {
+            json.append(i > 0 ? "," : "").append("\"k").append(i).append("\":").append(i);
+        }
+        DocumentContext ctx = using(COMPACT_CONFIGURATION).parse(json.append("}").toString());
+
+        assertThat(ctx.read("$.k42", Integer.class)).isEqualTo(42);
+        assertThat(ctx.read("$", Map.class)).doesNotContainKey("k50").hasSize(50);
+    }
+
+    @Test
+    public void objects_with_the_same_layout_share_a_shape() {
+        List<Object> items = using(COMPACT_CONFIGURATION).parse("[{\"a\": 1, \"b\": 2}, {\"a\": 3, \"b\": 4}, {\"b\": 5, \"a\": 6}]").read("$");
+
+        Object shape = ((ShapedObject) items.get(0)).shape();
+        assertThat(((ShapedObject) items.get(1)).shape()).isSameAs(shape);
+        assertThat(((ShapedObject) items.get(2)).shape()).isNotSameAs(shape);
+    }
+
+    @Test
+    public void properties_are_read_from_mixed_shapes() {
+        DocumentContext ctx = using(COMPACT_CONFIGURATION).parse(
+                "[{\"a\": 1, \"b\": 2}, {\"b\": 3, \"a\": 4}, {\"a\": 5, \"b\": 6}, {\"c\": 7}, {\"b\": 8, \"a\": 9}]");
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(ctx.read("$[*].a", List.class)).containsExactly(1, 4, 5, 9);
+            assertThat(ctx.read("$[?(@.b > 2)].a", List.class)).containsExactly(4, 5, 9);
+        }
+    }
+
+    @Test
+    public void documents_can_be_serialized() {
+        String json = "{\"a\":[1,2.5,\"x\",{\"b\":null}],\"c\":true}";
+
+        assertThat(using(COMPACT_CONFIGURATION).parse(json).jsonString()).isEqualTo(json);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void documents_are_read_only() {
+        using(COMPACT_CONFIGURATION).parse(JSON_DOCUMENT).set("$.store.book[0].author", "x");
+    }
+}
@@ -0,0 +1,92 @@
+package com.jayway.jsonpath;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentDocumentContextTest extends BaseTest {
+
+    @Test
+    public void writes_replace_the_document_of_the_context() {
+        DocumentContext original = JsonPath.parse(JSON_DOCUMENT);
+        Object document = original.json();
+        String json = original.jsonString();
+        ExtendedDocumentContext ctx = ((ExtendedDocumentContext) original).concurrent();
+
+        assertThat(ctx.set("$.store.book[0].display-price", 1)).isSameAs(ctx);
+        assertThat(ctx.delete("$.store.book[1]")).isSameAs(ctx);
+        assertThat(ctx.batch().put("$.store.bicycle", "gears", 21).add("$.store.book", "appended").apply()).isSameAs(ctx);
+
+        assertThat(ctx.read("$.store.book[0].display-price", Integer.class)).isEqualTo(1);
+        assertThat(ctx.read("$.store.book.length()", Integer.class)).isEqualTo(4);
+        assertThat(ctx.read("$.store.bicycle.gears", Integer.class)).isEqualTo(21);
+        assertThat(ctx.json()).isNotSameAs(document);
+        assertThat(original.jsonString()).isEqualTo(json);
+        assertThat(ctx.concurrent()).isSameAs(ctx);
+    }
+
+    @Test
+    public void nested_writes_are_kept_on_every_provider() {
+        for (Configuration conf : Configurations.configurations()) {
+            DocumentContext ctx = ((ExtendedDocumentContext) JsonPath.using(conf).parse(JSON_DOCUMENT)).concurrent();
+
+            ctx.set("$..display-price", "free").delete("$.store.book[?(@.category == 'fiction')]");
+
+            assertThat(ctx.read("$..display-price", List.class)).containsExactly("free", "free");
+            assertThat(ctx.read("$.store.book[*].category", List.class)).containsExactly("reference");
+        }
+    }
+
+    @Test
+    public void indexes_are_kept_across_versions() {
+        DocumentContext ctx = ((ExtendedDocumentContext) JsonPath.parse(JSON_DOCUMENT)).concurrent().createIndex("$.store.book[*]", "@.category");
+
+        ctx.set("$.store.book[0].category", "fiction");
+
+        assertThat(ctx.read("$.store.book[?(@.category == 'fiction')].author", List.class)).hasSize(4);
+        assertThat(ctx.read("$.store.book[?(@.category == 'reference')]", List.class)).isEmpty();
+    }
+
+    @Test
+    public void readers_never_see_a_partially_applied_batch() throws Exception {
+        final ExtendedDocumentContext ctx = ((ExtendedDocumentContext) JsonPath.parse("{\"pair\": {\"a\": 0, \"b\": 0}}")).concurrent();
+        final AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> readers = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < 3; i++) {
+                readers.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        int reads = 0;
+                        while (!done.get() || reads == 0) {
+                            Map<String, Object> pair = ctx.read("$.pair");
+                            assertThat(pair.get("a")).isEqualTo(pair.get("b"));
+                            reads++;
+                        }
+                        return reads;
+                    }
+                }));
+            }
+            for (int i = 1; i <= 2000; i++) {
+                ctx.batch().set("$.pair.a", i).set("$.pair.b", i).apply();
+            }
+            done.set(true);
+            for (Future<Integer> reader : readers) {
+                assertThat(reader.get()).isPositive();
+            }
+            assertThat(ctx.read("$.pair.b", Integer.class)).isEqualTo(2000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
 import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
 import com.jayway.jsonpath.spi.json.JsonOrgJsonProvider;
 import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import com.jayway.jsonpath.spi.json.LazyJsonProvider;
 import com.jayway.jsonpath.spi.mapper.GsonMappingProvider;
 import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 import com.jayway.jsonpath.spi.mapper.JsonOrgMappingProvider;
@@ -44,6 +45,12 @@ public class Configurations {
             .jsonProvider(new JsonSmartJsonProvider())
             .build();
 
+    public static final Configuration LAZY_CONFIGURATION = Configuration
+            .builder()
+            .mappingProvider(new JsonSmartMappingProvider())
+            .jsonProvider(new LazyJsonProvider())
+            .build();
+
     public static Iterable<Configuration> configurations() {
         return Arrays.asList(
                JSON_SMART_CONFIGURATION
@@ -51,6 +58,7 @@ public class Configurations {
                ,JACKSON_CONFIGURATION
                ,JACKSON_JSON_NODE_CONFIGURATION
                ,JSON_ORG_CONFIGURATION
+               ,LAZY_CONFIGURATION
         );
     }
 
@@ -0,0 +1,121 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.json.GsonJsonProvider;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeFalse;
+
+@RunWith(Parameterized.class)
+public class CopyOnWriteTest extends BaseTest {
+
+    private final Configuration COPY_ON_WRITE;
+
+    public CopyOnWriteTest(Configuration conf) {
+        this.COPY_ON_WRITE = conf.addOptions(Option.COPY_ON_WRITE);
+    }
+
+    @Parameterized.Parameters
+    public static Iterable<Configuration> configurations() {
+        return Configurations.configurations();
+    }
+
+    @Test
+    public void writes_return_a_new_version_and_leave_the_original_untouched() {
+        DocumentContext v1 = JsonPath.using(COPY_ON_WRITE).parse(JSON_DOCUMENT);
+        String original = v1.jsonString();
+
+        DocumentContext v2 = v1.set("$.store.book[0].display-price", 1)
+                .delete("$.store.book[1]")
+                .add("$.store.book", "appended")
+                .put("$.store.bicycle", "gears", 21)
+                .renameKey("$.store.bicycle", "color", "colour")
+                .map("$.foo", new MapFunction() {
+                    @Override
+                    public Object map(Object currentValue, Configuration configuration) {
+                        return currentValue + "-mapped";
+                    }
+                });
+
+        assertThat(v1.jsonString()).isEqualTo(original);
+        assertThat(v2.read("$.store.book[0].display-price", Integer.class)).isEqualTo(1);
+        assertThat(v2.read("$.store.book[*].title", List.class)).containsExactly("Sayings of the Century", "Moby Dick", "The Lord of the Rings");
+        assertThat(v2.read("$.store.book[3]", String.class)).isEqualTo("appended");
+        assertThat(v2.read("$.store.bicycle.gears", Integer.class)).isEqualTo(21);
+        assertThat(v2.read("$.store.bicycle.colour", String.class)).isEqualTo("red");
+        assertThat(v2.read("$.foo", String.class)).isEqualTo("bar-mapped");
+    }
+
+    private Object node(DocumentContext ctx, Object... keys) {
+        JsonProvider jsonProvider = COPY_ON_WRITE.jsonProvider();
+        Object node = ctx.json();
+        for (Object key : keys) {
+            node = key instanceof Integer ? jsonProvider.getArrayIndex(node, (Integer) key) : jsonProvider.getMapValue(node, (String) key);
+        }
+        return node;
+    }
+
+    @Test
+    public void untouched_values_are_shared_between_versions() {
+        // Gson and Jackson's JsonNode copy every value inserted into a container, so nothing can be shared
+        JsonProvider jsonProvider = COPY_ON_WRITE.jsonProvider();
+        assumeFalse(jsonProvider instanceof GsonJsonProvider || jsonProvider instanceof JacksonJsonNodeJsonProvider);
+
+        DocumentContext v1 = JsonPath.using(COPY_ON_WRITE).parse(JSON_DOCUMENT);
+
+        DocumentContext v2 = v1.set("$.store.book[2].display-price", 1);
+
+        assertThat(v2.json()).isNotSameAs(v1.json());
+        assertThat(node(v2, "store")).isNotSameAs(node(v1, "store"));
+        assertThat(node(v2, "store", "book")).isNotSameAs(node(v1, "store", "book"));
+        assertThat(node(v2, "store", "book", 2)).isNotSameAs(node(v1, "store", "book", 2));
+        assertThat(node(v2, "store", "book", 1)).isSameAs(node(v1, "store", "book", 1));
+        assertThat(node(v2, "store", "bicycle")).isSameAs(node(v1, "store", "bicycle"));
+    }
+
+    @Test
+    public void deep_scans_and_filters_are_copied_on_write() {
+        DocumentContext v1 = JsonPath.using(COPY_ON_WRITE).parse(JSON_DOCUMENT);
+
+        DocumentContext v2 = v1.set("$..display-price", "free").delete("$.store.book[?(@.category == 'fiction')]");
+
+        assertThat(v1.read("$..display-price", List.class)).hasSize(5).containsOnly(8.95, 12.99, 8.99, 22.99, 19.95);
+        assertThat(v1.read("$.store.book[*]", List.class)).hasSize(4);
+        assertThat(v2.read("$..display-price", List.class)).containsExactly("free", "free");
+        assertThat(v2.read("$.store.book[*].category", List.class)).containsExactly("reference");
+    }
+
+    @Test
+    public void batches_are_applied_to_a_copy() {
+        ExtendedDocumentContext v1 = (ExtendedDocumentContext) JsonPath.using(COPY_ON_WRITE).parse(JSON_DOCUMENT);
+
+        DocumentContext v2 = v1.batch()
+                .delete("$.store.book[0]")
+                .delete("$.store.book[2].isbn")
+                .put("$.store.book[3]", "read", true)
+                .apply();
+
+        assertThat(v1.read("$.store.book[*].title", List.class)).hasSize(4);
+        assertThat(v1.read("$.store.book[2].isbn", String.class)).isEqualTo("0-553-21311-3");
+        assertThat(v2.read("$.store.book[*].title", List.class)).containsExactly("Sword of Honour", "Moby Dick", "The Lord of the Rings");
+        assertThat(v2.read("$.store.book[1]", Map.class)).doesNotContainKey("isbn");
+        assertThat(v2.read("$.store.book[2].read", Boolean.class)).isTrue();
+    }
+
+    @Test
+    public void the_root_array_is_copied_on_add() {
+        DocumentContext v1 = JsonPath.using(COPY_ON_WRITE).parse("[\"a\"]");
+
+        DocumentContext v2 = v1.add("$", "b");
+
+        assertThat(v1.read("$[*]", List.class)).containsExactly("a");
+        assertThat(v2.read("$[*]", List.class)).containsExactly("a", "b");
+    }
+}
@@ -0,0 +1,142 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class EvaluationBudgetTest extends BaseTest {
+
+    private static Configuration budget(EvaluationBudget budget) {
+        return Configuration.defaultConfiguration().evaluationBudget(budget);
+    }
+
+    private static EvaluationBudgetExceededException readExceeding(Configuration conf, Object document, String path) {
+        try {
+            if (document instanceof String) {
+                JsonPath.using(conf).parse((String) document).read(path);
+            } else {
+                JsonPath.using(conf).parse(document).read(path);
+            }
+        } catch (EvaluationBudgetExceededException e) {
+            return e;
+        }
+        fail("Expected EvaluationBudgetExceededException");
+        return null;
+    }
+
+    private static Object createDocument(int rows) {
+        JsonProvider provider = Configuration.defaultConfiguration().jsonProvider();
+        Object array = provider.createArray();
+        for (int i = 0; i < rows; i++) {
+            Object row = provider.createMap();
+            provider.setProperty(row, "id", i);
+            Object child = provider.createMap();
+            provider.setProperty(child, "name", "row" + i);
+            provider.setProperty(row, "child", child);
+            provider.setArrayIndex(array, i, row);
+        }
+        Object doc = provider.createMap();
+        provider.setProperty(doc, "rows", array);
+        return doc;
+    }
+
+    @Test
+    public void evaluations_within_the_budget_are_not_affected() {
+        Configuration conf = budget(EvaluationBudget.builder().maxNodesVisited(1000).maxResults(10).maxTime(1, TimeUnit.MINUTES).build());
+
+        List<String> titles = JsonPath.using(conf).parse(JSON_DOCUMENT).read("$..book[?(@.display-price < 10)].title");
+
+        assertThat(titles).containsExactly("Sayings of the Century", "Moby Dick");
+    }
+
+    @Test
+    public void nodes_visited_are_limited() {
+        Object doc = createDocument(10000);
+        EvaluationBudgetExceededException e = readExceeding(budget(EvaluationBudget.builder().maxNodesVisited(5000).build()), doc, "$..name");
+
+        assertThat(e.getLimit()).isEqualTo(EvaluationBudgetExceededException.Limit.NODES_VISITED);
+        assertThat(e.getNodesVisited()).isEqualTo(5001);
+        assertThat(e.getResults()).isGreaterThan(0).isLessThan(10000);
+    }
+
+    @Test
+    public void nodes_visited_by_filter_paths_count_towards_the_budget() {
+        Object doc = createDocument(100);
+        Configuration conf = budget(EvaluationBudget.builder().maxNodesVisited(1500).build());
+
+        assertThat(JsonPath.using(conf).parse(doc).read("$..*", List.class)).hasSize(401);
+        EvaluationBudgetExceededException e = readExceeding(conf, doc, "$..*[?(@..name)]");
+
+        assertThat(e.getLimit()).isEqualTo(EvaluationBudgetExceededException.Limit.NODES_VISITED);
+    }
+
+    @Test
+    public void results_are_limited() {
+        EvaluationBudgetExceededException e = readExceeding(budget(EvaluationBudget.builder().maxResults(2).build()), JSON_DOCUMENT, "$.store.book[*].title");
+
+        assertThat(e.getLimit()).isEqualTo(EvaluationBudgetExceededException.Limit.RESULTS);
+        assertThat(e.getResults()).isEqualTo(2);
+    }
+
+    @Test
+    public void wall_time_is_limited() {
+        Object doc = createDocument(20000);
+        EvaluationBudgetExceededException e = readExceeding(budget(EvaluationBudget.builder().maxTime(1, TimeUnit.MILLISECONDS).build()), doc, "$..*[?(@..name)]");
+
+        assertThat(e.getLimit()).isEqualTo(EvaluationBudgetExceededException.Limit.TIME);
+    }
+
+    @Test
+    public void interrupted_evaluations_are_aborted() {
+        Object doc = createDocument(10000);
+        Thread.currentThread().interrupt();
+        try {
+            EvaluationBudgetExceededException e = readExceeding(budget(EvaluationBudget.builder().interruptible(true).build()), doc, "$..name");
+
+            assertThat(e.getLimit()).isEqualTo(EvaluationBudgetExceededException.Limit.INTERRUPTED);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void rows_scanned_by_columnar_filters_are_counted() {
+        Object doc = createDocument(10000);
+        Configuration conf = budget(EvaluationBudget.builder().maxNodesVisited(500).build());
+
+        EvaluationBudgetExceededException e = readExceeding(conf.addOptions(Option.COLUMNAR_FILTERS), doc, "$.rows[?(@.id > 9990)]");
+
+        assertThat(e.getLimit()).isEqualTo(EvaluationBudgetExceededException.Limit.NODES_VISITED);
+    }
+
+    @Test
+    public void candidates_tested_through_an_index_are_counted() {
+        Object doc = createDocument(10000);
+        ExtendedDocumentContext ctx = ((ExtendedDocumentContext) JsonPath.using(budget(EvaluationBudget.builder().maxNodesVisited(500).build())).parse(doc))
+                .createIndex("$.rows[*]", "@.id", IndexType.SORTED);
+
+        assertThat(ctx.read("$.rows[?(@.id > 9990)].id", List.class)).hasSize(9);
+        try {
+            ctx.read("$.rows[?(@.id > 9000)].id");
+            fail("Expected EvaluationBudgetExceededException");
+        } catch (EvaluationBudgetExceededException e) {
+            assertThat(e.getLimit()).isEqualTo(EvaluationBudgetExceededException.Limit.NODES_VISITED);
+        }
+    }
+
+    @Test
+    public void exceeded_budgets_are_not_suppressed() {
+        Configuration conf = budget(EvaluationBudget.builder().maxResults(1).build()).addOptions(Option.SUPPRESS_EXCEPTIONS);
+
+        EvaluationBudgetExceededException e = readExceeding(conf, JSON_DOCUMENT, "$..author");
+
+        assertThat(e.getResults()).isEqualTo(1);
+        assertThat(conf.evaluationBudget().maxResults()).isEqualTo(1);
+    }
+}
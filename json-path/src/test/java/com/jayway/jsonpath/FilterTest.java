@@ -242,6 +242,35 @@ public class FilterTest extends BaseTest {
         assertThat(filter(where("double-key").gte(1.1D)).apply(createPredicateContext(json))).isEqualTo(true);
     }
 
+    //----------------------------------------------------------------------------
+    //
+    // Mixed numeric types
+    //
+    //----------------------------------------------------------------------------
+    @Test
+    public void int_and_double_compare_evals() {
+        assertThat(filter(where("int-key").eq(1.0D)).apply(createPredicateContext(json))).isEqualTo(true);
+        assertThat(filter(where("int-key").lt(1.5D)).apply(createPredicateContext(json))).isEqualTo(true);
+        assertThat(filter(where("double-key").gt(10)).apply(createPredicateContext(json))).isEqualTo(true);
+        assertThat(filter(where("double-key").lt(11L)).apply(createPredicateContext(json))).isEqualTo(true);
+
+        assertThat(Filter.parse("[?(@.int-key == 1.0)]").apply(createPredicateContext(json))).isEqualTo(true);
+        assertThat(Filter.parse("[?(@.double-key > 10)]").apply(createPredicateContext(json))).isEqualTo(true);
+        assertThat(Filter.parse("[?(@.double-key <= 10.1)]").apply(createPredicateContext(json))).isEqualTo(true);
+    }
+
+    @Test
+    public void big_and_high_precision_numbers_compare_evals() {
+        Object doc = Configuration.defaultConfiguration().jsonProvider().parse("{\"big\" : 92233720368547758070, \"max\" : " + Long.MAX_VALUE + "}");
+
+        assertThat(Filter.parse("[?(@.big > " + Long.MAX_VALUE + ")]").apply(createPredicateContext(doc))).isEqualTo(true);
+        assertThat(Filter.parse("[?(@.max == " + Long.MAX_VALUE + ")]").apply(createPredicateContext(doc))).isEqualTo(true);
+        assertThat(Filter.parse("[?(@.max < 9223372036854775807.5)]").apply(createPredicateContext(doc))).isEqualTo(true);
+        assertThat(Filter.parse("[?(@.max > 9223372036854775806.5)]").apply(createPredicateContext(doc))).isEqualTo(true);
+        assertThat(Filter.parse("[?(@.max == 9223372036854775808.0)]").apply(createPredicateContext(doc))).isEqualTo(false);
+        assertThat(Filter.parse("[?(@.int-key < 1.00000000000000000001)]").apply(createPredicateContext(json))).isEqualTo(true);
+    }
+
     //----------------------------------------------------------------------------
     //
     // Regex
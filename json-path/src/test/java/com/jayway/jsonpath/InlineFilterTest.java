@@ -10,6 +10,7 @@ import java.util.List;
 import static com.jayway.jsonpath.JsonPath.using;
 import static com.jayway.jsonpath.TestUtils.assertHasNoResults;
 import static com.jayway.jsonpath.TestUtils.assertHasOneResult;
+import static com.jayway.jsonpath.TestUtils.assertHasResults;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -214,4 +215,32 @@ public class InlineFilterTest extends BaseTest {
     public void filter_evaluation_does_not_break_path_evaluation() {
         assertHasOneResult("[{\"s\": \"fo\", \"expected_size\": \"m\"}, {\"s\": \"lo\", \"expected_size\": 2}]", "$[?(@.s size @.expected_size)]", conf);
     }
+
+    @Test
+    public void nested_property_references_are_resolved() {
+        String json = "[{\"a\": {\"b\": [{\"c\": 1}]}}, {\"a\": {\"b\": []}}, {\"a\": 1}, {\"x\": 1}]";
+
+        assertHasOneResult(json, "$[?(@.a.b[0].c == 1)]", conf);
+        assertHasOneResult(json, "$[?(@.a.b[0].c)]", conf);
+        assertHasResults(json, "$[?(@.a.b)]", 2, conf);
+        assertHasResults(json, "$[?(!@.a.b)]", 2, conf);
+        assertHasNoResults(json, "$[?(@.a.b[1].c == 1)]", conf);
+    }
+
+    @Test
+    public void nested_root_references_are_resolved() {
+        String json = "{\"limits\": {\"max\": [5]}, \"items\": [{\"v\": 3}, {\"v\": 7}]}";
+
+        assertHasOneResult(json, "$.items[?(@.v < $.limits.max[0])]", conf);
+        assertHasNoResults(json, "$.items[?(@.v < $.limits.min)]", conf);
+    }
+
+    @Test
+    public void literal_in_lists_are_matched_for_every_item() {
+        String json = "{\"items\": [{\"sku\": 1}, {\"sku\": \"b\"}, {\"sku\": 2.5}, {\"sku\": null}, {\"sku\": \"z\"}]}";
+        String list = "[1, \"a\", \"b\", \"c\", \"d\", \"e\", 2.50, \"f\", \"g\"]";
+
+        assertHasResults(json, "$.items[?(@.sku in " + list + ")]", 3, conf);
+        assertHasResults(json, "$.items[?(@.sku nin " + list + ")]", 2, conf);
+    }
 }
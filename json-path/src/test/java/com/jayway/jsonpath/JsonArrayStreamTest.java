@@ -0,0 +1,95 @@
+package com.jayway.jsonpath;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class JsonArrayStreamTest {
+
+    private static final String DOCUMENT = "{\"meta\": {\"data\": [{\"id\": -1}]}, \"list\": [{\"data\": [{\"id\": -2}]}], "
+            + "\"data\": [{\"id\": 1, \"name\": \"one\", \"tags\": [\"a\"]}, 2, {\"id\": 3, \"nested\": {\"data\": [{\"id\": -3}]}}, [4], {\"name\": \"five\"}], "
+            + "\"tail\": {\"data\": []}}";
+
+    private static final class Collector implements JsonArrayStream.ElementHandler {
+        private final List<String> elements = new ArrayList<String>();
+
+        @Override
+        public void element(long index, Object[] values) {
+            elements.add(index + ":" + Arrays.asList(values));
+        }
+    }
+
+    private static InputStream input(String text) throws IOException {
+        return new ByteArrayInputStream(text.getBytes("UTF-8"));
+    }
+
+    private static List<String> read(Configuration configuration, String arrayPath, String json) throws IOException {
+        Collector collector = new Collector();
+        JsonArrayStream.query(configuration, arrayPath, JsonPath.compile("$.id"), JsonPath.compile("$.name"), JsonPath.compile("$.tags[0]"))
+                .read(input(json), collector);
+        return collector.elements;
+    }
+
+    @Test
+    public void elements_of_a_nested_array_are_read() throws IOException {
+        assertThat(read(Configuration.defaultConfiguration(), "$.data[*]", DOCUMENT)).containsExactly(
+                "0:[1, one, a]", "1:[null, null, null]", "2:[3, null, null]", "3:[null, null, null]", "4:[null, five, null]");
+    }
+
+    @Test
+    public void elements_of_a_document_that_is_an_array_are_read() throws IOException {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 10000; i++) {
+            sb.append(i > 0 ? "," : "").append("{\"id\":").append(i).append(",\"payload\":{\"values\":[1,2,3]}}");
+        }
+        List<String> elements = read(Configuration.defaultConfiguration(), "$[*]", sb.append("]").toString());
+
+        assertThat(elements).hasSize(10000);
+        assertThat(elements.get(9999)).isEqualTo("9999:[9999, null, null]");
+    }
+
+    @Test
+    public void other_providers_give_the_same_results() throws IOException {
+        assertThat(read(Configurations.JACKSON_CONFIGURATION, "$['data'][*]", DOCUMENT))
+                .isEqualTo(read(Configuration.defaultConfiguration(), "$['data'][*]", DOCUMENT));
+    }
+
+    @Test
+    public void a_missing_array_is_reported() throws IOException {
+        for (String json : Arrays.asList("{\"other\": [1]}", "{\"data\": {\"id\": 1}}", "[1, 2]")) {
+            try {
+                read(Configuration.defaultConfiguration(), "$.data[*]", json);
+                fail("Expected a missing array for " + json);
+            } catch (PathNotFoundException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void a_missing_array_is_reported_by_every_provider() throws IOException {
+        for (Configuration configuration : Configurations.configurations()) {
+            for (String json : Arrays.asList("{\"other\": [1]}", "{\"data\": {\"id\": 1}}", "{\"data\": 1}", "[1, 2]")) {
+                try {
+                    read(configuration, "$.data[*]", json);
+                    fail("Expected a missing array for " + json + " with " + configuration.jsonProvider().getClass().getSimpleName());
+                } catch (PathNotFoundException e) {
+                    // expected
+                }
+            }
+        }
+    }
+
+    @Test(expected = InvalidPathException.class)
+    public void array_paths_must_end_with_a_wildcard() {
+        JsonArrayStream.query(Configuration.defaultConfiguration(), "$.data[0]", JsonPath.compile("$.id"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.jayway.jsonpath;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class JsonLinesTest {
+
+    private static final JsonLines QUERY = JsonLines.query(Configuration.defaultConfiguration(),
+            JsonPath.compile("$.id"), JsonPath.compile("$.message"), JsonPath.compile("$.tags[*]"));
+
+    private static final class Collector implements JsonLines.RecordHandler {
+        private final List<Long> lines = new ArrayList<Long>();
+        private final List<Object[]> records = new ArrayList<Object[]>();
+
+        @Override
+        public void record(long line, Object[] values) {
+            lines.add(line);
+            records.add(values);
+        }
+    }
+
+    private static InputStream input(String text) throws IOException {
+        return new ByteArrayInputStream(text.getBytes("UTF-8"));
+    }
+
+    @Test
+    public void records_are_handled_in_order() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 30000; i++) {
+            if (i % 1000 == 7) {
+                sb.append("  \r\n");
+            }
+            sb.append("{\"id\":").append(i).append(",\"message\":\"message ").append(i).append(" é\",\"tags\":[\"a\"],\"ignored\":{\"x\":[1,2,3]}}");
+            sb.append(i % 2 == 0 ? "\n" : "\r\n");
+        }
+        sb.append("{\"id\":30000}");
+
+        Collector collector = new Collector();
+        QUERY.threads(4).read(input(sb.toString()), collector);
+
+        assertThat(collector.records).hasSize(30001);
+        for (int i = 0; i < 30000; i++) {
+            assertThat(collector.records.get(i)[0]).isEqualTo(i);
+            assertThat(collector.records.get(i)[1]).isEqualTo("message " + i + " é");
+            assertThat((List<Object>) collector.records.get(i)[2]).containsExactly("a");
+        }
+        assertThat(collector.records.get(30000)).containsExactly(30000, null, null);
+        assertThat(collector.lines.get(0)).isEqualTo(1L);
+        assertThat(collector.lines.get(8)).isEqualTo(10L);
+        assertThat(collector.lines.get(30000)).isEqualTo(30031L);
+    }
+
+    @Test
+    public void records_longer_than_a_block_are_read() throws IOException {
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            message.append("0123456789");
+        }
+        Collector collector = new Collector();
+        QUERY.threads(2).read(input("{\"id\":1}\n{\"id\":2,\"message\":\"" + message + "\"}\n{\"id\":3}\n"), collector);
+
+        assertThat(collector.records).hasSize(3);
+        assertThat(collector.records.get(1)[1]).isEqualTo(message.toString());
+        assertThat(collector.lines).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    public void invalid_records_fail_after_the_records_before_them() throws IOException {
+        Collector collector = new Collector();
+        try {
+            QUERY.read(input("{\"id\":1}\n{\"id\":2}\n{\"id\":\n{\"id\":4}\n"), collector);
+            fail("Expected invalid json");
+        } catch (InvalidJsonException e) {
+            assertThat(e.getMessage()).contains("line 3");
+        }
+        assertThat(collector.lines).containsExactly(1L, 2L);
+    }
+
+    @Test
+    public void files_are_read() throws IOException {
+        File file = File.createTempFile("json-lines", ".ndjson");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write("{\"id\":1,\"message\":\"one\"}\n\n{\"id\":2,\"message\":\"two\"}\n".getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+
+        Collector collector = new Collector();
+        QUERY.threads(1).read(file, collector);
+
+        assertThat(collector.lines).containsExactly(1L, 3L);
+        assertThat(collector.records.get(1)[1]).isEqualTo("two");
+    }
+}
@@ -0,0 +1,57 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.List;
+
+import static com.jayway.jsonpath.JsonPath.using;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(Parameterized.class)
+public class JsonPatchProviderTest extends BaseTest {
+
+    private final Configuration conf;
+
+    public JsonPatchProviderTest(Configuration conf) {
+        this.conf = conf;
+    }
+
+    @Parameterized.Parameters
+    public static Iterable<Configuration> configurations() {
+        return Configurations.configurations();
+    }
+
+    private static final String DOCUMENT = "{\"a\":{\"b\":[\"1\",\"2\",\"3\"],\"e\":\"x\"},\"c\":\"1\"}";
+
+    private static final String PATCH = "[" +
+            "{\"op\":\"replace\",\"path\":\"/a/b/1\",\"value\":\"9\"}," +
+            "{\"op\":\"add\",\"path\":\"/a/b/0\",\"value\":\"0\"}," +
+            "{\"op\":\"remove\",\"path\":\"/c\"}," +
+            "{\"op\":\"move\",\"from\":\"/a/b\",\"path\":\"/d\"}]";
+
+    private Object apply(Configuration configuration) {
+        Object document = configuration.jsonProvider().parse(DOCUMENT);
+        Object patched = JsonPatch.parse(configuration.jsonProvider().parse(PATCH), configuration).apply(document, configuration);
+
+        assertThat(using(configuration).parse(patched).read("$.a.*", List.class)).containsExactly("x");
+        assertThat(using(configuration).parse(patched).read("$.d[*]", List.class)).containsExactly("0", "1", "9", "3");
+        assertThat(configuration.jsonProvider().getMapValue(patched, "c")).isSameAs(JsonProvider.UNDEFINED);
+        return document;
+    }
+
+    @Test
+    public void patches_are_applied_in_place() {
+        apply(conf);
+    }
+
+    @Test
+    public void patches_are_applied_to_a_copy_when_copying_on_write() {
+        Object document = apply(conf.addOptions(Option.COPY_ON_WRITE));
+
+        assertThat(using(conf).parse(document).read("$.a.b[*]", List.class)).containsExactly("1", "2", "3");
+        assertThat(using(conf).parse(document).read("$.c", String.class)).isEqualTo("1");
+    }
+}
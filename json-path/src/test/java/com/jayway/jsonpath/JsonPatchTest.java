@@ -0,0 +1,118 @@
+package com.jayway.jsonpath;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class JsonPatchTest extends BaseTest {
+
+    private static final Configuration CONFIGURATION = Configuration.defaultConfiguration();
+    private static final Configuration COPY_ON_WRITE = CONFIGURATION.addOptions(Option.COPY_ON_WRITE);
+
+    private static Object json(String json) {
+        return CONFIGURATION.jsonProvider().parse(json);
+    }
+
+    private static String patch(String document, String patch) {
+        return CONFIGURATION.jsonProvider().toJson(JsonPatch.parse(patch).apply(json(document), CONFIGURATION));
+    }
+
+    @Test
+    public void rfc_6902_operations_are_applied() {
+        assertThat(patch("{\"foo\":\"bar\"}", "[{\"op\":\"add\",\"path\":\"/baz\",\"value\":\"qux\"}]"))
+                .isEqualTo("{\"foo\":\"bar\",\"baz\":\"qux\"}");
+        assertThat(patch("{\"foo\":[\"bar\",\"baz\"]}", "[{\"op\":\"add\",\"path\":\"/foo/1\",\"value\":\"qux\"}]"))
+                .isEqualTo("{\"foo\":[\"bar\",\"qux\",\"baz\"]}");
+        assertThat(patch("{\"foo\":[\"bar\"]}", "[{\"op\":\"add\",\"path\":\"/foo/-\",\"value\":[\"abc\",\"def\"]}]"))
+                .isEqualTo("{\"foo\":[\"bar\",[\"abc\",\"def\"]]}");
+        assertThat(patch("{\"baz\":\"qux\",\"foo\":\"bar\"}", "[{\"op\":\"remove\",\"path\":\"/baz\"}]"))
+                .isEqualTo("{\"foo\":\"bar\"}");
+        assertThat(patch("{\"foo\":[\"bar\",\"qux\",\"baz\"]}", "[{\"op\":\"remove\",\"path\":\"/foo/1\"}]"))
+                .isEqualTo("{\"foo\":[\"bar\",\"baz\"]}");
+        assertThat(patch("{\"baz\":\"qux\",\"foo\":\"bar\"}", "[{\"op\":\"replace\",\"path\":\"/baz\",\"value\":\"boo\"}]"))
+                .isEqualTo("{\"baz\":\"boo\",\"foo\":\"bar\"}");
+        assertThat(patch("{\"foo\":{\"bar\":\"baz\",\"waldo\":\"fred\"},\"qux\":{\"corge\":\"grault\"}}", "[{\"op\":\"move\",\"from\":\"/foo/waldo\",\"path\":\"/qux/thud\"}]"))
+                .isEqualTo("{\"foo\":{\"bar\":\"baz\"},\"qux\":{\"corge\":\"grault\",\"thud\":\"fred\"}}");
+        assertThat(patch("{\"foo\":[\"all\",\"grass\",\"cows\",\"eat\"]}", "[{\"op\":\"move\",\"from\":\"/foo/1\",\"path\":\"/foo/3\"}]"))
+                .isEqualTo("{\"foo\":[\"all\",\"cows\",\"eat\",\"grass\"]}");
+        assertThat(patch("{\"foo\":{\"bar\":1}}", "[{\"op\":\"copy\",\"from\":\"/foo\",\"path\":\"/baz\"},{\"op\":\"replace\",\"path\":\"/baz/bar\",\"value\":2}]"))
+                .isEqualTo("{\"foo\":{\"bar\":1},\"baz\":{\"bar\":2}}");
+        assertThat(patch("{\"/\":{\"~\":1}}", "[{\"op\":\"test\",\"path\":\"/~1/~0\",\"value\":1.0},{\"op\":\"replace\",\"path\":\"\",\"value\":[]}]"))
+                .isEqualTo("[]");
+    }
+
+    @Test
+    public void failing_operations_throw() {
+        assertFails("{\"baz\":\"qux\"}", "[{\"op\":\"test\",\"path\":\"/baz\",\"value\":\"bar\"}]", InvalidModificationException.class);
+        assertFails("{\"foo\":\"bar\"}", "[{\"op\":\"add\",\"path\":\"/baz/bat\",\"value\":\"qux\"}]", PathNotFoundException.class);
+        assertFails("{\"foo\":[1]}", "[{\"op\":\"remove\",\"path\":\"/foo/1\"}]", PathNotFoundException.class);
+        assertFails("{\"foo\":[1]}", "[{\"op\":\"replace\",\"path\":\"/bar\",\"value\":1}]", PathNotFoundException.class);
+        assertFails("{\"foo\":{}}", "[{\"op\":\"move\",\"from\":\"/foo\",\"path\":\"/foo/bar\"}]", InvalidModificationException.class);
+        assertFails("{}", "[{\"op\":\"add\",\"path\":\"/foo\"}]", InvalidModificationException.class);
+        assertFails("{}", "[{\"op\":\"jump\",\"path\":\"/foo\"}]", InvalidModificationException.class);
+        assertFails("{}", "[{\"op\":\"remove\",\"path\":\"foo\"}]", InvalidPathException.class);
+    }
+
+    private static void assertFails(String document, String patch, Class<? extends Exception> expected) {
+        try {
+            patch(document, patch);
+            fail("Expected " + expected.getSimpleName() + " for " + patch);
+        } catch (Exception e) {
+            assertThat(e).isInstanceOf(expected);
+        }
+    }
+
+    @Test
+    public void a_failing_patch_leaves_the_document_untouched_when_copying_on_write() {
+        Object document = json(JSON_DOCUMENT);
+        String original = CONFIGURATION.jsonProvider().toJson(document);
+        JsonPatch patch = JsonPatch.parse("[{\"op\":\"remove\",\"path\":\"/store/book/0\"},{\"op\":\"test\",\"path\":\"/foo\",\"value\":\"baz\"}]");
+
+        try {
+            patch.apply(document, COPY_ON_WRITE);
+            fail("Expected the test operation to fail");
+        } catch (InvalidModificationException e) {
+            assertThat(CONFIGURATION.jsonProvider().toJson(document)).isEqualTo(original);
+        }
+
+        Object patched = JsonPatch.parse("[{\"op\":\"remove\",\"path\":\"/store/book/0\"}]").apply(document, COPY_ON_WRITE);
+        assertThat(CONFIGURATION.jsonProvider().toJson(document)).isEqualTo(original);
+        assertThat(JsonPath.read(patched, "$.store.book.length()")).isEqualTo(3);
+        assertThat(JsonPath.read(patched, "$.store.bicycle")).isSameAs(JsonPath.read(document, "$.store.bicycle"));
+    }
+
+    @Test
+    public void a_diff_turns_the_source_into_the_target() {
+        Object source = json(JSON_DOCUMENT);
+        DocumentContext target = JsonPath.using(COPY_ON_WRITE).parse(JSON_DOCUMENT)
+                .delete("$.store.book[1]")
+                .add("$.store.book", "appended")
+                .set("$.store.book[0].price", 9)
+                .put("$.store.bicycle", "gears", 21)
+                .delete("$.foo");
+
+        JsonPatch patch = JsonPatch.diff(source, target.json(), CONFIGURATION);
+        Object patched = patch.apply(source, COPY_ON_WRITE);
+
+        assertThat(JsonPatch.diff(patched, target.json(), CONFIGURATION).size()).isEqualTo(0);
+        assertThat(JsonPath.parse(patched).read("$.store.book[1].title", String.class)).isEqualTo("Moby Dick");
+        assertThat(JsonPatch.parse(patch.toString()).apply(json(JSON_DOCUMENT), CONFIGURATION).toString()).isEqualTo(patched.toString());
+        assertThat(JsonPatch.diff(source, json(JSON_DOCUMENT), CONFIGURATION).size()).isEqualTo(0);
+    }
+
+    @Test
+    public void merge_patches_are_applied() {
+        Object target = json("{\"title\":\"Goodbye!\",\"author\":{\"givenName\":\"John\",\"familyName\":\"Doe\"},\"tags\":[\"example\",\"sample\"],\"content\":\"This will be unchanged\"}");
+        Object patch = json("{\"title\":\"Hello!\",\"phoneNumber\":\"+01-123-456-7890\",\"author\":{\"familyName\":null},\"tags\":[\"example\"]}");
+
+        Object merged = JsonPatch.mergePatch(target, patch, COPY_ON_WRITE);
+
+        assertThat(CONFIGURATION.jsonProvider().toJson(merged)).isEqualTo("{\"title\":\"Hello!\",\"author\":{\"givenName\":\"John\"},\"tags\":[\"example\"],\"content\":\"This will be unchanged\",\"phoneNumber\":\"+01-123-456-7890\"}");
+        assertThat(JsonPath.read(target, "$.author.familyName")).isEqualTo("Doe");
+        assertThat(JsonPath.parse(JsonPatch.mergePatch(target, patch, CONFIGURATION)).read("$.tags", List.class)).containsExactly("example");
+        assertThat(JsonPath.parse(target).read("$.tags", List.class)).containsExactly("example");
+    }
+}
@@ -4,6 +4,10 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
 import static com.jayway.jsonpath.JsonPath.using;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -36,6 +40,29 @@ public class JsonProviderTest extends BaseTest {
         assertThat(using(conf).parse(JSON_DOCUMENT).read("$.int-max-property", int.class)).isEqualTo(Integer.MAX_VALUE);
     }
 
+    @Test
+    public void stream_encoding_is_detected() throws Exception {
+        String json = "{\"name\" : \"\u00e5\u00e4\u00f6 \u20ac\"}";
+        byte[] utf8Bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+        for (String charset : new String[]{"UTF-8", "UTF-16BE", "UTF-16LE", "UTF-16", "UTF-32BE", "UTF-32LE"}) {
+            InputStream stream = new ByteArrayInputStream(json.getBytes(charset));
+            assertThat(using(conf).parse(stream).read("$.name", String.class)).as(charset).isEqualTo("\u00e5\u00e4\u00f6 \u20ac");
+        }
+
+        ByteArrayOutputStream withBom = new ByteArrayOutputStream();
+        withBom.write(utf8Bom);
+        withBom.write(json.getBytes("UTF-8"));
+        assertThat(using(conf).parse(new ByteArrayInputStream(withBom.toByteArray())).read("$.name", String.class)).isEqualTo("\u00e5\u00e4\u00f6 \u20ac");
+    }
+
+    @Test
+    public void stream_is_parsed_with_given_charset() throws Exception {
+        InputStream stream = new ByteArrayInputStream("{\"name\" : \"\u00e5\"}".getBytes("ISO-8859-1"));
+
+        assertThat(using(conf).parse(stream, "ISO-8859-1").read("$.name", String.class)).isEqualTo("\u00e5");
+    }
+
 
 
 
@@ -0,0 +1,81 @@
+package com.jayway.jsonpath;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import static com.jayway.jsonpath.JsonPath.using;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazyJsonProviderTest extends BaseTest {
+
+    @Test
+    public void an_object_can_be_read() {
+        Map<String, Object> book = using(LAZY_CONFIGURATION).parse(JSON_DOCUMENT).read("$.store.book[0]");
+
+        assertThat(book.get("author")).isEqualTo("Nigel Rees");
+        assertThat(book.keySet()).containsExactly("category", "author", "title", "display-price");
+    }
+
+    @Test
+    public void a_filter_can_be_applied() {
+        List<String> titles = using(LAZY_CONFIGURATION).parse(JSON_DOCUMENT).read("$.store.book[?(@.category == 'fiction')].title");
+
+        assertThat(titles).hasSize(3);
+    }
+
+    @Test
+    public void values_have_the_expected_types() {
+        String json = "{\"i\": -12, \"l\": 3000000000, \"b\": 123456789012345678901234, \"d\": 1.5e2, " +
+                "\"t\": true, \"f\": false, \"n\": null, \"s\": \"a\\\"b\\\\c\\u00e5\\n\"}";
+        DocumentContext ctx = using(LAZY_CONFIGURATION).parse(json);
+
+        assertThat(ctx.read("$.i")).isEqualTo(-12);
+        assertThat(ctx.read("$.l")).isEqualTo(3000000000L);
+        assertThat(ctx.read("$.b")).isEqualTo(new BigInteger("123456789012345678901234"));
+        assertThat(ctx.read("$.d")).isEqualTo(150D);
+        assertThat(ctx.read("$.t")).isEqualTo(true);
+        assertThat(ctx.read("$.f")).isEqualTo(false);
+        assertThat((Object) ctx.read("$.n")).isNull();
+        assertThat(ctx.read("$.s")).isEqualTo("a\"b\\cå\n");
+    }
+
+    @Test
+    public void containers_that_are_not_read_are_not_parsed() {
+        String json = "{\"skipped\": {\"a\": [1, 2, \"]}\"], \"b\": {\"c\": tru}}, \"read\": [{\"x\": 1}, {\"x\": 2}]}";
+
+        assertThat(using(LAZY_CONFIGURATION).parse(json).read("$.read[1].x", Integer.class)).isEqualTo(2);
+    }
+
+    @Test(expected = InvalidJsonException.class)
+    public void errors_are_reported_when_a_container_is_read() {
+        String json = "{\"skipped\": {\"b\": {\"c\": tru}}}";
+
+        using(LAZY_CONFIGURATION).parse(json).read("$.skipped.b.c");
+    }
+
+    @Test(expected = InvalidJsonException.class)
+    public void unbalanced_documents_are_rejected_when_parsed() {
+        using(LAZY_CONFIGURATION).parse("{\"a\": [1, 2}");
+    }
+
+    @Test(expected = InvalidJsonException.class)
+    public void trailing_content_is_rejected_when_parsed() {
+        using(LAZY_CONFIGURATION).parse("{\"a\": 1} x");
+    }
+
+    @Test
+    public void documents_can_be_modified() {
+        DocumentContext ctx = using(LAZY_CONFIGURATION).parse(JSON_DOCUMENT);
+
+        ctx.set("$.store.book[*].display-price", 1).delete("$.store.bicycle").add("$.store.book", "new").put("$.store", "k", "v");
+
+        assertThat(ctx.read("$.store.book[0].display-price", Integer.class)).isEqualTo(1);
+        assertThat(ctx.read("$.store.book.length()", Integer.class)).isEqualTo(5);
+        assertThat(ctx.read("$.store.k", String.class)).isEqualTo("v");
+        assertThat(ctx.read("$.store", Map.class)).doesNotContainKey("bicycle");
+        assertThat(ctx.jsonString()).contains("\"k\":\"v\"");
+    }
+}
@@ -0,0 +1,64 @@
+package com.jayway.jsonpath;
+
+import org.junit.Test;
+
+import static com.jayway.jsonpath.Criteria.where;
+import static com.jayway.jsonpath.Filter.filter;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PathAnalysisTest extends BaseTest {
+
+    @Test
+    public void paths_are_classified_by_complexity() {
+        assertThat(JsonPath.compile("$.store.book[0].title").analyze().getComplexity()).isEqualTo(PathAnalysis.Complexity.CONSTANT);
+        assertThat(JsonPath.compile("$.store.book.length()").analyze().getComplexity()).isEqualTo(PathAnalysis.Complexity.CONSTANT);
+        assertThat(JsonPath.compile("$.store.book[*].title").analyze().getComplexity()).isEqualTo(PathAnalysis.Complexity.LINEAR);
+        assertThat(JsonPath.compile("$..book[?(@.price > $..max-price)]").analyze().getComplexity()).isEqualTo(PathAnalysis.Complexity.LINEAR);
+        assertThat(JsonPath.compile("$..*[?(@..x)]").analyze().getComplexity()).isEqualTo(PathAnalysis.Complexity.SUPERLINEAR);
+        assertThat(JsonPath.compile("$..store..title").analyze().getComplexity()).isEqualTo(PathAnalysis.Complexity.SUPERLINEAR);
+    }
+
+    @Test
+    public void scans_filters_root_references_and_functions_are_counted() {
+        PathAnalysis analysis = JsonPath.compile("$..book[?(@.price > $..max-price && @.tags[?(@ == 'a')])].price.avg()").analyze();
+
+        assertThat(analysis.getDeepScans()).isEqualTo(2);
+        assertThat(analysis.getScanNesting()).isEqualTo(1);
+        assertThat(analysis.getFilterDepth()).isEqualTo(2);
+        assertThat(analysis.getRootReferences()).isEqualTo(1);
+        assertThat(analysis.getFunctions()).containsExactly("avg");
+        assertThat(analysis.hasOpaquePredicates()).isFalse();
+
+        assertThat(JsonPath.compile("$.store.book[?]", filter(where("category").is("fiction"))).analyze().hasOpaquePredicates()).isTrue();
+    }
+
+    @Test
+    public void nodes_visited_are_estimated_from_document_statistics() {
+        DocumentStatistics statistics = DocumentStatistics.of(JsonPath.parse(JSON_DOCUMENT).json(), Configuration.defaultConfiguration().jsonProvider());
+        assertThat(statistics.getMaxDepth()).isGreaterThanOrEqualTo(4);
+
+        long definite = JsonPath.compile("$.store.book[0].title").analyze().estimateNodesVisited(statistics);
+        long wildcard = JsonPath.compile("$.store.book[*].title").analyze().estimateNodesVisited(statistics);
+        long scan = JsonPath.compile("$..title").analyze().estimateNodesVisited(statistics);
+        long nestedScan = JsonPath.compile("$..*[?(@..title)]").analyze().estimateNodesVisited(statistics);
+
+        assertThat(definite).isEqualTo(5);
+        assertThat(wildcard).isGreaterThan(definite);
+        assertThat(scan).isGreaterThan(statistics.getNodes());
+        assertThat(nestedScan).isGreaterThan(scan * statistics.getNodes());
+
+        DocumentStatistics large = new DocumentStatistics(1000000, 10, 6);
+        assertThat(JsonPath.compile("$..title").analyze().estimateNodesVisited(large)).isGreaterThan(1000000);
+        assertThat(JsonPath.compile("$.rows[-2:].id").analyze().estimateNodesVisited(large)).isEqualTo(1 + 1 + 1 + 2);
+    }
+
+    @Test
+    public void slices_with_bounds_of_both_signs_are_estimated_against_the_array_length() {
+        DocumentStatistics large = new DocumentStatistics(1000000, 10, 6);
+
+        assertThat(JsonPath.compile("$.rows[1:-1].id").analyze().estimateNodesVisited(large)).isEqualTo(1 + 1 + 1 + 9);
+        assertThat(JsonPath.compile("$.rows[-5:3].id").analyze().estimateNodesVisited(large)).isEqualTo(1 + 1 + 1 + 3);
+        assertThat(JsonPath.compile("$.rows[-3:-1].id").analyze().estimateNodesVisited(large)).isEqualTo(1 + 1 + 1 + 2);
+        assertThat(JsonPath.compile("$.rows[2:4].id").analyze().estimateNodesVisited(large)).isEqualTo(1 + 1 + 1 + 2);
+    }
+}
@@ -0,0 +1,151 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.metrics.PathMetricsCollector;
+import com.jayway.jsonpath.spi.metrics.PathStatistics;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class PathMetricsTest extends BaseTest {
+
+    @Test
+    public void evaluations_are_recorded_per_path() {
+        PathMetricsCollector metrics = new PathMetricsCollector();
+        DocumentContext ctx = JsonPath.using(Configuration.builder().evaluationMetrics(metrics).build()).parse(JSON_DOCUMENT);
+
+        ctx.read("$.store.book[*].author");
+        ctx.read("$.store.book[*].author");
+        ctx.read("$.store.bicycle.color");
+
+        PathStatistics authors = metrics.statistics("$.store.book[*].author");
+        assertThat(authors.getEvaluations()).isEqualTo(2);
+        assertThat(authors.getFailures()).isEqualTo(0);
+        assertThat(authors.getResults()).isEqualTo(8);
+        assertThat(authors.getNodesVisited()).isGreaterThan(8);
+        assertThat(authors.getTotalNanos()).isGreaterThanOrEqualTo(authors.getMaxNanos());
+        long histogramCount = 0;
+        for (long count : authors.getHistogram()) {
+            histogramCount += count;
+        }
+        assertThat(histogramCount).isEqualTo(2);
+        assertThat(authors.percentileMicros(100)).isGreaterThan(0);
+
+        assertThat(metrics.getPathCount()).isEqualTo(2);
+        assertThat(metrics.getEvaluationCount()).isEqualTo(3);
+        assertThat(metrics.slowest(1)).hasSize(1);
+        metrics.reset();
+        assertThat(metrics.statistics()).isEmpty();
+    }
+
+    @Test
+    public void evaluations_are_recorded_under_the_compiled_path() {
+        PathMetricsCollector metrics = new PathMetricsCollector();
+        DocumentContext ctx = JsonPath.using(Configuration.builder().evaluationMetrics(metrics).build()).parse(JSON_DOCUMENT);
+
+        ctx.read("$.store.book[?(@.category == 'fiction')]");
+        ctx.read("$.store.book[?(@.category == 'reference')]");
+        ctx.read("store.bicycle");
+
+        assertThat(metrics.getPathCount()).isEqualTo(3);
+        assertThat(metrics.statistics("$.store.book[?(@.category == 'fiction')]").getResults()).isEqualTo(3);
+        assertThat(metrics.statistics("$.store.book[?(@.category == 'reference')]").getResults()).isEqualTo(1);
+        assertThat(metrics.statistics("store.bicycle").getEvaluations()).isEqualTo(1);
+    }
+
+    @Test
+    public void reads_of_json_lines_and_array_streams_are_recorded() throws IOException {
+        PathMetricsCollector metrics = new PathMetricsCollector();
+        Configuration configuration = Configuration.builder().evaluationMetrics(metrics).build();
+        JsonLines.RecordHandler records = new JsonLines.RecordHandler() {
+            @Override
+            public void record(long line, Object[] values) {
+            }
+        };
+        JsonArrayStream.ElementHandler elements = new JsonArrayStream.ElementHandler() {
+            @Override
+            public void element(long index, Object[] values) {
+            }
+        };
+
+        JsonLines.query(configuration, JsonPath.compile("$.a"), JsonPath.compile("$.b[*]"))
+                .read(new ByteArrayInputStream("{\"a\":1,\"b\":[1]}\n{\"a\":2,\"b\":[]}\n".getBytes("UTF-8")), records);
+        JsonArrayStream.query(configuration, "$.rows[*]", JsonPath.compile("$.id"))
+                .read(new ByteArrayInputStream("{\"rows\":[{\"id\":1},{\"id\":2},{\"id\":3}]}".getBytes("UTF-8")), elements);
+
+        assertThat(metrics.statistics("$.a").getEvaluations()).isEqualTo(2);
+        assertThat(metrics.statistics("$.b[*]").getEvaluations()).isEqualTo(2);
+        assertThat(metrics.statistics("$.id").getEvaluations()).isEqualTo(3);
+    }
+
+    @Test
+    public void steps_of_paths_evaluated_by_filters_are_counted() {
+        PathMetricsCollector metrics = new PathMetricsCollector();
+        DocumentContext ctx = JsonPath.using(Configuration.builder().evaluationMetrics(metrics).build()).parse(JSON_DOCUMENT);
+
+        ctx.read("$.store.book[?(@.author)]");
+        ctx.read("$.store.book[?(@..author)]");
+
+        long direct = metrics.statistics("$.store.book[?(@.author)]").getNodesVisited();
+        long scanned = metrics.statistics("$.store.book[?(@..author)]").getNodesVisited();
+        assertThat(scanned).isGreaterThan(direct + 4 * 4);
+    }
+
+    @Test
+    public void paths_evaluated_by_filters_are_part_of_the_enclosing_evaluation() {
+        PathMetricsCollector metrics = new PathMetricsCollector();
+        List<String> titles = JsonPath.using(Configuration.builder().evaluationMetrics(metrics).build()).parse(JSON_DOCUMENT)
+                .read("$.store.book[?(@.display-price < $.max-price)].title");
+
+        assertThat(titles).hasSize(2);
+        assertThat(metrics.getPathCount()).isEqualTo(1);
+        assertThat(metrics.statistics().get(0).getResults()).isEqualTo(2);
+    }
+
+    @Test
+    public void failures_are_recorded() {
+        PathMetricsCollector metrics = new PathMetricsCollector();
+        Configuration conf = Configuration.defaultConfiguration().evaluationMetrics(metrics).addOptions(Option.REQUIRE_PROPERTIES);
+        try {
+            JsonPath.using(conf).parse(JSON_DOCUMENT).read("$.store.book[*].isbn");
+            fail("Expected PathNotFoundException");
+        } catch (PathNotFoundException e) {
+        }
+
+        assertThat(metrics.getFailureCount()).isEqualTo(1);
+        assertThat(metrics.statistics().get(0).getFailures()).isEqualTo(1);
+    }
+
+    @Test
+    public void evaluations_are_not_recorded_by_default() {
+        PathMetricsCollector metrics = new PathMetricsCollector();
+        Configuration conf = Configuration.defaultConfiguration();
+
+        assertThat(conf.evaluationMetrics()).isNull();
+        assertThat(conf.evaluationMetrics(metrics).setOptions(Option.ALWAYS_RETURN_LIST).evaluationMetrics()).isSameAs(metrics);
+        assertThat(conf.evaluationMetrics(metrics).evaluationMetrics(null).evaluationMetrics()).isNull();
+    }
+
+    @Test
+    public void statistics_can_be_read_through_jmx() throws Exception {
+        PathMetricsCollector metrics = new PathMetricsCollector();
+        ObjectName name = metrics.register("com.jayway.jsonpath:type=PathMetrics,name=PathMetricsTest");
+        try {
+            JsonPath.using(Configuration.builder().evaluationMetrics(metrics).build()).parse(JSON_DOCUMENT).read("$.store.book[0].title");
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertThat(server.getAttribute(name, "EvaluationCount")).isEqualTo(1L);
+            Object[] slowest = (Object[]) server.invoke(name, "slowest", new Object[]{10}, new String[]{int.class.getName()});
+            assertThat(slowest).hasSize(1);
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+}
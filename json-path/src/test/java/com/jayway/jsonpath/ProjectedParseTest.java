@@ -0,0 +1,116 @@
+package com.jayway.jsonpath;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class ProjectedParseTest extends BaseTest {
+
+    private static final List<String> PATHS = Arrays.asList(
+            "$.store.book[0].author",
+            "$.store.book[-1:].title",
+            "$.store.book[1:3].isbn",
+            "$.store.book[*]['author', 'title']",
+            "$.store.*.color",
+            "$.store.book[?(@.isbn)].title",
+            "$.store.book[?(@.display-price > $.max-price)].title",
+            "$..color",
+            "$.store.book.length()",
+            "$.store.bicycle",
+            "$.missing.property",
+            "$.store.book[9].title"
+    );
+
+    @Test
+    public void reads_from_a_projected_document_give_the_same_results() {
+        DocumentContext full = JsonPath.parse(JSON_DOCUMENT);
+        for (String path : PATHS) {
+            DocumentContext projected = parser().project(JsonPath.compile(path)).parse(JSON_DOCUMENT);
+            assertThat(read(projected, path)).as(path).isEqualTo(read(full, path));
+        }
+
+        JsonPath[] all = new JsonPath[PATHS.size()];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = JsonPath.compile(PATHS.get(i));
+        }
+        DocumentContext projected = parser().project(all).parse(JSON_DOCUMENT);
+        for (String path : PATHS) {
+            assertThat(read(projected, path)).as(path).isEqualTo(read(full, path));
+        }
+    }
+
+    private static ExtendedParseContext parser() {
+        return (ExtendedParseContext) JsonPath.using(Configuration.defaultConfiguration());
+    }
+
+    private static Object read(DocumentContext ctx, String path) {
+        try {
+            return ctx.read(path);
+        } catch (PathNotFoundException e) {
+            return e.getClass();
+        }
+    }
+
+    @Test
+    public void parts_not_read_by_the_paths_are_not_built() throws Exception {
+        ParseContext parseContext = parser().project(JsonPath.compile("$.store.book[*].author"), JsonPath.compile("$.store.bicycle.color"));
+
+        for (DocumentContext ctx : Arrays.asList(parseContext.parse(JSON_DOCUMENT), parseContext.parse(new ByteArrayInputStream(JSON_DOCUMENT.getBytes("UTF-8"))))) {
+            assertThat(ctx.read("$", Map.class)).containsOnlyKeys("store");
+            assertThat(ctx.read("$.store", Map.class)).containsOnlyKeys("book", "bicycle");
+            assertThat(ctx.read("$.store.bicycle", Map.class)).containsOnlyKeys("color");
+            assertThat(ctx.read("$.store.book[*]", List.class)).hasSize(4);
+            assertThat(ctx.read("$.store.book[3]", Map.class)).containsOnlyKeys("author");
+        }
+    }
+
+    @Test
+    public void filters_keep_the_filtered_elements() {
+        DocumentContext ctx = parser().project(JsonPath.compile("$.store.book[?(@.isbn)].title"))
+                .parse(JSON_DOCUMENT);
+
+        assertThat(ctx.read("$.store.book[2]", Map.class)).containsKeys("category", "author", "title", "isbn", "display-price");
+        assertThat(ctx.read("$", Map.class)).containsOnlyKeys("store");
+    }
+
+    @Test
+    public void filters_referring_to_the_document_keep_the_whole_document() {
+        DocumentContext ctx = parser().project(JsonPath.compile("$.store.book[?(@.display-price > $.max-price)]"))
+                .parse(JSON_DOCUMENT);
+
+        assertThat(ctx.jsonString()).isEqualTo(JsonPath.parse(JSON_DOCUMENT).jsonString());
+    }
+
+    @Test
+    public void dollar_signs_in_literals_do_not_keep_the_whole_document() {
+        DocumentContext ctx = parser().project(JsonPath.compile("$.store.book[?(@.display-price == '$8.95' || @.title =~ /\\$.*/)].title"))
+                .parse(JSON_DOCUMENT);
+
+        assertThat(ctx.read("$", Map.class)).containsOnlyKeys("store");
+        assertThat(ctx.read("$.store", Map.class)).containsOnlyKeys("book");
+    }
+
+    @Test
+    public void filters_referring_to_the_document_in_nested_filters_keep_the_whole_document() {
+        DocumentContext ctx = parser().project(JsonPath.compile("$.store.book[?(@.tags[?(@ == $.max-price)])]"))
+                .parse(JSON_DOCUMENT);
+
+        assertThat(ctx.jsonString()).isEqualTo(JsonPath.parse(JSON_DOCUMENT).jsonString());
+    }
+
+    @Test
+    public void invalid_documents_are_rejected() {
+        try {
+            parser().project(JsonPath.compile("$.a")).parse("{\"b\": [1, }");
+            fail("Expected invalid json");
+        } catch (InvalidJsonException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.jayway.jsonpath;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.jayway.jsonpath.JsonPath.parse;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class WriteBatchTest extends BaseTest {
+
+    @Test
+    public void modifications_of_a_batch_are_applied_together() {
+        ExtendedDocumentContext ctx = (ExtendedDocumentContext) parse(JSON_DOCUMENT);
+
+        ctx.batch()
+                .set("$.store.book[1].display-price", 1)
+                .put("$.store.bicycle", "gears", 21)
+                .add("$.store.book", "appended")
+                .renameKey("$.store.bicycle", "color", "colour")
+                .delete("$.store.book[0]")
+                .delete("$.store.book[2]")
+                .apply();
+
+        assertThat(ctx.read("$.store.book[0].title", String.class)).isEqualTo("Sword of Honour");
+        assertThat(ctx.read("$.store.book[0].display-price", Integer.class)).isEqualTo(1);
+        assertThat(ctx.read("$.store.book[1].title", String.class)).isEqualTo("The Lord of the Rings");
+        assertThat(ctx.read("$.store.book[2]", String.class)).isEqualTo("appended");
+        assertThat(ctx.read("$.store.book.length()", Integer.class)).isEqualTo(3);
+        assertThat(ctx.read("$.store.bicycle.gears", Integer.class)).isEqualTo(21);
+        assertThat(ctx.read("$.store.bicycle.colour", String.class)).isEqualTo("red");
+    }
+
+    @Test
+    public void paths_are_resolved_against_the_unmodified_document() {
+        ExtendedDocumentContext ctx = (ExtendedDocumentContext) parse(JSON_DOCUMENT);
+
+        ctx.batch()
+                .delete("$.store.book[0]")
+                .set("$.store.book[1].title", "Changed")
+                .delete("$.store.book[?(@.category == 'fiction' && @.isbn)]")
+                .delete("$.store.book[3]")
+                .apply();
+
+        List<String> titles = ctx.read("$.store.book[*].title");
+        assertThat(titles).containsExactly("Changed");
+    }
+
+    @Test
+    public void nothing_is_modified_when_a_path_can_not_be_resolved() {
+        ExtendedDocumentContext ctx = (ExtendedDocumentContext) parse(JSON_DOCUMENT);
+        WriteBatch batch = ctx.batch()
+                .set("$.store.book[0].author", "Someone")
+                .set("$.store.missing.author", "Someone");
+
+        try {
+            batch.apply();
+            fail("Expected PathNotFoundException");
+        } catch (PathNotFoundException e) {
+        }
+
+        assertThat(ctx.read("$.store.book[0].author", String.class)).isEqualTo("Nigel Rees");
+    }
+}
@@ -309,6 +309,21 @@ public class WriteTest extends BaseTest {
         }
     }
 
+    @Test
+    public void elements_of_arrays_and_objects_can_be_deleted_together() {
+        StringBuilder json = new StringBuilder("{\"a\":[");
+        for (int i = 0; i < 12; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(i % 4 == 1 ? ",\"drop\":true}" : "}");
+        }
+        json.append("],\"b\":{\"c\":{\"drop\":true},\"d\":{\"id\":12},\"e\":[{\"drop\":true},{\"id\":13}]}}");
+
+        DocumentContext ctx = parse(json.toString()).delete("$..[?(@.drop)]");
+
+        List<Integer> ids = ctx.read("$..id");
+        assertThat(ids).containsExactly(0, 2, 3, 4, 6, 7, 8, 10, 11, 12, 13);
+        assertThat(ctx.read("$.b", Map.class)).doesNotContainKey("c");
+    }
+
     // Helper converter implementation for test cases.
     private class ToStringMapFunction implements MapFunction {
 
@@ -0,0 +1,92 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonArrayStream;
+import com.jayway.jsonpath.JsonPath;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Reads <code>$[*].id</code> from a generated file of about 60 MB holding one large array, parsing
+ * the whole document and streaming its elements, and prints the heap in use while the last
+ * element is read.
+ */
+public class ArrayStreamBenchmark {
+
+    private static final int SIZE = 500000;
+
+    public static void main(String[] args) throws IOException {
+        final File file = File.createTempFile("json-path-benchmark", ".json");
+        file.deleteOnExit();
+        writeDocument(file);
+        final Configuration configuration = Configuration.defaultConfiguration();
+
+        Benchmarks.run("parse whole document", 2, 5, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Benchmarks.consume(JsonPath.using(configuration).parse(file).read("$[*].id"));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        final JsonArrayStream stream = JsonArrayStream.query(configuration, "$[*]", JsonPath.compile("$.id"));
+        Benchmarks.run("stream elements     ", 2, 5, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    stream.read(file, new JsonArrayStream.ElementHandler() {
+                        @Override
+                        public void element(long index, Object[] values) {
+                            Benchmarks.consume(values[0]);
+                        }
+                    });
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+
+        DocumentContext document = JsonPath.using(configuration).parse(file);
+        System.out.println(String.format("heap in use, whole document: %d MB", heapInUse()));
+        Benchmarks.consume(document.json());
+        document = null;
+        stream.read(file, new JsonArrayStream.ElementHandler() {
+            @Override
+            public void element(long index, Object[] values) {
+                if (index == SIZE - 1) {
+                    System.out.println(String.format("heap in use, streamed: %d MB", heapInUse()));
+                }
+            }
+        });
+    }
+
+    private static long heapInUse() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+    }
+
+    private static void writeDocument(File file) throws IOException {
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write("[");
+            for (int i = 0; i < SIZE; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write("{\"id\":" + i + ",\"name\":\"item-" + i + "\",\"price\":" + (i % 1000) / 10D
+                        + ",\"tags\":[\"a\",\"b\",\"c\"],\"active\":" + (i % 2 == 0) + ",\"note\":\"lorem ipsum dolor sit amet\"}");
+            }
+            writer.write("]");
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+/**
+ * Wildcard, slice and index selections over a 100000 element array built through
+ * {@link JsonProvider#createArray()}, for every provider.
+ */
+public class ArrayTraversalBenchmark {
+
+    private static final int SIZE = 100000;
+
+    private static final String[] PATHS = {
+            "$.items[*]", "$.items[1000:90000]", "$.items[-5000:]", "$.items[:5000]", "$.items[5,50000,99999]"
+    };
+
+    public static void main(String[] args) {
+        for (final Configuration conf : Configurations.configurations()) {
+            final Object doc = createDocument(conf.jsonProvider());
+            String providerName = conf.jsonProvider().getClass().getSimpleName();
+
+            for (String path : PATHS) {
+                final JsonPath compiled = JsonPath.compile(path);
+                Benchmarks.run(providerName + " " + path, 2, 5, new Runnable() {
+                    @Override
+                    public void run() {
+                        Benchmarks.consume(compiled.read(doc, conf));
+                    }
+                });
+            }
+        }
+    }
+
+    private static Object createDocument(JsonProvider provider) {
+        Object items = provider.createArray();
+        for (int i = 0; i < SIZE; i++) {
+            provider.setArrayIndex(items, i, i);
+        }
+        Object doc = provider.createMap();
+        provider.setProperty(doc, "items", items);
+        return doc;
+    }
+}
@@ -0,0 +1,96 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.Arrays;
+
+/**
+ * Minimal timing harness for the benchmarks in this package.
+ *
+ * The benchmarks are plain main classes (not tests) so they are not executed as part of the build.
+ * Run them from the IDE or with <code>java -cp ... com.jayway.jsonpath.benchmark.XxxBenchmark</code>.
+ */
+public final class Benchmarks {
+
+    /**
+     * Computes a property of the rows of a generated document.
+     */
+    public interface Column {
+
+        /**
+         * @param row index of the row
+         * @return the value of the property, or null to leave it out of the row
+         */
+        Object value(int row);
+    }
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Creates a document with an array of rows under a property, like
+     * <code>{"rows": [{"id": 0, "status": "NEW"}, ...]}</code>. Every row has an <code>id</code>
+     * holding its index, followed by the given properties.
+     *
+     * @param provider provider to build the document with
+     * @param property name of the array
+     * @param rows     number of rows
+     * @param columns  pairs of property names and values, a value is either a {@link Column} or the same for every row
+     * @return the document
+     */
+    public static Object rowsDocument(JsonProvider provider, String property, int rows, Object... columns) {
+        Object array = provider.createArray();
+        for (int i = 0; i < rows; i++) {
+            Object row = provider.createMap();
+            provider.setProperty(row, "id", i);
+            for (int c = 0; c < columns.length; c += 2) {
+                Object value = columns[c + 1] instanceof Column ? ((Column) columns[c + 1]).value(i) : columns[c + 1];
+                if (value != null) {
+                    provider.setProperty(row, (String) columns[c], value);
+                }
+            }
+            provider.setArrayIndex(array, i, row);
+        }
+        Object doc = provider.createMap();
+        provider.setProperty(doc, property, array);
+        return doc;
+    }
+
+    /**
+     * Runs the given task <code>warmups</code> times, then times <code>iterations</code> runs and
+     * prints the median and best run.
+     *
+     * @param name       name of the benchmark
+     * @param warmups    number of untimed runs
+     * @param iterations number of timed runs
+     * @param task       the task to run
+     * @return median time in milliseconds
+     */
+    public static double run(String name, int warmups, int iterations, Runnable task) {
+        for (int i = 0; i < warmups; i++) {
+            task.run();
+        }
+        long[] times = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            task.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        double median = times[iterations / 2] / 1000000D;
+        double best = times[0] / 1000000D;
+        System.out.println(String.format("%-60s median: %10.3f ms   best: %10.3f ms", name, median, best));
+        return median;
+    }
+
+    /**
+     * Prevents the JIT from eliminating a computed result.
+     *
+     * @param result result to consume
+     */
+    public static void consume(Object result) {
+        if (result != null && result.hashCode() == System.nanoTime()) {
+            System.out.print("");
+        }
+    }
+}
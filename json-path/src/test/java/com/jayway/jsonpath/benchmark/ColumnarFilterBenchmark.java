@@ -0,0 +1,57 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+/**
+ * Repeated filters over a 200000 element array of records read through one DocumentContext,
+ * row by row and with {@link Option#COLUMNAR_FILTERS}.
+ */
+public class ColumnarFilterBenchmark {
+
+    private static final int SIZE = 200000;
+
+    public static void main(String[] args) {
+        Configuration rows = Configuration.defaultConfiguration();
+        Configuration columnar = rows.addOptions(Option.COLUMNAR_FILTERS);
+        Object doc = createDocument(rows.jsonProvider());
+
+        run("row by row", JsonPath.using(rows).parse(doc));
+        run("columnar  ", JsonPath.using(columnar).parse(doc));
+    }
+
+    private static void run(String name, final DocumentContext ctx) {
+        final JsonPath status = JsonPath.compile("$.rows[?(@.status == 'OK')].id");
+        final JsonPath combined = JsonPath.compile("$.rows[?(@.status == 'OK' && @.latency > 90.5)].id");
+
+        Benchmarks.run(name + " status == 'OK'", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(ctx.read(status));
+            }
+        });
+        Benchmarks.run(name + " status and latency", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(ctx.read(combined));
+            }
+        });
+    }
+
+    private static Object createDocument(JsonProvider provider) {
+        return Benchmarks.rowsDocument(provider, "rows", SIZE, "status", new Benchmarks.Column() {
+            @Override
+            public Object value(int row) {
+                return row % 10 == 0 ? "FAILED" : "OK";
+            }
+        }, "latency", new Benchmarks.Column() {
+            @Override
+            public Object value(int row) {
+                return (row * 31 % 1000) / 10.0;
+            }
+        });
+    }
+}
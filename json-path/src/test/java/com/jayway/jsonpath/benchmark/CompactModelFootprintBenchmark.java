@@ -0,0 +1,38 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.spi.json.CompactJsonProvider;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+
+/**
+ * Heap retained by 200000 small parsed config documents, json-smart model versus the compact model.
+ */
+public class CompactModelFootprintBenchmark {
+
+    private static final int SIZE = 200000;
+
+    public static void main(String[] args) {
+        for (JsonProvider provider : new JsonProvider[]{new JsonSmartJsonProvider(), new CompactJsonProvider()}) {
+            Object[] documents = new Object[SIZE];
+            long before = usedHeap();
+            for (int i = 0; i < SIZE; i++) {
+                documents[i] = provider.parse("{\"id\":" + i + ",\"name\":\"service-" + (i % 100) + "\",\"enabled\":true,"
+                        + "\"timeoutMillis\":" + (i % 5000) + ",\"ratio\":0." + (i % 10) + ",\"retries\":3,"
+                        + "\"endpoint\":{\"host\":\"host-" + (i % 50) + "\",\"port\":8080,\"secure\":false},"
+                        + "\"tags\":[\"a\",\"b\"]}");
+            }
+            long used = usedHeap() - before;
+            System.out.println(String.format("%-60s %8.1f MB  %6d bytes/document",
+                    provider.getClass().getSimpleName(), used / (1024D * 1024D), used / SIZE));
+            Benchmarks.consume(documents);
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,117 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.ExtendedDocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Eight threads read from a shared document while one thread writes to it, guarded by a
+ * read write lock and through a concurrent document context.
+ */
+public class ConcurrentContextBenchmark {
+
+    private static final int GROUPS = 200;
+    private static final int ITEMS = 50;
+    private static final int READERS = 8;
+    private static final int READS = 2000;
+    private static final int WRITES = 500;
+
+    private static final JsonPath READ = JsonPath.compile("$.groups[42].items[?(@.id == 7)].status");
+
+    public static void main(String[] args) {
+        final Configuration configuration = Configuration.defaultConfiguration();
+
+        Benchmarks.run("read write lock   ", 3, 10, new Runnable() {
+            @Override
+            public void run() {
+                final DocumentContext ctx = JsonPath.using(configuration).parse(createDocument(configuration.jsonProvider()));
+                final ReadWriteLock lock = new ReentrantReadWriteLock();
+                runThreads(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = 0; i < READS; i++) {
+                            lock.readLock().lock();
+                            try {
+                                Benchmarks.consume(ctx.read(READ));
+                            } finally {
+                                lock.readLock().unlock();
+                            }
+                        }
+                    }
+                }, new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = 0; i < WRITES; i++) {
+                            lock.writeLock().lock();
+                            try {
+                                ctx.set(path(i), "DONE");
+                            } finally {
+                                lock.writeLock().unlock();
+                            }
+                        }
+                    }
+                });
+            }
+        });
+        Benchmarks.run("concurrent context", 3, 10, new Runnable() {
+            @Override
+            public void run() {
+                final DocumentContext ctx = ((ExtendedDocumentContext) JsonPath.using(configuration).parse(createDocument(configuration.jsonProvider()))).concurrent();
+                runThreads(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = 0; i < READS; i++) {
+                            Benchmarks.consume(ctx.read(READ));
+                        }
+                    }
+                }, new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = 0; i < WRITES; i++) {
+                            ctx.set(path(i), "DONE");
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private static String path(int i) {
+        return "$.groups[" + (i * 31 % GROUPS) + "].items[" + (i % ITEMS) + "].status";
+    }
+
+    private static void runThreads(Runnable reader, Runnable writer) {
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < READERS; i++) {
+            threads.add(new Thread(reader));
+        }
+        threads.add(new Thread(writer));
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Object createDocument(JsonProvider provider) {
+        Object groups = provider.createArray();
+        for (int g = 0; g < GROUPS; g++) {
+            provider.setArrayIndex(groups, g, Benchmarks.rowsDocument(provider, "items", ITEMS, "status", "NEW"));
+        }
+        Object doc = provider.createMap();
+        provider.setProperty(doc, "groups", groups);
+        return doc;
+    }
+}
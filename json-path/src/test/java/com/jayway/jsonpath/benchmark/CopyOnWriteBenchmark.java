@@ -0,0 +1,60 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+/**
+ * Keeps the previous version of a 100000 element document while updating one value, by deep
+ * copying the document before the write and with {@link Option#COPY_ON_WRITE}.
+ */
+public class CopyOnWriteBenchmark {
+
+    private static final int SIZE = 100000;
+
+    public static void main(String[] args) {
+        final Configuration configuration = Configuration.defaultConfiguration();
+        final Configuration copyOnWrite = configuration.addOptions(Option.COPY_ON_WRITE);
+        final Object doc = createDocument(configuration.jsonProvider());
+        final JsonPath path = JsonPath.compile("$.rows[54321].status");
+
+        Benchmarks.run("deep copy and set", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                Object copy = deepCopy(doc, configuration.jsonProvider());
+                Benchmarks.consume(JsonPath.using(configuration).parse(copy).set(path, "DONE").json());
+            }
+        });
+        final DocumentContext version = JsonPath.using(copyOnWrite).parse(doc);
+        Benchmarks.run("copy on write set", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(version.set(path, "DONE").json());
+            }
+        });
+    }
+
+    private static Object deepCopy(Object value, JsonProvider provider) {
+        if (provider.isArray(value)) {
+            Object copy = provider.createArray();
+            int idx = 0;
+            for (Object element : provider.toIterable(value)) {
+                provider.setArrayIndex(copy, idx++, deepCopy(element, provider));
+            }
+            return copy;
+        } else if (provider.isMap(value)) {
+            Object copy = provider.createMap();
+            for (String key : provider.getPropertyKeys(value)) {
+                provider.setProperty(copy, key, deepCopy(provider.getMapValue(value, key), provider));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    private static Object createDocument(JsonProvider provider) {
+        return Benchmarks.rowsDocument(provider, "rows", SIZE, "status", "NEW");
+    }
+}
@@ -0,0 +1,75 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.EvaluationBudget;
+import com.jayway.jsonpath.EvaluationBudgetExceededException;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates <code>$..*[?(@..name)]</code>, which scans below every scanned node, on a 30000 row
+ * document without a budget and with a 10 ms budget, and reads a filtered path 100000 times from a
+ * small document with and without a budget.
+ */
+public class EvaluationBudgetBenchmark {
+
+    public static void main(String[] args) {
+        Configuration plain = Configuration.defaultConfiguration();
+        Configuration budgeted = plain.evaluationBudget(EvaluationBudget.builder()
+                .maxNodesVisited(10000000).maxTime(10, TimeUnit.MILLISECONDS).interruptible(true).build());
+
+        final JsonPath runaway = JsonPath.compile("$..*[?(@..name)]");
+        final DocumentContext large = JsonPath.using(plain).parse(createDocument(plain.jsonProvider(), 30000));
+        final DocumentContext largeBudgeted = JsonPath.using(budgeted).parse(large.json());
+        Benchmarks.run("nested scan without budget", 1, 3, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(large.read(runaway));
+            }
+        });
+        Benchmarks.run("nested scan with budget", 1, 3, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Benchmarks.consume(largeBudgeted.read(runaway));
+                } catch (EvaluationBudgetExceededException e) {
+                    Benchmarks.consume(e);
+                }
+            }
+        });
+
+        final JsonPath filtered = JsonPath.compile("$.rows[?(@.id > 15)].id");
+        final DocumentContext small = JsonPath.using(plain).parse(createDocument(plain.jsonProvider(), 20));
+        final DocumentContext smallBudgeted = JsonPath.using(budgeted).parse(small.json());
+        Benchmarks.run("100000 filtered reads without budget", 5, 15, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 100000; i++) {
+                    Benchmarks.consume(small.read(filtered));
+                }
+            }
+        });
+        Benchmarks.run("100000 filtered reads with budget", 5, 15, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 100000; i++) {
+                    Benchmarks.consume(smallBudgeted.read(filtered));
+                }
+            }
+        });
+    }
+
+    private static Object createDocument(final JsonProvider provider, int size) {
+        return Benchmarks.rowsDocument(provider, "rows", size, "child", new Benchmarks.Column() {
+            @Override
+            public Object value(int row) {
+                Object child = provider.createMap();
+                provider.setProperty(child, "name", "row" + row);
+                return child;
+            }
+        });
+    }
+}
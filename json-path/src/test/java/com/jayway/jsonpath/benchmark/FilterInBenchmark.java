@@ -0,0 +1,54 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+/**
+ * Allow-list style <code>in</code> filters with a 5000 element literal list over a 100000 element array.
+ */
+public class FilterInBenchmark {
+
+    private static final int SIZE = 100000;
+    private static final int LIST_SIZE = 5000;
+
+    public static void main(String[] args) {
+        final Configuration conf = Configuration.defaultConfiguration();
+        final Object doc = createDocument(conf.jsonProvider());
+
+        StringBuilder skus = new StringBuilder("[");
+        StringBuilder ids = new StringBuilder("[");
+        for (int i = 0; i < LIST_SIZE; i++) {
+            if (i > 0) {
+                skus.append(',');
+                ids.append(',');
+            }
+            skus.append("\"sku-").append(i * 7).append('"');
+            ids.append(i * 7);
+        }
+        final JsonPath stringIn = JsonPath.compile("$.items[?(@.sku in " + skus.append(']') + ")].id");
+        final JsonPath numberIn = JsonPath.compile("$.items[?(@.id in " + ids.append(']') + ")].id");
+
+        Benchmarks.run("string in  5000 literals", 3, 10, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(stringIn.read(doc, conf));
+            }
+        });
+        Benchmarks.run("number in  5000 literals", 3, 10, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(numberIn.read(doc, conf));
+            }
+        });
+    }
+
+    private static Object createDocument(JsonProvider provider) {
+        return Benchmarks.rowsDocument(provider, "items", SIZE, "sku", new Benchmarks.Column() {
+            @Override
+            public Object value(int row) {
+                return "sku-" + row;
+            }
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+/**
+ * Numeric inline filters over a one million element array.
+ */
+public class FilterNumericComparisonBenchmark {
+
+    private static final int SIZE = 1000000;
+
+    public static void main(String[] args) {
+        final Configuration conf = Configuration.defaultConfiguration();
+        final Object doc = createDocument(conf.jsonProvider());
+
+        final JsonPath intLt = JsonPath.compile("$.items[?(@.qty < 500)].id");
+        final JsonPath doubleGt = JsonPath.compile("$.items[?(@.price > 49.5)].id");
+        final JsonPath mixedEq = JsonPath.compile("$.items[?(@.qty == 250.0)].id");
+
+        Benchmarks.run("int   lt  $.items[?(@.qty < 500)]", 3, 10, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(intLt.read(doc, conf));
+            }
+        });
+        Benchmarks.run("double gt $.items[?(@.price > 49.5)]", 3, 10, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(doubleGt.read(doc, conf));
+            }
+        });
+        Benchmarks.run("mixed eq  $.items[?(@.qty == 250.0)]", 3, 10, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(mixedEq.read(doc, conf));
+            }
+        });
+    }
+
+    private static Object createDocument(JsonProvider provider) {
+        return Benchmarks.rowsDocument(provider, "items", SIZE, "qty", new Benchmarks.Column() {
+            @Override
+            public Object value(int row) {
+                return row % 1000;
+            }
+        }, "price", new Benchmarks.Column() {
+            @Override
+            public Object value(int row) {
+                return (row % 10000) / 100D;
+            }
+        });
+    }
+}
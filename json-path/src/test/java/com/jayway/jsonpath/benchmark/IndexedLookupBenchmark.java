@@ -0,0 +1,66 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.ExtendedDocumentContext;
+import com.jayway.jsonpath.IndexType;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+/**
+ * Repeated lookups by key in a 200000 element array read through one DocumentContext,
+ * without and with an index on the key.
+ */
+public class IndexedLookupBenchmark {
+
+    private static final int SIZE = 200000;
+
+    public static void main(String[] args) {
+        Configuration configuration = Configuration.defaultConfiguration();
+        Object doc = createDocument(configuration.jsonProvider());
+
+        run("scan   ", JsonPath.using(configuration).parse(doc));
+        run("indexed", ((ExtendedDocumentContext) JsonPath.using(configuration).parse(doc))
+                .createIndex("$.products[*]", "@.id", IndexType.SORTED)
+                .createIndex("$.products[*]", "@.sku"));
+    }
+
+    private static void run(String name, final DocumentContext ctx) {
+        final JsonPath byId = JsonPath.compile("$.products[?(@.id == 123456)].price");
+        final JsonPath bySku = JsonPath.compile("$.products[?(@.sku in ['SKU-17', 'SKU-99999'])].id");
+        final JsonPath range = JsonPath.compile("$.products[?(@.id >= 100000 && @.id < 100050)].sku");
+
+        Benchmarks.run(name + " id == 123456", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(ctx.read(byId));
+            }
+        });
+        Benchmarks.run(name + " sku in [...]", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(ctx.read(bySku));
+            }
+        });
+        Benchmarks.run(name + " id range", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(ctx.read(range));
+            }
+        });
+    }
+
+    private static Object createDocument(JsonProvider provider) {
+        return Benchmarks.rowsDocument(provider, "products", SIZE, "sku", new Benchmarks.Column() {
+            @Override
+            public Object value(int row) {
+                return "SKU-" + row;
+            }
+        }, "price", new Benchmarks.Column() {
+            @Override
+            public Object value(int row) {
+                return (row * 31 % 1000) / 10.0;
+            }
+        });
+    }
+}
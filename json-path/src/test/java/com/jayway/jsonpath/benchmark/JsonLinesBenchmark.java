@@ -0,0 +1,68 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonLines;
+import com.jayway.jsonpath.JsonPath;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+/**
+ * Reads three fields from 200000 log records of newline delimited json, parsing every line
+ * into its own context and through {@link JsonLines} with one and with all processors.
+ */
+public class JsonLinesBenchmark {
+
+    private static final int RECORDS = 200000;
+
+    public static void main(String[] args) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < RECORDS; i++) {
+            sb.append("{\"ts\":").append(1500000000000L + i).append(",\"level\":\"").append(i % 10 == 0 ? "WARN" : "INFO")
+                    .append("\",\"message\":\"request ").append(i).append(" served\",\"http\":{\"method\":\"GET\",\"status\":200,\"path\":\"/items/")
+                    .append(i).append("\"},\"tags\":[\"web\",\"eu-1\"]}\n");
+        }
+        final byte[] input = sb.toString().getBytes("UTF-8");
+        final Configuration configuration = Configuration.defaultConfiguration();
+        final JsonPath[] paths = {JsonPath.compile("$.ts"), JsonPath.compile("$.level"), JsonPath.compile("$.http.status")};
+
+        Benchmarks.run("context per line", 2, 5, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(input), "UTF-8"));
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        DocumentContext ctx = JsonPath.using(configuration).parse(line);
+                        for (JsonPath path : paths) {
+                            Benchmarks.consume(ctx.read(path));
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        for (final int threads : new int[]{1, Runtime.getRuntime().availableProcessors()}) {
+            final JsonLines query = JsonLines.query(configuration, paths).threads(threads);
+            Benchmarks.run("JsonLines, " + threads + " threads", 2, 5, new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        query.read(new ByteArrayInputStream(input), new JsonLines.RecordHandler() {
+                            @Override
+                            public void record(long line, Object[] values) {
+                                Benchmarks.consume(values);
+                            }
+                        });
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+        }
+    }
+}
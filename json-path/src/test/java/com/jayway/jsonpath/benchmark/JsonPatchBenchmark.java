@@ -0,0 +1,66 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPatch;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+/**
+ * Applies the same 100 replacements and 50 removals to a 10000 element array through
+ * path based writes and as a compiled JSON patch, and diffs two versions of the document.
+ */
+public class JsonPatchBenchmark {
+
+    private static final int SIZE = 10000;
+    private static final int PATCHES = 50;
+
+    public static void main(String[] args) {
+        final Configuration configuration = Configuration.defaultConfiguration();
+
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < PATCHES; i++) {
+            json.append("{\"op\":\"replace\",\"path\":\"/rows/").append(i * 2).append("/status\",\"value\":\"DONE\"},");
+            json.append("{\"op\":\"replace\",\"path\":\"/rows/").append(i * 7).append("/id\",\"value\":-1},");
+        }
+        for (int i = PATCHES; i > 0; i--) {
+            json.append("{\"op\":\"remove\",\"path\":\"/rows/").append(i * 100).append("\"},");
+        }
+        json.setCharAt(json.length() - 1, ']');
+        final JsonPatch patch = JsonPatch.parse(json.toString());
+
+        Benchmarks.run("paths     ", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                DocumentContext ctx = JsonPath.using(configuration).parse(createDocument(configuration.jsonProvider()));
+                for (int i = 0; i < PATCHES; i++) {
+                    ctx.set("$.rows[" + (i * 2) + "].status", "DONE");
+                    ctx.set("$.rows[" + (i * 7) + "].id", -1);
+                }
+                for (int i = PATCHES; i > 0; i--) {
+                    ctx.delete("$.rows[" + (i * 100) + "]");
+                }
+                Benchmarks.consume(ctx.json());
+            }
+        });
+        Benchmarks.run("json patch", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(patch.apply(createDocument(configuration.jsonProvider()), configuration));
+            }
+        });
+
+        final Object source = createDocument(configuration.jsonProvider());
+        final Object target = patch.apply(createDocument(configuration.jsonProvider()), configuration);
+        Benchmarks.run("diff      ", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(JsonPatch.diff(source, target, configuration));
+            }
+        });
+    }
+
+    private static Object createDocument(JsonProvider provider) {
+        return Benchmarks.rowsDocument(provider, "rows", SIZE, "status", "NEW");
+    }
+}
@@ -0,0 +1,106 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.JsonPath;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compiles the paths used by the tests and the README, listed in <code>benchmark-paths.txt</code>,
+ * and a synthetic corpus of 10000 distinct paths of the same shapes: dot and bracket notation,
+ * indexes, slices, wildcards, deep scans, functions and inline filters with relational and
+ * logical operators, exists checks and nested paths.
+ */
+public class PathCompileBenchmark {
+
+    private static final String[] PROPERTIES = {"store", "book", "bicycle", "author", "title", "price", "category",
+            "isbn", "items", "id", "name", "status", "tags", "address", "city", "latency", "rows", "data", "meta", "value"};
+
+    private static final String[] SHAPES = {
+            "$.%s.%s.%s",
+            "$.%s[%d].%s",
+            "$['%s']['%s'][%d]['%s']",
+            "$.%s[*].%s",
+            "$..%s",
+            "$..%s[%d].%s",
+            "$.%s[%d:%d].%s",
+            "$.%s['%s','%s']",
+            "$.%s.%s.length()",
+            "$.%s[*].%s.max()",
+            "$.%s[?(@.%s)].%s",
+            "$.%s[?(!@.%s)]",
+            "$.%s[?(@.%s > %d)].%s",
+            "$.%s[?(@.%s == '%s')].%s",
+            "$.%s[?(@.%s < %d && @.%s == 'x%s')]",
+            "$.%s[?(@.%s >= %d || @.%s != null)].%s",
+            "$.%s[?(@.%s in ['a', 'b', '%s'])]",
+            "$.%s[?(@.%s =~ /%s.*?/i)].%s",
+            "$..%s[?(@.%s <= $.%s)].%s",
+            "$.%s[?((@.%s == true && @.%s > %d) || @.%s.length() > %d)]",
+    };
+
+    public static void main(String[] args) throws IOException {
+        final List<String> paths = paths();
+        Benchmarks.run("compile " + paths.size() + " test and README paths x 20", 10, 30, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 20; i++) {
+                    for (String path : paths) {
+                        Benchmarks.consume(JsonPath.compile(path));
+                    }
+                }
+            }
+        });
+
+        final List<String> corpus = corpus(10000);
+        Benchmarks.run("compile " + corpus.size() + " synthetic paths", 10, 30, new Runnable() {
+            @Override
+            public void run() {
+                for (String path : corpus) {
+                    Benchmarks.consume(JsonPath.compile(path));
+                }
+            }
+        });
+    }
+
+    static List<String> paths() throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                PathCompileBenchmark.class.getResourceAsStream("/benchmark-paths.txt"), "UTF-8"));
+        try {
+            List<String> paths = new ArrayList<String>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.length() > 0) {
+                    paths.add(line);
+                }
+            }
+            return paths;
+        } finally {
+            reader.close();
+        }
+    }
+
+    static List<String> corpus(int size) {
+        Random random = new Random(42);
+        List<String> corpus = new ArrayList<String>(size);
+        for (int i = 0; i < size; i++) {
+            String shape = SHAPES[i % SHAPES.length];
+            List<Object> arguments = new ArrayList<Object>();
+            int pos = shape.indexOf('%');
+            while (pos >= 0) {
+                if (shape.charAt(pos + 1) == 'd') {
+                    arguments.add(random.nextInt(100));
+                } else {
+                    arguments.add(PROPERTIES[random.nextInt(PROPERTIES.length)] + (i / SHAPES.length));
+                }
+                pos = shape.indexOf('%', pos + 2);
+            }
+            corpus.add(String.format(shape, arguments.toArray()));
+        }
+        return corpus;
+    }
+}
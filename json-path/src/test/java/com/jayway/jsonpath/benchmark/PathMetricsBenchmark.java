@@ -0,0 +1,53 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.jayway.jsonpath.spi.metrics.PathMetricsCollector;
+
+/**
+ * Reads a definite and a filtered path 100000 times each from a small document, without evaluation
+ * metrics and recording them to a {@link PathMetricsCollector}.
+ */
+public class PathMetricsBenchmark {
+
+    private static final int READS = 100000;
+
+    public static void main(String[] args) {
+        Configuration plain = Configuration.defaultConfiguration();
+        PathMetricsCollector metrics = new PathMetricsCollector();
+        Object doc = createDocument(plain.jsonProvider());
+        final JsonPath definite = JsonPath.compile("$.rows[7].status");
+        final JsonPath filtered = JsonPath.compile("$.rows[?(@.id > 15)].id");
+
+        final DocumentContext withoutMetrics = JsonPath.using(plain).parse(doc);
+        final DocumentContext withMetrics = JsonPath.using(plain.evaluationMetrics(metrics)).parse(doc);
+        run("without metrics", withoutMetrics, definite, filtered);
+        run("with metrics", withMetrics, definite, filtered);
+        System.out.println(metrics.slowest(2));
+    }
+
+    private static void run(String name, final DocumentContext ctx, final JsonPath definite, final JsonPath filtered) {
+        Benchmarks.run(name + " definite", 5, 15, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < READS; i++) {
+                    Benchmarks.consume(ctx.read(definite));
+                }
+            }
+        });
+        Benchmarks.run(name + " filtered", 5, 15, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < READS; i++) {
+                    Benchmarks.consume(ctx.read(filtered));
+                }
+            }
+        });
+    }
+
+    private static Object createDocument(JsonProvider provider) {
+        return Benchmarks.rowsDocument(provider, "rows", 20, "status", "NEW");
+    }
+}
@@ -0,0 +1,86 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.MapFunction;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+/**
+ * Updates touching 100000 locations of one document, where ordering the update targets is a
+ * noticeable part of the work.
+ */
+public class PathRefOrderBenchmark {
+
+    private static final int SIZE = 100000;
+
+    public static void main(String[] args) {
+        final Configuration configuration = Configuration.defaultConfiguration();
+        final Object doc = createDocument(configuration.jsonProvider());
+        final JsonPath deepScan = JsonPath.compile("$..price");
+        final JsonPath multiProperty = JsonPath.compile("$.rows[*]['price','stock']");
+        final JsonPath elements = JsonPath.compile("$.rows[*].tags[*]");
+        final JsonPath rows = JsonPath.compile("$.rows[*]");
+
+        Benchmarks.run("$..price", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(deepScan.set(doc, 1, configuration));
+            }
+        });
+        Benchmarks.run("$.rows[*]['price','stock']", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(multiProperty.set(doc, 1, configuration));
+            }
+        });
+        Benchmarks.run("$.rows[*].tags[*]", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(elements.set(doc, "tag", configuration));
+            }
+        });
+        Benchmarks.run("$.rows[*]", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(rows.map(doc, new MapFunction() {
+                    @Override
+                    public Object map(Object currentValue, Configuration configuration) {
+                        return currentValue;
+                    }
+                }, configuration));
+            }
+        });
+    }
+
+    private static Object createDocument(final JsonProvider provider) {
+        return Benchmarks.rowsDocument(provider, "rows", SIZE, "price", new Benchmarks.Column() {
+            @Override
+            public Object value(int row) {
+                return row % 100;
+            }
+        }, "stock", new Benchmarks.Column() {
+            @Override
+            public Object value(int row) {
+                return row % 7;
+            }
+        }, "tags", new Benchmarks.Column() {
+            @Override
+            public Object value(int row) {
+                Object tags = provider.createArray();
+                provider.setArrayIndex(tags, 0, "a");
+                provider.setArrayIndex(tags, 1, "b");
+                return tags;
+            }
+        }, "nested", new Benchmarks.Column() {
+            @Override
+            public Object value(int row) {
+                if (row % 2 != 0) {
+                    return null;
+                }
+                Object nested = provider.createMap();
+                provider.setProperty(nested, "price", row);
+                return nested;
+            }
+        });
+    }
+}
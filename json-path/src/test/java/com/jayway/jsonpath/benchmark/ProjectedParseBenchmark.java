@@ -0,0 +1,50 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.ExtendedParseContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.ParseContext;
+
+/**
+ * Parses a document of about 30 MB and reads two fixed paths from it, parsing the whole
+ * document and only the parts the paths read.
+ */
+public class ProjectedParseBenchmark {
+
+    private static final int SIZE = 200000;
+
+    public static void main(String[] args) {
+        StringBuilder sb = new StringBuilder("{\"meta\":{\"version\":3},\"items\":[");
+        for (int i = 0; i < SIZE; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i).append(",\"name\":\"item-").append(i)
+                    .append("\",\"price\":").append((i % 1000) / 10D)
+                    .append(",\"tags\":[\"a\",\"b\",\"c\"],\"dims\":{\"w\":1,\"h\":2,\"d\":3}}");
+        }
+        final String json = sb.append("]}").toString();
+        final JsonPath ids = JsonPath.compile("$.items[*].id");
+        final JsonPath version = JsonPath.compile("$.meta.version");
+        final Configuration configuration = Configuration.defaultConfiguration();
+
+        Benchmarks.run("whole document", 3, 10, new Runnable() {
+            @Override
+            public void run() {
+                DocumentContext ctx = JsonPath.using(configuration).parse(json);
+                Benchmarks.consume(ctx.read(ids));
+                Benchmarks.consume(ctx.read(version));
+            }
+        });
+        final ParseContext projected = ((ExtendedParseContext) JsonPath.using(configuration)).project(ids, version);
+        Benchmarks.run("projected     ", 3, 10, new Runnable() {
+            @Override
+            public void run() {
+                DocumentContext ctx = projected.parse(json);
+                Benchmarks.consume(ctx.read(ids));
+                Benchmarks.consume(ctx.read(version));
+            }
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.CompactJsonProvider;
+
+/**
+ * Property reads over a 200000 element array of objects with identical keys, parsed by the compact provider.
+ */
+public class ShapedPropertyBenchmark {
+
+    private static final int SIZE = 200000;
+
+    public static void main(String[] args) {
+        final Configuration conf = Configuration.builder().jsonProvider(new CompactJsonProvider()).build();
+
+        StringBuilder json = new StringBuilder("{\"orders\":[");
+        for (int i = 0; i < SIZE; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"customer\":\"c-").append(i % 1000)
+                    .append("\",\"status\":\"").append(i % 3 == 0 ? "OK" : "FAILED")
+                    .append("\",\"quantity\":").append(i % 10)
+                    .append(",\"currency\":\"EUR\"")
+                    .append(",\"price\":").append(i % 100).append(".5}");
+        }
+        final Object doc = conf.jsonProvider().parse(json.append("]}").toString());
+
+        final JsonPath prices = JsonPath.compile("$.orders[*].price");
+        final JsonPath filtered = JsonPath.compile("$.orders[?(@.status == 'OK' && @.quantity > 4)].id");
+
+        Benchmarks.run("$.orders[*].price", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(prices.read(doc, conf));
+            }
+        });
+        Benchmarks.run("filter on status and quantity", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                Benchmarks.consume(filtered.read(doc, conf));
+            }
+        });
+    }
+}
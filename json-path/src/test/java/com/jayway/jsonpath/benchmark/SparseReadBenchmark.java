@@ -0,0 +1,38 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Parses a document of about 30 MB and reads a single value from it, the case the
+ * lazy provider is meant for.
+ */
+public class SparseReadBenchmark {
+
+    private static final int SIZE = 200000;
+
+    public static void main(String[] args) {
+        StringBuilder sb = new StringBuilder("{\"meta\":{\"version\":3},\"items\":[");
+        for (int i = 0; i < SIZE; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i).append(",\"name\":\"item-").append(i)
+                    .append("\",\"price\":").append((i % 1000) / 10D)
+                    .append(",\"tags\":[\"a\",\"b\",\"c\"],\"dims\":{\"w\":1,\"h\":2,\"d\":3}}");
+        }
+        final String json = sb.append("]}").toString();
+        final JsonPath path = JsonPath.compile("$.items[123456].name");
+
+        for (final Configuration conf : new Configuration[]{
+                Configurations.JSON_SMART_CONFIGURATION, Configurations.JACKSON_CONFIGURATION, Configurations.LAZY_CONFIGURATION}) {
+            Benchmarks.run(conf.jsonProvider().getClass().getSimpleName() + " parse + $.items[123456].name", 3, 10, new Runnable() {
+                @Override
+                public void run() {
+                    Benchmarks.consume(JsonPath.using(conf).parse(json).read(path));
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.JsonPath;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Parses a generated UTF-8 file of about 30 MB through {@link com.jayway.jsonpath.ParseContext#parse(File)}
+ * with every provider.
+ */
+public class StreamParseBenchmark {
+
+    private static final int SIZE = 200000;
+
+    public static void main(String[] args) throws IOException {
+        final File file = File.createTempFile("json-path-benchmark", ".json");
+        file.deleteOnExit();
+        writeDocument(file);
+
+        for (final Configuration conf : Configurations.configurations()) {
+            Benchmarks.run(conf.jsonProvider().getClass().getSimpleName() + " parse(File)", 2, 5, new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        Benchmarks.consume(JsonPath.using(conf).parse(file).json());
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+        }
+    }
+
+    private static void writeDocument(File file) throws IOException {
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write("{\"items\":[");
+            for (int i = 0; i < SIZE; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write("{\"id\":" + i + ",\"name\":\"item-" + i + " åäö\",\"price\":" + (i % 1000) / 10D
+                        + ",\"tags\":[\"a\",\"b\",\"c\"],\"active\":" + (i % 2 == 0) + ",\"note\":\"lorem ipsum dolor sit amet\"}");
+            }
+            writer.write("]}");
+        } finally {
+            writer.close();
+        }
+    }
+}
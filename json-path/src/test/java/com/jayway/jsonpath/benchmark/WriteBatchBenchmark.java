@@ -0,0 +1,55 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.ExtendedDocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.WriteBatch;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+/**
+ * Applies 50 updates and 50 deletes to a 10000 element array, one by one and as one batch.
+ */
+public class WriteBatchBenchmark {
+
+    private static final int SIZE = 10000;
+    private static final int PATCHES = 50;
+
+    public static void main(String[] args) {
+        final Configuration configuration = Configuration.defaultConfiguration();
+
+        Benchmarks.run("one by one", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                DocumentContext ctx = JsonPath.using(configuration).parse(createDocument(configuration.jsonProvider()));
+                for (int i = 0; i < PATCHES; i++) {
+                    ctx.set("$.rows[" + (i * 2) + "].status", "DONE");
+                    ctx.put("$.rows[?(@.id == " + (i * 7) + ")]", "flag", true);
+                }
+                for (int i = PATCHES; i > 0; i--) {
+                    ctx.delete("$.rows[" + (i * 100) + "]");
+                }
+                Benchmarks.consume(ctx.json());
+            }
+        });
+        Benchmarks.run("batch     ", 5, 20, new Runnable() {
+            @Override
+            public void run() {
+                ExtendedDocumentContext ctx = (ExtendedDocumentContext) JsonPath.using(configuration).parse(createDocument(configuration.jsonProvider()));
+                WriteBatch batch = ctx.batch();
+                for (int i = 0; i < PATCHES; i++) {
+                    batch.set("$.rows[" + (i * 2) + "].status", "DONE");
+                    batch.put("$.rows[?(@.id == " + (i * 7) + ")]", "flag", true);
+                }
+                for (int i = 1; i <= PATCHES; i++) {
+                    batch.delete("$.rows[" + (i * 100) + "]");
+                }
+                Benchmarks.consume(batch.apply().json());
+            }
+        });
+    }
+
+    private static Object createDocument(JsonProvider provider) {
+        return Benchmarks.rowsDocument(provider, "rows", SIZE, "status", "NEW");
+    }
+}
@@ -0,0 +1,138 @@
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class MappedFileInputStreamTest extends BaseTest {
+
+    @Test
+    public void file_is_read_across_mapped_regions() throws IOException {
+        byte[] content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        File file = write(content);
+
+        InputStream in = new MappedFileInputStream(file, 64);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertThat(in.read()).isEqualTo(0);
+            out.write(0);
+            byte[] buffer = new byte[100];
+            int n;
+            while ((n = in.read(buffer, 0, buffer.length)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            assertThat(out.toByteArray()).isEqualTo(content);
+            assertThat(in.read()).isEqualTo(-1);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void skip_moves_to_later_regions() throws IOException {
+        byte[] content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        File file = write(content);
+
+        InputStream in = new MappedFileInputStream(file, 64);
+        try {
+            assertThat(in.skip(10)).isEqualTo(10);
+            assertThat(in.read()).isEqualTo(10);
+            assertThat(in.skip(500)).isEqualTo(500);
+            assertThat(in.read()).isEqualTo(511 & 0xFF);
+            assertThat(in.available()).isEqualTo(488);
+            assertThat(in.skip(5000)).isEqualTo(488);
+            assertThat(in.read()).isEqualTo(-1);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void regions_are_dropped_as_the_stream_advances_and_on_close() throws IOException {
+        MappedFileInputStream in = new MappedFileInputStream(write(new byte[1000]), 64);
+        try {
+            assertThat(in.read(new byte[64], 0, 64)).isEqualTo(64);
+            ByteBuffer first = in.region();
+            assertThat(first.hasRemaining()).isFalse();
+
+            assertThat(in.read()).isEqualTo(0);
+            assertThat(in.region()).isNotSameAs(first);
+
+            assertThat(in.skip(500)).isEqualTo(500);
+            assertThat(in.region()).isNull();
+
+            assertThat(in.read()).isEqualTo(0);
+            assertThat(in.region()).isNotNull();
+        } finally {
+            in.close();
+        }
+        assertThat(in.region()).isNull();
+    }
+
+    @Test
+    public void the_last_region_is_dropped_at_the_end_of_the_file() throws IOException {
+        MappedFileInputStream in = new MappedFileInputStream(write(new byte[100]), 64);
+        try {
+            while (in.read(new byte[30], 0, 30) != -1) {
+                assertThat(in.region()).isNotNull();
+            }
+            assertThat(in.region()).isNull();
+        } finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void closed_streams_can_not_be_read() throws IOException {
+        InputStream in = new MappedFileInputStream(write(new byte[100]), 64);
+        assertThat(in.read()).isEqualTo(0);
+        in.close();
+
+        try {
+            in.read();
+            failBecauseExceptionWasNotThrown(IOException.class);
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void large_files_are_parsed_through_a_mapping() throws IOException {
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < 100000; i++) {
+            json.append(i > 0 ? "," : "").append("{\"id\":").append(i).append('}');
+        }
+        File file = write(json.append("]}").toString().getBytes("UTF-8"));
+
+        assertThat(file.length()).isGreaterThanOrEqualTo(MappedFileInputStream.MAPPING_THRESHOLD);
+        assertThat((Integer) JsonPath.read(file, "$.items[99999].id")).isEqualTo(99999);
+        assertThat(JsonPath.using(JACKSON_CONFIGURATION).parse(file).read("$.items[5].id", Integer.class)).isEqualTo(5);
+    }
+
+    private static File write(byte[] content) throws IOException {
+        File file = File.createTempFile("json-path-mapped", ".json");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content);
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+}
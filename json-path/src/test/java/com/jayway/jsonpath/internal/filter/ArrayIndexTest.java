@@ -0,0 +1,118 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.ExtendedDocumentContext;
+import com.jayway.jsonpath.IndexType;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.internal.path.DefinitePathReader;
+import com.jayway.jsonpath.internal.path.PathCompiler;
+import com.jayway.jsonpath.internal.path.PredicateContextImpl;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArrayIndexTest {
+
+    private static final List<Object> VALUES = new ArrayList<Object>(RowDocuments.VALUES);
+
+    static {
+        // values that columnar views do not hold, indexes still have to place them
+        VALUES.add(new BigDecimal("1.50"));
+        VALUES.add(Collections.singletonList(1));
+    }
+
+    private static Map<String, Object> document(int size) {
+        return RowDocuments.document("products", size, VALUES);
+    }
+
+    @Test
+    public void indexed_filters_give_the_same_results_as_plain_filters() {
+        Map<String, Object> document = document(300);
+        DocumentContext indexed = ((ExtendedDocumentContext) JsonPath.parse(document))
+                .createIndex("$.products[*]", "@.value", IndexType.SORTED)
+                .createIndex("$.products", "@.status");
+        DocumentContext plain = JsonPath.parse(document);
+
+        List<String> filters = Arrays.asList(
+                "@.value == 1", "1 == @.value", "@.value == 1.5", "@.value == '1'", "@.value == '1.0'", "@.value == 'OK'",
+                "@.value == 3000000000", "@.value == 9007199254740992", "@.value == true", "@.value == false",
+                "@.value == null", "@.value == 0", "@.value in [1, 'OK', true, null]", "@.value in ['1.5', 2]",
+                "@.value < 1.5", "@.value <= 1.5", "@.value > 1", "@.value >= 1", "1.5 > @.value", "1 <= @.value",
+                "@.value > 'FAILED'", "@.value <= 'OK'", "@.value < 9007199254740993",
+                "@.status == 'OK' && @.value > 1", "@.status == 'OK' || @.value == 1", "@.value != 1",
+                "@.id == 5", "@.status == 'OK' && @.id > 250");
+        RowDocuments.assertSameResults(plain, indexed, "products", filters);
+    }
+
+    @Test
+    public void indexes_answer_supported_comparisons() {
+        Map<String, Object> document = document(100);
+        Object products = document.get("products");
+        List<ArrayIndex> hash = Collections.singletonList(index(products, "@.status", false));
+        List<ArrayIndex> sorted = Collections.singletonList(index(products, "@.id", true));
+        PredicateContextImpl ctx = new PredicateContextImpl(products, document, Configuration.defaultConfiguration(), new IdentityHashMap<com.jayway.jsonpath.internal.Path, Object>());
+
+        assertThat(ArrayIndex.candidates(hash, RowDocuments.predicates("@.status == 'OK'"), ctx)).hasSize(34);
+        assertThat(ArrayIndex.candidates(hash, RowDocuments.predicates("@.status == 'OK' && @.id > 5"), ctx)).hasSize(34);
+        assertThat(ArrayIndex.candidates(Arrays.asList(hash.get(0), sorted.get(0)), RowDocuments.predicates("@.status == 'OK' && @.id > 90"), ctx)).containsExactly(93, 96, 99);
+        assertThat(ArrayIndex.candidates(hash, RowDocuments.predicates("@.status > 'OK'"), ctx)).isNull();
+        assertThat(ArrayIndex.candidates(hash, RowDocuments.predicates("@.status == 'OK' || @.id > 5"), ctx)).isNull();
+        assertThat(ArrayIndex.candidates(hash, RowDocuments.predicates("@.other == 'OK'"), ctx)).isNull();
+        assertThat(ArrayIndex.candidates(sorted, RowDocuments.predicates("@.id >= 95"), ctx)).containsExactly(95, 96, 97, 98, 99);
+        assertThat(ArrayIndex.candidates(sorted, RowDocuments.predicates("10 > @.id && @.id > 7"), ctx)).containsExactly(8, 9);
+        assertThat(ArrayIndex.candidates(sorted, RowDocuments.predicates("@.id in [3, '4', 200]"), ctx)).containsExactly(3, 4);
+    }
+
+    @Test
+    public void indexes_follow_modifications_of_the_document() {
+        DocumentContext ctx = ((ExtendedDocumentContext) JsonPath.parse(document(100))).createIndex("$.products[*]", "@.status");
+
+        assertThat(ctx.read("$.products[?(@.status == 'DONE')].id", List.class)).isEmpty();
+        ctx.set("$.products[5].status", "DONE");
+        ctx.delete("$.products[0]");
+        Map<String, Object> product = new LinkedHashMap<String, Object>();
+        product.put("id", 100);
+        product.put("status", "DONE");
+        ctx.add("$.products", product);
+        ctx.put("$.products[0]", "status", "DONE");
+
+        assertThat(ctx.read("$.products[?(@.status == 'DONE')].id", List.class)).containsExactly(1, 5, 100);
+    }
+
+    @Test
+    public void strings_are_indexed_as_filters_read_them() {
+        List<Object> products = new ArrayList<Object>();
+        for (String value : Arrays.asList("'quoted'", "quoted", "GOOD", "'GOOD")) {
+            Map<String, Object> product = new LinkedHashMap<String, Object>();
+            product.put("id", products.size());
+            product.put("value", value);
+            products.add(product);
+        }
+        Map<String, Object> document = Collections.<String, Object>singletonMap("products", products);
+        DocumentContext indexed = ((ExtendedDocumentContext) JsonPath.parse(document)).createIndex("$.products[*]", "@.value", IndexType.SORTED);
+
+        assertThat(indexed.read("$.products[?(@.value == 'quoted')].id", List.class)).containsExactly(0, 1);
+        assertThat(indexed.read("$.products[?(@.value > 'GOOD')].id", List.class)).containsExactly(0, 1);
+    }
+
+    @Test(expected = InvalidPathException.class)
+    public void index_key_must_be_a_relative_definite_path() {
+        ((ExtendedDocumentContext) JsonPath.parse(document(10))).createIndex("$.products[*]", "@.tags[*]");
+    }
+
+    private static ArrayIndex index(Object array, String keyPath, boolean sorted) {
+        DefinitePathReader reader = DefinitePathReader.create(PathCompiler.compile(keyPath));
+        return ArrayIndex.build(array, PathCompiler.compile(keyPath).toString(), reader, sorted, Configuration.defaultConfiguration().jsonProvider());
+    }
+}
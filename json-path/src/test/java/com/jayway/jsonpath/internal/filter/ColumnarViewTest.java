@@ -0,0 +1,82 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.path.PredicateContextImpl;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ColumnarViewTest {
+
+    private static final Configuration ROW_CONFIGURATION = Configuration.defaultConfiguration();
+    private static final Configuration COLUMNAR_CONFIGURATION = Configuration.defaultConfiguration().addOptions(Option.COLUMNAR_FILTERS);
+
+    @Test
+    public void columnar_filters_give_the_same_results_as_row_filters() {
+        Map<String, Object> document = RowDocuments.document("rows", 500);
+        DocumentContext columnar = JsonPath.using(COLUMNAR_CONFIGURATION).parse(document);
+        DocumentContext rows = JsonPath.using(ROW_CONFIGURATION).parse(document);
+
+        List<String> filters = Arrays.asList(
+                "@.value == 1", "@.value != 1", "@.value < 1.5", "1.5 > @.value", "@.value <= 2", "@.value >= 3000000000",
+                "@.value > 9007199254740992", "@.value == 100000000000000000000.0", "@.value == '1'", "@.value == '1.5'", "@.value > 'FAILED'",
+                "@.value === 1", "@.value !== 1", "@.value == true", "@.value == null", "@.value != null", "@.value",
+                "!@.value", "@.value in ['OK', 1, true]", "@.value nin ['OK', 1]", "@.value =~ /O.*/", "@.value size 2",
+                "@.value empty true", "@.value contains 'b'", "@.status == 'OK' && @.latency > 50",
+                "@.status == 'OK' || @.nested.count == 2", "(@.status == 'FAILED' && @.value) || @.id < 10",
+                "@.nested.count >= 3", "@.missing == null", "@.id == '5'");
+        RowDocuments.assertSameResults(rows, columnar, "rows", filters);
+    }
+
+    @Test
+    public void supported_filters_are_evaluated_on_columns() {
+        Map<String, Object> document = RowDocuments.document("rows", 100);
+        ColumnarView view = ColumnarView.create(document.get("rows"), ROW_CONFIGURATION.jsonProvider());
+        PredicateContextImpl ctx = new PredicateContextImpl(document.get("rows"), document, ROW_CONFIGURATION, new IdentityHashMap<com.jayway.jsonpath.internal.Path, Object>());
+
+        assertThat(view.select(RowDocuments.predicates("@.status == 'OK' && @.latency > 50"), ctx)).isNotNull();
+        assertThat(view.select(RowDocuments.predicates("@.value in [1, 2]"), ctx)).isNotNull();
+        assertThat(view.select(RowDocuments.predicates("@.nested.count == 1"), ctx)).isNotNull();
+        assertThat(view.select(RowDocuments.predicates("@.nested == 1"), ctx)).isNull();
+        assertThat(view.select(RowDocuments.predicates("@.id == $.limit"), ctx)).isNull();
+        assertThat(view.select(Collections.<Predicate>singletonList(new Predicate() {
+            @Override
+            public boolean apply(PredicateContext ctx) {
+                return true;
+            }
+        }), ctx)).isNull();
+    }
+
+    @Test
+    public void unsupported_column_values_fall_back_to_rows() {
+        Map<String, Object> document = RowDocuments.document("rows", 100);
+        ((Map<String, Object>) ((List<Object>) document.get("rows")).get(10)).put("value", new BigDecimal("1.50"));
+
+        List<Object> ids = JsonPath.using(COLUMNAR_CONFIGURATION).parse(document).read("$.rows[?(@.value == 1.5)].id");
+
+        assertThat(ids).isEqualTo(JsonPath.using(ROW_CONFIGURATION).parse(document).read("$.rows[?(@.value == 1.5)].id"));
+        assertThat(ids).contains(10);
+    }
+
+    @Test
+    public void columns_are_dropped_when_the_document_is_modified() {
+        DocumentContext ctx = JsonPath.using(COLUMNAR_CONFIGURATION).parse(RowDocuments.document("rows", 100));
+
+        assertThat(ctx.read("$.rows[?(@.status == 'DONE')].id", List.class)).isEmpty();
+        ctx.set("$.rows[5].status", "DONE");
+        ctx.delete("$.rows[0]");
+
+        assertThat(ctx.read("$.rows[?(@.status == 'DONE')].id", List.class)).containsExactly(5);
+    }
+}
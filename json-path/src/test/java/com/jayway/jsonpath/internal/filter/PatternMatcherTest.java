@@ -0,0 +1,58 @@
+package com.jayway.jsonpath.internal.filter;
+
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PatternMatcherTest {
+
+    private static final String[] PATTERNS = {
+            "abc", "^abc$", "abc.*", "^abc.*", ".*abc", ".*abc$", ".*abc.*", ".*", "",
+            "a\\.c", "a\\.c.*", "a\\$", "a\\\\$", "a\\\\.*", "a\\.*", ".*a b-c/d.*",
+            "a.c", "ab+c", "[a-c]+", "a|b", "\\d+", "a\\Qb\\E", "(abc).*"
+    };
+
+    private static final String[] INPUTS = {
+            "", "abc", "ABC", "aBc", "abcdef", "xabc", "xabcx", "xAbCx", "ab", "a.c", "a.cde", "axc",
+            "a$", "a\\", "a\\xyz", "a...", "aa", "abc\n", "\nabc", "x\rabc", "abc x", "abc\u0085",
+            "xx a b-c/dyy", "KELVIN \u212A", "k", "\u212A", "a", "b", "123"
+    };
+
+    @Test
+    public void literal_patterns_match_like_regex() {
+        for (String regex : PATTERNS) {
+            for (int flags : new int[]{0, Pattern.CASE_INSENSITIVE}) {
+                Pattern pattern = Pattern.compile(regex, flags);
+                PatternMatcher matcher = PatternMatcher.create(pattern);
+                for (String input : INPUTS) {
+                    assertThat(matcher.matches(input))
+                            .as("/" + regex + "/ flags " + flags + " on '" + input + "'")
+                            .isEqualTo(pattern.matcher(input).matches());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void case_insensitive_matching_is_ascii_only() {
+        Pattern pattern = Pattern.compile(".*kelvin k.*", Pattern.CASE_INSENSITIVE);
+
+        assertThat(PatternMatcher.create(pattern).matches("KELVIN K")).isTrue();
+        assertThat(PatternMatcher.create(pattern).matches("KELVIN \u212A")).isFalse();
+    }
+
+    @Test
+    public void compiled_patterns_are_reused() {
+        assertThat(PatternMatcher.compile("^abc.*", 0)).isSameAs(PatternMatcher.compile("^abc.*", 0));
+        assertThat(PatternMatcher.compile("^abc.*", 0)).isNotSameAs(PatternMatcher.compile("^abc.*", Pattern.CASE_INSENSITIVE));
+    }
+
+    @Test
+    public void patterns_with_other_flags_use_regex() {
+        Pattern pattern = Pattern.compile("abc.*", Pattern.DOTALL);
+
+        assertThat(PatternMatcher.create(pattern).matches("abc\ndef")).isTrue();
+    }
+}
@@ -0,0 +1,78 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.Filter;
+import com.jayway.jsonpath.Predicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Documents with an array of rows for the tests of the structures that answer filters in place
+ * of testing every element, and the checks that they answer them like plain filters.
+ */
+final class RowDocuments {
+
+    /**
+     * Values of the <code>value</code> property, mixing numbers of every type, strings, booleans
+     * and null.
+     */
+    static final List<Object> VALUES = Arrays.<Object>asList(
+            1, 2L, -7, 1.0, 1.5, 2.5, -0.0, 0, 3000000000L, 9007199254740993L, 1e20,
+            "1", "1.5", "1.0", "OK", "FAILED", "", "abc", "'quoted'",
+            true, false, null
+    );
+
+    private RowDocuments() {
+    }
+
+    /**
+     * Creates a document with <code>size</code> rows under <code>array</code>. Every row has an
+     * <code>id</code>, a <code>status</code>, a <code>latency</code> and a nested
+     * <code>count</code>, and all but every seventh row a <code>value</code> taken from the given values.
+     */
+    static Map<String, Object> document(String array, int size, List<Object> values) {
+        List<Object> rows = new ArrayList<Object>();
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> row = new LinkedHashMap<String, Object>();
+            row.put("id", i);
+            if (i % 7 != 3) {
+                row.put("value", values.get(i % values.size()));
+            }
+            row.put("status", i % 3 == 0 ? "OK" : "FAILED");
+            row.put("latency", (i * 37) % 100 + 0.5);
+            Map<String, Object> nested = new LinkedHashMap<String, Object>();
+            nested.put("count", i % 5);
+            row.put("nested", nested);
+            rows.add(row);
+        }
+        Map<String, Object> document = new LinkedHashMap<String, Object>();
+        document.put(array, rows);
+        return document;
+    }
+
+    static Map<String, Object> document(String array, int size) {
+        return document(array, size, VALUES);
+    }
+
+    /**
+     * Checks that the ids of the rows selected by each filter are the same in both contexts.
+     */
+    static void assertSameResults(DocumentContext expected, DocumentContext actual, String array, List<String> filters) {
+        for (String filter : filters) {
+            String path = "$." + array + "[?(" + filter + ")].id";
+            List<Object> ids = expected.read(path);
+            assertThat(actual.read(path, List.class)).as(path).isEqualTo(ids);
+        }
+    }
+
+    static List<Predicate> predicates(String filter) {
+        return Collections.<Predicate>singletonList(Filter.parse("[?(" + filter + ")]"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.jayway.jsonpath.internal.filter;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValueListIndexTest {
+
+    private static final List<Object> VALUES = Arrays.<Object>asList(
+            1, 1L, 1.0, 1.5, 0.1, -0.0, 0, 3000000000L,
+            new BigDecimal("1.50"), new BigDecimal("0.10"), new BigDecimal("1E+20"), 1e20,
+            (double) (1L << 60), 1L << 60, 1152921504606846980L, new BigDecimal("123456789012345678901234567890.5"),
+            "1", "1.0", "1.50", "0", "abc", "", "3000000000", "1E+20",
+            true, false, null
+    );
+
+    @Test
+    public void index_lookup_is_consistent_with_list_scan() {
+        List<ValueNode> probes = toNodes(VALUES);
+        for (int start = 0; start < VALUES.size(); start++) {
+            for (int size = 1; start + size <= VALUES.size(); size += 3) {
+                List<ValueNode> nodes = toNodes(VALUES.subList(start, start + size));
+                ValueListIndex index = new ValueListIndex(nodes);
+                for (ValueNode probe : probes) {
+                    assertThat(index.contains(probe)).as(probe + " in " + nodes).isEqualTo(nodes.contains(probe));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void large_value_list_lookups_use_the_same_equality_as_scanning() {
+        List<Object> values = new ArrayList<Object>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(i % 2 == 0 ? (Object) i : (Object) ("sku-" + i));
+        }
+        ValueNode.ValueListNode list = new ValueNode.ValueListNode(values);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(list.contains(ValueNode.createNumberNode(998))).isTrue();
+            assertThat(list.contains(ValueNode.createNumberNode(998.0))).isTrue();
+            assertThat(list.contains(ValueNode.createStringNode("998", false))).isTrue();
+            assertThat(list.contains(ValueNode.createStringNode("sku-999", false))).isTrue();
+            assertThat(list.contains(ValueNode.createNumberNode(999))).isFalse();
+            assertThat(list.contains(ValueNode.createStringNode("sku-998", false))).isFalse();
+            assertThat(list.contains(ValueNode.NULL_NODE)).isFalse();
+        }
+    }
+
+    private static List<ValueNode> toNodes(List<Object> values) {
+        List<ValueNode> nodes = new ArrayList<ValueNode>();
+        for (Object value : values) {
+            nodes.add(ValueNode.toValueNode(value));
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,53 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArrayPathTokenTest extends BaseTest {
+
+    private static final String[] PATHS = {
+            "$[*]", "$[2]", "$[3,1,9,42]", "$[-3:]", "$[4:]", "$[2:5]", "$[:3]", "$[:-7]", "$[42:]", "$[*].foo"
+    };
+
+    @Test
+    public void sequential_access_arrays_give_the_same_results_as_random_access_arrays() {
+        List<Object> randomAccess = new ArrayList<Object>();
+        List<Object> sequential = new LinkedList<Object>();
+        for (int i = 0; i < 10; i++) {
+            randomAccess.add(i);
+            sequential.add(i);
+        }
+
+        for (String path : PATHS) {
+            Object expected = JsonPath.using(JSON_SMART_CONFIGURATION).parse(randomAccess).read(path);
+            Object actual = JsonPath.using(JSON_SMART_CONFIGURATION).parse(sequential).read(path);
+
+            assertThat(actual).as(path).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void sequential_access_arrays_can_be_updated_through_slices() {
+        List<Object> sequential = new LinkedList<Object>();
+        for (int i = 0; i < 10; i++) {
+            sequential.add(i);
+        }
+
+        JsonPath.using(JSON_SMART_CONFIGURATION).parse(sequential).set("$[7:]", "x").set("$[0,2]", "y");
+
+        assertThat(sequential).containsExactly("y", 1, "y", 3, 4, 5, 6, "x", "x", "x");
+    }
+
+    @Test
+    public void jackson_arrays_support_random_access() {
+        assertThat(JACKSON_CONFIGURATION.jsonProvider().createArray()).isInstanceOf(RandomAccess.class);
+    }
+}
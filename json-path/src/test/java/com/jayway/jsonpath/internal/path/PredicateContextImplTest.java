@@ -0,0 +1,53 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PredicateContextImplTest extends BaseTest {
+
+    @Test
+    public void root_path_in_filter_is_evaluated_once_per_read() {
+        final List<String> hits = new ArrayList<String>();
+        Configuration conf = recordingConfiguration("['author']", hits);
+
+        List<Object> books = JsonPath.using(conf).parse(JSON_DOCUMENT).read("$.store.book[?(@.author in $..book[?(@.category == 'reference')].author)]");
+
+        assertThat(books).hasSize(1);
+        assertThat(hits).containsExactly("$['store']['book'][0]['author']");
+    }
+
+    @Test
+    public void root_path_cache_is_shared_with_nested_filters() {
+        String json = "{" +
+                "\"ref\" : [{\"v\" : 1}, {\"v\" : 2}], " +
+                "\"groups\" : [{\"items\" : [{\"v\" : 1}, {\"v\" : 3}]}, {\"items\" : [{\"v\" : 2}]}, {\"items\" : [{\"v\" : 5}]}]" +
+                "}";
+        final List<String> hits = new ArrayList<String>();
+        Configuration conf = recordingConfiguration("['v']", hits);
+
+        List<Object> groups = JsonPath.using(conf).parse(json).read("$.groups[?(@.items[?(@.v in $.ref[*].v)] size 1)]");
+
+        assertThat(groups).hasSize(2);
+        assertThat(hits).containsExactly("$['ref'][0]['v']", "$['ref'][1]['v']");
+    }
+
+    private static Configuration recordingConfiguration(final String pathSuffix, final List<String> hits) {
+        return Configuration.defaultConfiguration().addEvaluationListeners(new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult found) {
+                if (found.path().startsWith("$") && found.path().endsWith(pathSuffix)) {
+                    hits.add(found.path());
+                }
+                return EvaluationContinuation.CONTINUE;
+            }
+        });
+    }
+}